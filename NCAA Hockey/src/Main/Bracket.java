@@ -0,0 +1,216 @@
+package Main;
+
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Seeded single elimination bracket for any number of teams. The bracket is padded
+ * to the next power of two and the top seeds get first round byes; lines are in the
+ * usual order so 1 plays the lowest seed and 1/2 can only meet in the final.
+ *
+ * Matches are a heap: node 1 is the final, node i is fed by 2i and 2i+1, and the
+ * bracket lines are the leaves. Results are kept as a winning seed, a packed score
+ * and an OT count per node; the text is only built when someone asks for it.
+ */
+public class Bracket implements Serializable {
+
+    private final String name;
+    private final TeamHockey[] seeds;   // seeds[0] is the #1 seed
+    private final int size;             // bracket lines, a power of two
+    private final int rounds;
+    private int currentRound;           // next round to schedule/play, 0 = first round
+
+    private final int[] winner;         // per node: seed index that came out, -1 if not decided/empty
+    private final int[] score;          // per match node: winner score << 16 | loser score
+    private final byte[] overtimes;     // per match node
+    private transient GameHockey[] pending;  // per match node, games of the scheduled round
+
+    /**
+     * Bracket for the given teams, best seed first.
+     */
+    public Bracket(String name, List<TeamHockey> seededTeams) {
+        if (seededTeams.size() < 2) {
+            throw new IllegalArgumentException("A bracket needs at least 2 teams");
+        }
+        this.name = name;
+        this.seeds = seededTeams.toArray(new TeamHockey[0]);
+        this.size = Integer.highestOneBit(seeds.length - 1) << 1;
+        this.rounds = Integer.numberOfTrailingZeros(size);
+        this.winner = new int[2 * size];
+        this.score = new int[size];
+        this.overtimes = new byte[size];
+
+        // leaves in bracket order: 1, 8, 4, 5, 2, 7, 3, 6 for 8 lines
+        int[] order = {0};
+        while (order.length < size) {
+            int[] next = new int[order.length * 2];
+            for (int i = 0; i < order.length; ++i) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = 2 * order.length - 1 - order[i];
+            }
+            order = next;
+        }
+        Arrays.fill(winner, -1);
+        for (int k = 0; k < size; ++k) {
+            winner[size + k] = order[k] < seeds.length ? order[k] : -1;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int getCurrentRound() {
+        return currentRound;
+    }
+
+    public boolean isFinished() {
+        return currentRound >= rounds;
+    }
+
+    public boolean isFinalRound(int round) {
+        return round == rounds - 1;
+    }
+
+    public TeamHockey getSeed(int seed) {
+        return seeds[seed];
+    }
+
+    /**
+     * Champion once the final is played, null before.
+     */
+    public TeamHockey getChampion() {
+        return winner[1] >= 0 ? seeds[winner[1]] : null;
+    }
+
+    /**
+     * "Championship", "Semis", "Quarterfinals", or "Round of N".
+     */
+    public String getRoundName(int round) {
+        int teams = size >> round;
+        switch (teams) {
+            case 2: return "Championship";
+            case 4: return "Semis";
+            case 8: return "Quarterfinals";
+            default: return "Round of " + teams;
+        }
+    }
+
+    /**
+     * Create the games of the current round, better seed at home. A team whose
+     * opponent line is empty moves on without a game. Returns the new games.
+     */
+    public ArrayList<GameHockey> scheduleRound() {
+        ArrayList<GameHockey> games = new ArrayList<>();
+        if (isFinished()) return games;
+        if (pending == null) pending = new GameHockey[size];
+
+        int first = size >> (currentRound + 1);
+        for (int node = first; node < 2 * first; ++node) {
+            int a = winner[2 * node];
+            int b = winner[2 * node + 1];
+            if (a < 0 || b < 0) {
+                winner[node] = Math.max(a, b);   // bye, or nobody
+                continue;
+            }
+            int hi = Math.min(a, b);
+            int lo = Math.max(a, b);
+            GameHockey g;
+            if (isFinalRound(currentRound)) {
+                g = new GameHockey(seeds[hi], seeds[lo], GameType.NATIONAL_CHAMPIONSHIP);
+            } else {
+                g = new GameHockey(seeds[hi], seeds[lo],
+                        size >> currentRound == 4 ? GameType.SEMIFINAL : GameType.TOURNAMENT,
+                        getRoundName(currentRound) + ", " + (hi + 1) + "v" + (lo + 1));
+            }
+            pending[node] = g;
+            games.add(g);
+        }
+        return games;
+    }
+
+    /**
+     * Play the scheduled round, games spread over all cores when parallel is set.
+     * Records the results and returns the games played, in bracket order.
+     */
+    public ArrayList<GameHockey> playRound(boolean parallel) {
+        ArrayList<GameHockey> games = new ArrayList<>();
+        if (isFinished() || pending == null) return games;
+
+        int first = size >> (currentRound + 1);
+        for (int node = first; node < 2 * first; ++node) {
+            if (pending[node] != null) games.add(pending[node]);
+        }
+        // teams in a round are all different, so games don't share a roster
+        if (parallel) games.parallelStream().forEach(GameHockey::playGame);
+        else games.forEach(GameHockey::playGame);
+
+        for (int node = first; node < 2 * first; ++node) {
+            GameHockey g = pending[node];
+            if (g == null) continue;
+            boolean homeWon = g.homeScore > g.awayScore;
+            winner[node] = seedOf(homeWon ? g.homeTeam : g.awayTeam, node);
+            int ws = homeWon ? g.homeScore : g.awayScore;
+            int ls = homeWon ? g.awayScore : g.homeScore;
+            score[node] = (ws << 16) | (ls & 0xFFFF);
+            overtimes[node] = (byte) Math.min(g.numOT, Byte.MAX_VALUE);
+            pending[node] = null;
+        }
+        currentRound++;
+        return games;
+    }
+
+    private int seedOf(TeamHockey t, int node) {
+        int a = winner[2 * node];
+        return seeds[a] == t ? a : winner[2 * node + 1];
+    }
+
+    /**
+     * One round's results, e.g. "#1 ALA def. #4 GEO, 4-2 (OT)". Unplayed matchups
+     * show as "vs", byes as "(bye)".
+     */
+    public String getRoundStr(int round) {
+        StringBuilder sb = new StringBuilder(getRoundName(round)).append(":");
+        int first = size >> (round + 1);
+        for (int node = first; node < 2 * first; ++node) {
+            int a = winner[2 * node];
+            int b = winner[2 * node + 1];
+            if (a < 0 && b < 0) continue;
+            sb.append("\n\t");
+            if (a < 0 || b < 0) {
+                sb.append(seedStr(Math.max(a, b))).append(" (bye)");
+            } else if (round < currentRound) {
+                int w = winner[node];
+                int l = w == a ? b : a;
+                sb.append(seedStr(w)).append(" def. ").append(seedStr(l)).append(", ")
+                  .append(score[node] >>> 16).append("-").append(score[node] & 0xFFFF);
+                if (overtimes[node] > 0) sb.append(" (").append(overtimes[node]).append("OT)");
+            } else {
+                sb.append(seedStr(Math.min(a, b))).append(" vs ").append(seedStr(Math.max(a, b)));
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(name);
+        for (int r = 0; r < rounds; ++r) {
+            // later rounds aren't known yet
+            if (r > currentRound) break;
+            sb.append("\n\n").append(getRoundStr(r));
+        }
+        return sb.toString();
+    }
+
+    private String seedStr(int seed) {
+        return "#" + (seed + 1) + " " + seeds[seed].abbr;
+    }
+}
@@ -0,0 +1,233 @@
+package Main;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate container for save files, text or binary. The save is cut into blocks that
+ * are compressed on their own, so they can be inflated in parallel on load:
+ *
+ *   "NCHZ", fixed int version, fixed int block size,
+ *   per block: fixed int raw length, fixed int packed length, fixed int CRC32C of the raw bytes, packed bytes,
+ *   then a block with raw length 0 to mark the end.
+ *
+ * SaveFileWriter compresses through this when opened compressed; SaveInput and the
+ * text loader inflate through read().
+ */
+public class CompressedSave {
+
+    public static final byte[] MAGIC = {'N', 'C', 'H', 'Z'};
+    public static final int VERSION = 1;
+    public static final int BLOCK_SIZE = 1 << 18;
+    private static final int FILE_HEADER = MAGIC.length + 8;
+    private static final int BLOCK_HEADER = 12;
+
+    private final Deflater deflater;
+    private final CRC32C crc;
+    private ByteBuffer packed;
+
+    /**
+     * One compressor per writer, reused for every block.
+     */
+    public CompressedSave(int level) {
+        deflater = new Deflater(level);
+        crc = new CRC32C();
+        packed = ByteBuffer.allocate(BLOCK_SIZE + BLOCK_SIZE / 8 + 64);
+    }
+
+    /**
+     * File header, ready for the channel.
+     */
+    public static ByteBuffer header() {
+        ByteBuffer b = ByteBuffer.allocate(FILE_HEADER);
+        b.put(MAGIC).putInt(VERSION).putInt(BLOCK_SIZE);
+        b.flip();
+        return b;
+    }
+
+    /**
+     * The end marker, an empty block.
+     */
+    public static ByteBuffer trailer() {
+        ByteBuffer b = ByteBuffer.allocate(BLOCK_HEADER);
+        b.putInt(0).putInt(0).putInt(0);
+        b.flip();
+        return b;
+    }
+
+    /**
+     * Compress the remaining bytes of raw (at most BLOCK_SIZE) into one block, header
+     * included. The returned buffer is reused by the next call.
+     */
+    public ByteBuffer compress(ByteBuffer raw) {
+        int rawLen = raw.remaining();
+        if (rawLen > BLOCK_SIZE) throw new IllegalArgumentException("Block of " + rawLen + " bytes");
+        crc.reset();
+        crc.update(raw.duplicate());
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        packed.clear();
+        packed.position(BLOCK_HEADER);
+        while (!deflater.finished()) {
+            if (!packed.hasRemaining()) {
+                // incompressible data can come out a little bigger than it went in
+                ByteBuffer bigger = ByteBuffer.allocate(packed.capacity() * 2);
+                packed.flip();
+                packed = bigger.put(packed);
+            }
+            deflater.deflate(packed);
+        }
+        packed.putInt(0, rawLen);
+        packed.putInt(4, packed.position() - BLOCK_HEADER);
+        packed.putInt(8, (int) crc.getValue());
+        packed.flip();
+        return packed;
+    }
+
+    public void end() {
+        deflater.end();
+    }
+
+    /**
+     * Is this a compressed container? Checks the magic bytes only.
+     */
+    public static boolean isCompressed(File file) {
+        return Arrays.equals(readMagic(file), MAGIC);
+    }
+
+    static byte[] readMagic(File file) {
+        byte[] head = new byte[MAGIC.length];
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer b = ByteBuffer.wrap(head);
+            while (b.hasRemaining() && ch.read(b) >= 0) {
+                // keep reading
+            }
+            return b.hasRemaining() ? null : head;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Inflate a whole container. Block headers are walked once to find where every
+     * block goes, then the blocks are inflated and checked in parallel straight into
+     * the result.
+     */
+    public static byte[] read(File file) throws IOException {
+        ByteBuffer in;
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            in = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+        if (in.remaining() < FILE_HEADER) throw new IOException(file + " is not a compressed save");
+        byte[] magic = new byte[MAGIC.length];
+        in.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) throw new IOException(file + " is not a compressed save");
+        int version = in.getInt();
+        if (version > VERSION) {
+            throw new IOException(file + " is container version " + version + ", this build reads up to " + VERSION);
+        }
+        int blockSize = in.getInt();
+
+        int blocks = 0;
+        int[] at = new int[16];         // packed payload offset of each block
+        long[] rawAt = new long[17];    // where each block's bytes go in the result
+        while (true) {
+            if (in.remaining() < BLOCK_HEADER) throw new IOException(file + " is cut short");
+            int rawLen = in.getInt();
+            int packedLen = in.getInt();
+            in.getInt();
+            if (rawLen == 0) break;
+            if (rawLen < 0 || rawLen > blockSize || packedLen < 0 || packedLen > in.remaining()) {
+                throw new IOException(file + " has a bad block header at " + (in.position() - BLOCK_HEADER));
+            }
+            if (blocks == at.length) {
+                at = Arrays.copyOf(at, blocks * 2);
+                rawAt = Arrays.copyOf(rawAt, blocks * 2 + 1);
+            }
+            at[blocks] = in.position();
+            rawAt[blocks + 1] = rawAt[blocks] + rawLen;
+            blocks++;
+            in.position(in.position() + packedLen);
+        }
+        if (rawAt[blocks] > Integer.MAX_VALUE) throw new IOException(file + " inflates to over 2GB");
+
+        byte[] out = new byte[(int) rawAt[blocks]];
+        int[] payloadAt = at;
+        long[] outAt = rawAt;
+        try {
+            IntStream.range(0, blocks).parallel().forEach(i -> inflateBlock(in, payloadAt[i], out,
+                    (int) outAt[i], (int) (outAt[i + 1] - outAt[i]), file));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return out;
+    }
+
+    /**
+     * First n bytes of the save (fewer if it's shorter), inflating only the first block.
+     */
+    public static byte[] peek(File file, int n) throws IOException {
+        ByteBuffer in;
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            in = ch.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(ch.size(), FILE_HEADER + BLOCK_HEADER + (long) BLOCK_SIZE * 2));
+        }
+        if (in.remaining() < FILE_HEADER + BLOCK_HEADER) throw new IOException(file + " is cut short");
+        in.position(FILE_HEADER);
+        int packedLen = in.getInt(in.position() + 4);
+        if (packedLen < 0 || packedLen > in.remaining() - BLOCK_HEADER) throw new IOException(file + " is cut short");
+        in.position(in.position() + BLOCK_HEADER).limit(in.position() + packedLen);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(in);
+            byte[] head = new byte[n];
+            int got = 0;
+            while (got < n && !inflater.finished() && !inflater.needsInput()) {
+                got += inflater.inflate(head, got, n - got);
+            }
+            return got == n ? head : Arrays.copyOf(head, got);
+        } catch (DataFormatException e) {
+            throw new IOException(file + ": first block is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void inflateBlock(ByteBuffer in, int payloadAt, byte[] out, int off, int len, File file) {
+        ByteBuffer block = in.duplicate();
+        int packedLen = block.getInt(payloadAt - 8);
+        int expectedCrc = block.getInt(payloadAt - 4);
+        block.position(payloadAt).limit(payloadAt + packedLen);
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block);
+            int n = 0;
+            while (n < len && !inflater.finished()) {
+                int k = inflater.inflate(out, off + n, len - n);
+                if (k == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                n += k;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(out, off, len);
+            if (n != len || (int) crc.getValue() != expectedCrc) {
+                throw new UncheckedIOException(new IOException(file + ": block at " + payloadAt + " fails its checksum"));
+            }
+        } catch (DataFormatException e) {
+            throw new UncheckedIOException(new IOException(file + ": block at " + payloadAt + " is corrupt", e));
+        } finally {
+            inflater.end();
+        }
+    }
+}
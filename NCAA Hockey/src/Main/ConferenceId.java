@@ -0,0 +1,57 @@
+package Main;
+
+
+/**
+ * The six hockey conferences, in league order. Replaces the conference
+ * name string chains in getConfNumber and the non-conference scheduler.
+ */
+public enum ConferenceId {
+    SOUTH,
+    LAKES,
+    NORTH,
+    COWBY,
+    PACIF,
+    MOUNT;
+
+    /** Three-letter label used in non-conference game names, e.g. "SOU". */
+    public final String shortName;
+
+    // "SOU vs PAC" style game names, built once instead of per game
+    private static final String[][] MATCHUP_LABELS;
+
+    static {
+        ConferenceId[] ids = values();
+        MATCHUP_LABELS = new String[ids.length][ids.length];
+        for (ConferenceId a : ids) {
+            for (ConferenceId b : ids) {
+                MATCHUP_LABELS[a.ordinal()][b.ordinal()] = a.shortName + " vs " + b.shortName;
+            }
+        }
+    }
+
+    ConferenceId() {
+        shortName = name().substring(0, 3);
+    }
+
+    /**
+     * Game name for a non-conference game, home conference first.
+     */
+    public static String matchupLabel(ConferenceId home, ConferenceId away) {
+        return MATCHUP_LABELS[home.ordinal()][away.ordinal()];
+    }
+
+    /**
+     * Look up a conference by its name, falling back to the first conference like getConfNumber did.
+     */
+    public static ConferenceId fromName(String name) {
+        switch (name) {
+            case "SOUTH": return SOUTH;
+            case "LAKES": return LAKES;
+            case "NORTH": return NORTH;
+            case "COWBY": return COWBY;
+            case "PACIF": return PACIF;
+            case "MOUNT": return MOUNT;
+            default: return SOUTH;
+        }
+    }
+}
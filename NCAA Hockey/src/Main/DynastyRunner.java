@@ -0,0 +1,207 @@
+package Main;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Headless dynasty runner / soak test. Plays full seasons back to back with no UI
+ * and prints one CSV line per season so unbounded growth or throughput decay in
+ * long-running leagues shows up.
+ *
+ * Usage: java Main.DynastyRunner [seasons] [saveEvery] [saveDir] [firstNames.csv] [lastNames.csv] [historyWindow] [shape] [format] [statsDir]
+ *   seasons        number of seasons to play (default 500)
+ *   saveEvery      save the league every N seasons, 0 = never (default 25)
+ *   saveDir        where to write dynasty.save and the history/ archive (default current dir)
+ *   names          comma-separated name lists, memory-mapped; built-in lists are used if omitted
+ *   historyWindow  seasons of history kept in memory, 0 = keep everything in memory (default 10)
+ *   shape          conferences,teamsPerConference[,nonConferenceGames[,tournamentTeams]], e.g. 200,10,3,16
+ *                  for a 2,000-team load test with a 16-team bracket (default 6,10,3,4)
+ *   format         save format: text, binary, or journal for a binary snapshot each season plus a
+ *                  WeekJournal frame after every week; text+z or binary+z for a compressed
+ *                  container (default text)
+ *   statsDir       append every season's stats to column files here, see StatsColumnExporter (default off)
+ */
+public class DynastyRunner {
+
+    private static final String DEFAULT_FIRST_NAMES =
+            "Jack,Ryan,Tyler,Matt,Connor,Brock,Cale,Adam,Evan,Nick,Sam,Luke,Owen,Zach,Trevor";
+    private static final String DEFAULT_LAST_NAMES =
+            "Johnson,Hughes,Makar,Eichel,Gaudreau,Boeser,Fox,Cooley,Power,Beniers,Knight,Rossi,Zegras,York,Hutson";
+
+    private static final int HISTORY_SEGMENT_SIZE = 25;
+
+    public static void main(String[] args) throws IOException {
+        int seasons = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int saveEvery = args.length > 1 ? Integer.parseInt(args[1]) : 25;
+        File saveDir = new File(args.length > 2 ? args[2] : ".");
+        NameDictionary names = args.length > 4
+                ? NameDictionary.mapped(new File(args[3]), new File(args[4]))
+                : NameDictionary.shared(DEFAULT_FIRST_NAMES, DEFAULT_LAST_NAMES);
+        int historyWindow = args.length > 5 ? Integer.parseInt(args[5]) : 10;
+        LeagueConfig config = args.length > 6 ? LeagueConfig.parse(args[6]) : LeagueConfig.DEFAULT;
+        String format = args.length > 7 ? args[7] : "text";
+        boolean compressed = format.endsWith("+z");
+        if (compressed) format = format.substring(0, format.length() - 2);
+        boolean binary = !format.equals("text");
+
+        HockeyLeague league = new HockeyLeague(names, false, config);
+        // saveLeague needs a user team; leave it AI-controlled so it keeps recruiting
+        league.userTeam = league.teamList.get(0);
+        if (historyWindow > 0) {
+            league.enableHistoryArchive(new File(saveDir, "history"), HISTORY_SEGMENT_SIZE, historyWindow);
+        }
+
+        DynastyRunner runner = new DynastyRunner(league, saveEvery,
+                new File(saveDir, binary ? "dynasty.bsave" : "dynasty.save"), binary);
+        runner.setCompressed(compressed);
+        if (args.length > 8) {
+            runner.setStatsExporter(new StatsColumnExporter(new File(args[8])));
+        }
+        if (format.equals("journal")) {
+            WeekJournal journal = new WeekJournal(league, new File(saveDir, "dynasty.bsave"));
+            journal.snapshot();
+            runner.setJournal(journal);
+        }
+        runner.run(seasons);
+    }
+
+    private final HockeyLeague league;
+    private final int saveEvery;
+    private final File saveFile;
+    private final boolean binary;
+    private final MemoryMXBean memory;
+    private WeekJournal journal;
+    private boolean compressed;
+    private StatsColumnExporter statsExporter;
+    private long newsPosted;        // stories posted over every season played so far
+
+    public DynastyRunner(HockeyLeague league, int saveEvery, File saveFile) {
+        this(league, saveEvery, saveFile, false);
+    }
+
+    public DynastyRunner(HockeyLeague league, int saveEvery, File saveFile, boolean binary) {
+        this.league = league;
+        this.saveEvery = saveEvery;
+        this.saveFile = saveFile;
+        this.binary = binary;
+        this.memory = ManagementFactory.getMemoryMXBean();
+    }
+
+    /**
+     * Autosave through a journal: a frame after every week, a snapshot every season.
+     * The saveMs/saveKB columns then show the journal's time and size for the season.
+     */
+    public void setJournal(WeekJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Write the periodic saves in a CompressedSave container; saveKB is then the size on disk.
+     */
+    public void setCompressed(boolean compressed) {
+        this.compressed = compressed;
+    }
+
+    /**
+     * Export each season's stats just before the rollover folds them into the career totals.
+     */
+    public void setStatsExporter(StatsColumnExporter statsExporter) {
+        this.statsExporter = statsExporter;
+    }
+
+    /**
+     * Play the given number of seasons, printing a header and one CSV row per season.
+     */
+    public void run(int seasons) {
+        System.out.println("season,year,seasonMs,seasonsPerSec,heapAfterGcKB,leagueHistory,hobeyHistory,"
+                + "teamHistory,hallOfFame,newsPosted,saveMs,saveKB,saveMBps");
+        long start = System.nanoTime();
+        for (int s = 1; s <= seasons; ++s) {
+            long seasonStart = System.nanoTime();
+            long journalStart = journal != null ? journal.getNanos() : 0;
+            playSeason();
+            long seasonNanos = System.nanoTime() - seasonStart;
+
+            long saveMs = -1;
+            long saveKB = -1;
+            long saveMBps = -1;
+            if (journal != null) {
+                saveMs = (journal.getNanos() - journalStart) / 1000000;
+                saveKB = (saveFile.length() + journal.getJournalFile().length()) / 1024;
+            } else if (saveEvery > 0 && s % saveEvery == 0) {
+                long saveStart = System.nanoTime();
+                boolean saved = binary ? league.saveLeagueBinary(saveFile, compressed)
+                        : league.saveLeague(saveFile, compressed);
+                if (!saved) {
+                    System.err.println("Save failed in season " + s);
+                }
+                saveMs = (System.nanoTime() - saveStart) / 1000000;
+                saveKB = saveFile.length() / 1024;
+                saveMBps = league.getLastSaveBytesPerSecond() / (1024 * 1024);
+            }
+
+            double elapsedSec = (System.nanoTime() - start) / 1e9;
+            System.out.println(s + "," + league.getYear() + "," + seasonNanos / 1000000 + ","
+                    + String.format("%.2f", s / elapsedSec) + "," + heapAfterGcKB() + ","
+                    + league.leagueHistory.size() + "," + league.hobeyHistory.size() + ","
+                    + countTeamHistory() + "," + countHallOfFame() + "," + newsPosted + ","
+                    + saveMs + "," + saveKB + "," + saveMBps);
+        }
+    }
+
+    /**
+     * One full season plus offseason, in the same order the UI drives it.
+     */
+    public void playSeason() {
+        // regular season, conference championships, cups, final
+        int weeks = league.config.getSeasonWeeks();
+        for (int w = 0; w < weeks; ++w) {
+            league.playWeek();
+            // postseason weeks aren't journaled, the snapshot after advanceSeason() covers them
+            if (journal != null && league.currentWeek <= league.config.getRegularSeasonWeeks()
+                    && !journal.appendWeek()) {
+                System.err.println("Journal append failed in " + league.getYear() + " week " + w);
+            }
+        }
+        league.updateLeagueHistory();
+        league.updateTeamHistories();
+        if (statsExporter != null) {
+            try {
+                statsExporter.exportSeason(league);
+            } catch (IOException e) {
+                System.err.println("Stats export failed in " + league.getYear() + ": " + e.getMessage());
+            }
+        }
+        league.getPlayersLeaving();
+        // advanceSeason() clears the feed, count the season's stories first
+        newsPosted += league.newsStories.count();
+        league.advanceSeason();
+        if (journal != null && !journal.snapshot()) {
+            System.err.println("Snapshot failed in " + league.getYear());
+        }
+    }
+
+    private long heapAfterGcKB() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed() / 1024;
+    }
+
+    private int countTeamHistory() {
+        int n = 0;
+        for (TeamHockey t : league.teamList) {
+            n += t.teamHistory.size();
+        }
+        return n;
+    }
+
+    private int countHallOfFame() {
+        int n = 0;
+        for (TeamHockey t : league.teamList) {
+            n += t.hallOfFame.size();
+        }
+        return n;
+    }
+}
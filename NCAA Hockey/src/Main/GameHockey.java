@@ -17,6 +17,7 @@ public class GameHockey implements Serializable {
     public boolean hasPlayed;
 
     public String gameName;
+    public GameType gameType;
 
     // Score tracking
     public int homeScore;
@@ -82,12 +83,27 @@ public class GameHockey implements Serializable {
     private boolean bottomOT;
 
     /**
-     * Create game with a name (like a special event).
+     * Create game with a name (like a special event). The type is guessed from the name.
      */
     public GameHockey(TeamHockey home, TeamHockey away, String name) {
+        this(home, away, GameType.fromLabel(name), name);
+    }
+
+    /**
+     * Create game of a type that has a fixed label (In Conference, Hockey Championship, ...).
+     */
+    public GameHockey(TeamHockey home, TeamHockey away, GameType type) {
+        this(home, away, type, type.label);
+    }
+
+    /**
+     * Create game of the given type with its display name.
+     */
+    public GameHockey(TeamHockey home, TeamHockey away, GameType type, String name) {
         homeTeam = home;
         awayTeam = away;
 
+        gameType = type;
         gameName = name;
 
         homeScore = 0;
@@ -119,9 +135,10 @@ public class GameHockey implements Serializable {
         AwayGStats = new int[6];
 
         hasPlayed = false;
-        if (gameName.equals("In Conf") && (homeTeam.rivalTeam.equals(awayTeam.abbr)
-                || awayTeam.rivalTeam.equals(homeTeam.abbr))) {
-            gameName = "Rivalry Game";
+        if (gameType == GameType.IN_CONFERENCE && (homeTeam.getRival() == awayTeam
+                || awayTeam.getRival() == homeTeam)) {
+            gameType = GameType.RIVALRY;
+            gameName = GameType.RIVALRY.label;
         }
     }
 
@@ -372,6 +389,8 @@ public class GameHockey implements Serializable {
      */
     public void playGame() {
         if (!hasPlayed) {
+            // per-player numbers for the fact table are whatever this game adds to the season stats
+            int[] statsBefore = homeTeam.league.gameFacts.snapshot(homeTeam, awayTeam);
             gameEventLog = "LOG: #" + awayTeam.rankTeamPollScore + " " + awayTeam.abbr + " (" + awayTeam.wins + "-" + awayTeam.losses + ") @ #" +
                     homeTeam.rankTeamPollScore + " " + homeTeam.abbr + " (" + homeTeam.wins + "-" + homeTeam.losses + ")" + "\n" +
                     "---------------------------------------------------------\n\n" +
@@ -441,6 +460,13 @@ public class GameHockey implements Serializable {
 
             homeTeam.addGamePlayedPlayers(homeScore > awayScore);
             awayTeam.addGamePlayedPlayers(awayScore > homeScore);
+            homeTeam.league.gameFacts.append(this, statsBefore);
+            homeTeam.league.checkGameRecords(this);
+
+            // new result: both teams' poll scores, and anyone's strength of wins, are stale
+            homeTeam.invalidatePollScore();
+            awayTeam.invalidatePollScore();
+            homeTeam.league.invalidatePollScores();
 
             homeTeam.teamGoalsScored += homeScore;
             awayTeam.teamGoalsScored += awayScore;
@@ -459,9 +485,11 @@ public class GameHockey implements Serializable {
             awayTeam.teamTakeawayDiff += (homeTakeaways - awayTakeaways);
 
             hasPlayed = true;
+            homeTeam.league.hobeyLeaderboard.updateTeam(homeTeam);
+            homeTeam.league.hobeyLeaderboard.updateTeam(awayTeam);
             addNewsStory();
 
-            if (homeTeam.rivalTeam.equals(awayTeam.abbr) || awayTeam.rivalTeam.equals(homeTeam.abbr)) {
+            if (homeTeam.getRival() == awayTeam || awayTeam.getRival() == homeTeam) {
                 if (homeScore > awayScore) {
                     homeTeam.wonRivalryGame = true;
                 } else {
@@ -494,11 +522,14 @@ public class GameHockey implements Serializable {
 
             homeTeam.checkForInjury();
             awayTeam.checkForInjury();
+            homeTeam.invalidateTalent();
+            awayTeam.invalidateTalent();
         }
     }
 
     /**
      * Renamed from addNewsStory, do the same upset logic, referencing hockey scores.
+     * Only the facts are stored, the text is built when the news screen reads it.
      */
     public void addNewsStory() {
         if (numOT >= 3) {
@@ -515,31 +546,22 @@ public class GameHockey implements Serializable {
                 winScore = homeScore;
                 loseScore = awayScore;
             }
-            homeTeam.league.newsStories.get(homeTeam.league.currentWeek + 1).add(
-                    numOT + "OT Thriller!>" + winner.strRep() + " and " + loser.strRep() + " played an absolutely thrilling game "
-                            + "that went to " + numOT + " overtimes, with " + winner.name + " finally emerging victorious " + winScore + " to " + loseScore + ".");
+            homeTeam.league.newsStories.add(NewsStory.overtimeThriller(
+                    homeTeam.league.currentWeek + 1, winner, loser, winScore, loseScore, numOT));
         } else if (homeScore > awayScore && awayTeam.losses == 1 && awayTeam.league.currentWeek > 5) {
-            awayTeam.league.newsStories.get(homeTeam.league.currentWeek + 1).add(
-                    "Undefeated no more! " + awayTeam.name + " suffers first loss!"
-                            + ">" + homeTeam.strRep() + " hands " + awayTeam.strRep()
-                            + " their first loss of the season, winning " + homeScore + " to " + awayScore + ".");
+            awayTeam.league.newsStories.add(NewsStory.firstLoss(
+                    homeTeam.league.currentWeek + 1, homeTeam, awayTeam, homeScore, awayScore));
         } else if (awayScore > homeScore && homeTeam.losses == 1 && homeTeam.league.currentWeek > 5) {
-            homeTeam.league.newsStories.get(homeTeam.league.currentWeek + 1).add(
-                    "Undefeated no more! " + homeTeam.name + " suffers first loss!"
-                            + ">" + awayTeam.strRep() + " hands " + homeTeam.strRep()
-                            + " their first loss of the season, winning " + awayScore + " to " + homeScore + ".");
+            homeTeam.league.newsStories.add(NewsStory.firstLoss(
+                    homeTeam.league.currentWeek + 1, awayTeam, homeTeam, awayScore, homeScore));
         } else if (awayScore > homeScore && homeTeam.rankTeamPollScore < 20 &&
                 (awayTeam.rankTeamPollScore - homeTeam.rankTeamPollScore) > 20) {
-            awayTeam.league.newsStories.get(awayTeam.league.currentWeek + 1).add(
-                    "Upset! " + awayTeam.strRep() + " beats " + homeTeam.strRep()
-                            + ">#" + awayTeam.rankTeamPollScore + " " + awayTeam.name + " was able to pull off the upset on the road against #"
-                            + homeTeam.rankTeamPollScore + " " + homeTeam.name + ", winning " + awayScore + " to " + homeScore + ".");
+            awayTeam.league.newsStories.add(NewsStory.upset(
+                    awayTeam.league.currentWeek + 1, awayTeam, homeTeam, awayScore, homeScore, false));
         } else if (homeScore > awayScore && awayTeam.rankTeamPollScore < 20 &&
                 (homeTeam.rankTeamPollScore - awayTeam.rankTeamPollScore) > 20) {
-            homeTeam.league.newsStories.get(homeTeam.league.currentWeek + 1).add(
-                    "Upset! " + homeTeam.strRep() + " beats " + awayTeam.strRep()
-                            + ">#" + homeTeam.rankTeamPollScore + " " + homeTeam.name + " was able to pull off the upset at home against #"
-                            + awayTeam.rankTeamPollScore + " " + awayTeam.name + ", winning " + homeScore + " to " + awayScore + ".");
+            homeTeam.league.newsStories.add(NewsStory.upset(
+                    homeTeam.league.currentWeek + 1, homeTeam, awayTeam, homeScore, awayScore, true));
         }
     }
 
@@ -700,7 +722,7 @@ public class GameHockey implements Serializable {
         recordShotAttempt(offense, selD, selDStats, shotsGain);
 
         if (lostPuck) {
-            gameEventLog += getEventPrefix() + "LOST PUCK!\n" + offense.abbr + " D " + selD.name + " lost the puck after the shot!";
+            gameEventLog += getEventPrefix() + "LOST PUCK!\n" + offense.abbr + " D " + selD.getName() + " lost the puck after the shot!";
             selDStats[5]++;
             selD.statsFumbles++;
             if (gamePoss) homeTakeaways++;
@@ -772,7 +794,7 @@ public class GameHockey implements Serializable {
                 if (LW1pref > LW2pref) AwayLW1Stats[2]++;
                 else AwayLW2Stats[2]++;
             }
-            goalInfo = offense.abbr + " LW " + selLW.name + " skated in " + shotsGain + " for a GOAL!";
+            goalInfo = offense.abbr + " LW " + selLW.getName() + " skated in " + shotsGain + " for a GOAL!";
             selLW.statsTD++;
             gotGoal = true;
         }
@@ -804,7 +826,7 @@ public class GameHockey implements Serializable {
                     if (LW1pref > LW2pref) AwayLW1Stats[3]++;
                     else AwayLW2Stats[3]++;
                 }
-                gameEventLog += getEventPrefix() + "LOST PUCK!\n" + offense.abbr + " LW " + selLW.name + " lost the puck!";
+                gameEventLog += getEventPrefix() + "LOST PUCK!\n" + offense.abbr + " LW " + selLW.getName() + " lost the puck!";
                 selLW.statsFumbles++;
                 if (!playingOT) {
                     gameDown = 1;
@@ -836,12 +858,12 @@ public class GameHockey implements Serializable {
                 AwayGStats[3]++;
                 AwayGStats[2]++;
             }
-            gameEventLog += getEventPrefix() + offense.abbr + " G " + offense.getG(0).name + " made the long shot from " + (110 - gameYardLine) + " range!";
+            gameEventLog += getEventPrefix() + offense.abbr + " G " + offense.getG(0).getName() + " made the long shot from " + (110 - gameYardLine) + " range!";
             addPointsPeriod(3);
             if (!playingOT) faceOff(offense);
             else resetForOT();
         } else {
-            gameEventLog += getEventPrefix() + offense.abbr + " G " + offense.getG(0).name + " missed the long shot from " + (110 - gameYardLine) + " range.";
+            gameEventLog += getEventPrefix() + offense.abbr + " G " + offense.getG(0).getName() + " missed the long shot from " + (110 - gameYardLine) + " range.";
             offense.getG(0).statsShotsAgainst++;
             if (!playingOT) {
                 gameYardLine = Math.max(100 - gameYardLine, 20);
@@ -884,9 +906,9 @@ public class GameHockey implements Serializable {
                         if (gamePoss) homeScore += 2;
                         else awayScore += 2;
                         addPointsPeriod(2);
-                        gameEventLog += getEventPrefix() + " " + goalInfo + " " + offense.getLW(0).name + " added the 2-pt follow-up!";
+                        gameEventLog += getEventPrefix() + " " + goalInfo + " " + offense.getLW(0).getName() + " added the 2-pt follow-up!";
                     } else {
-                        gameEventLog += getEventPrefix() + " " + goalInfo + " " + offense.getLW(0).name + " fails the 2-pt follow-up.";
+                        gameEventLog += getEventPrefix() + " " + goalInfo + " " + offense.getLW(0).getName() + " fails the 2-pt follow-up.";
                     }
                 } else {
                     int pressure = defense.getF7Check() * 2 - offense.getOLBlock();
@@ -897,9 +919,9 @@ public class GameHockey implements Serializable {
                         if (gamePoss) homeScore += 2;
                         else awayScore += 2;
                         addPointsPeriod(2);
-                        gameEventLog += getEventPrefix() + " " + goalInfo + " " + offense.getC(0).name + " completed pass for 2-pt follow-up.";
+                        gameEventLog += getEventPrefix() + " " + goalInfo + " " + offense.getC(0).getName() + " completed pass for 2-pt follow-up.";
                     } else {
-                        gameEventLog += getEventPrefix() + " " + goalInfo + " " + offense.getC(0).name + " fails the 2-pt follow-up.";
+                        gameEventLog += getEventPrefix() + " " + goalInfo + " " + offense.getC(0).getName() + " fails the 2-pt follow-up.";
                     }
                 }
             } else {
@@ -914,11 +936,11 @@ public class GameHockey implements Serializable {
                         AwayGStats[0]++;
                         AwayGStats[1]++;
                     }
-                    gameEventLog += getEventPrefix() + " " + goalInfo + " " + offense.getG(0).name + " earned the 1-pt follow-up.";
+                    gameEventLog += getEventPrefix() + " " + goalInfo + " " + offense.getG(0).getName() + " earned the 1-pt follow-up.";
                     addPointsPeriod(1);
                     offense.getG(0).statsXPMade++;
                 } else {
-                    gameEventLog += getEventPrefix() + " " + goalInfo + " " + offense.getG(0).name + " missed the 1-pt follow-up.";
+                    gameEventLog += getEventPrefix() + " " + goalInfo + " " + offense.getG(0).getName() + " missed the 1-pt follow-up.";
                     if (gamePoss) HomeGStats[1]++;
                     else AwayGStats[1]++;
                 }
@@ -937,10 +959,10 @@ public class GameHockey implements Serializable {
             if (gameTime < 180 && ((gamePoss && (awayScore - homeScore) <= 8 && (awayScore - homeScore) > 0)
                     || (!gamePoss && (homeScore - awayScore) <= 8 && (homeScore - awayScore) > 0))) {
                 if (offense.getG(0).ratGoalieFumble * Math.random() > 60 || Math.random() < 0.1) {
-                    gameEventLog += getEventPrefix() + offense.abbr + " G " + offense.getG(0).name
+                    gameEventLog += getEventPrefix() + offense.abbr + " G " + offense.getG(0).getName()
                             + " wins the faceOff! " + offense.abbr + " retains possession!";
                 } else {
-                    gameEventLog += getEventPrefix() + offense.abbr + " G " + offense.getG(0).name
+                    gameEventLog += getEventPrefix() + offense.abbr + " G " + offense.getG(0).getName()
                             + " loses the faceOff, possession goes other way.";
                     gamePoss = !gamePoss;
                 }
@@ -989,7 +1011,7 @@ public class GameHockey implements Serializable {
             AwayCStats[1]++;
             awayTakeaways++;
         }
-        gameEventLog += getEventPrefix() + "TAKEAWAY!\n" + offense.abbr + " C " + offense.getC(0).name + " lost possession to the goalie!";
+        gameEventLog += getEventPrefix() + "TAKEAWAY!\n" + offense.abbr + " C " + offense.getC(0).getName() + " lost possession to the goalie!";
         gameTime -= 15 * Math.random();
         offense.getC(0).statsInt++;
         if (!playingOT) {
@@ -1013,7 +1035,7 @@ public class GameHockey implements Serializable {
             AwayCStats[2]++;
             selDStats[3]++;
         }
-        goalInfo = offense.abbr + " C " + offense.getC(0).name + " shot a " + shotsGain + " foot GOAL to " + selD.name + "!";
+        goalInfo = offense.abbr + " C " + offense.getC(0).getName() + " shot a " + shotsGain + " foot GOAL to " + selD.getName() + "!";
         offense.getC(0).statsTD++;
         selD.statsTD++;
     }
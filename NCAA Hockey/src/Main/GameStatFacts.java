@@ -0,0 +1,249 @@
+package Main;
+
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * This season's per-game player stats as a fact table: one row per player per game,
+ * kept as parallel int columns so queries are plain loops over arrays.
+ *
+ * GameHockey's own stat arrays are still the football slots, so rows aren't read from
+ * them: snapshot() takes both rosters' season stats before a game and append() stores
+ * what each player added during it. Players get a dense id the first time they show
+ * up; everything is cleared with the season.
+ */
+public class GameStatFacts implements Serializable {
+
+    private static final int INITIAL_ROWS = 1024;
+
+    // one row per player per game
+    private int rows;
+    private int[] game;         // league game number this season, in the order games finished
+    private int[] player;       // id into players
+    private int[] team;         // teamId
+    private int[] oppRank;      // opponent's poll rank going into the game
+    private int[] goals;
+    private int[] assists;
+    private int[] shots;
+    private int[] lostPucks;
+    private int[] shotsFaced;
+    private int[] saves;
+    private int[] goalsAllowed;
+
+    private int games;
+    private final ArrayList<PlayerHockey> players;
+    private final IdentityHashMap<PlayerHockey, Integer> playerIds;
+
+    public GameStatFacts() {
+        players = new ArrayList<>();
+        playerIds = new IdentityHashMap<>();
+        allocate(INITIAL_ROWS);
+    }
+
+    private void allocate(int capacity) {
+        game = new int[capacity];
+        player = new int[capacity];
+        team = new int[capacity];
+        oppRank = new int[capacity];
+        goals = new int[capacity];
+        assists = new int[capacity];
+        shots = new int[capacity];
+        lostPucks = new int[capacity];
+        shotsFaced = new int[capacity];
+        saves = new int[capacity];
+        goalsAllowed = new int[capacity];
+    }
+
+    /**
+     * Season stats of every player on both rosters, home first, in getAllPlayers() order.
+     * Pass the result to append() once the game is over.
+     */
+    public int[] snapshot(TeamHockey home, TeamHockey away) {
+        ArrayList<PlayerHockey> homePlayers = home.getAllPlayers();
+        ArrayList<PlayerHockey> awayPlayers = away.getAllPlayers();
+        int[] before = new int[(homePlayers.size() + awayPlayers.size()) * PlayerCodec.SEASON_STATS];
+        int at = capture(homePlayers, before, 0);
+        capture(awayPlayers, before, at);
+        return before;
+    }
+
+    private static int capture(ArrayList<PlayerHockey> list, int[] into, int at) {
+        int[] stats = new int[PlayerCodec.SEASON_STATS];
+        for (PlayerHockey p : list) {
+            PlayerCodec.forPlayer(p).getSeasonStats(p, stats);
+            System.arraycopy(stats, 0, into, at, stats.length);
+            at += stats.length;
+        }
+        return at;
+    }
+
+    /**
+     * One row for every player who played or put up a number in the game. Safe to call
+     * from parallel games; each game's rows go in together.
+     */
+    public void append(GameHockey g, int[] before) {
+        ArrayList<PlayerHockey> homePlayers = g.homeTeam.getAllPlayers();
+        ArrayList<PlayerHockey> awayPlayers = g.awayTeam.getAllPlayers();
+        // rosters don't change during a game; if they did, the snapshot no longer lines up
+        if ((homePlayers.size() + awayPlayers.size()) * PlayerCodec.SEASON_STATS != before.length) return;
+
+        synchronized (this) {
+            int gameId = games++;
+            int at = appendTeam(gameId, g.homeTeam, g.awayTeam.rankTeamPollScore, homePlayers, before, 0);
+            appendTeam(gameId, g.awayTeam, g.homeTeam.rankTeamPollScore, awayPlayers, before, at);
+        }
+    }
+
+    private int appendTeam(int gameId, TeamHockey t, int opponentRank, ArrayList<PlayerHockey> list,
+                           int[] before, int at) {
+        int[] stats = new int[PlayerCodec.SEASON_STATS];
+        for (PlayerHockey p : list) {
+            PlayerCodec.forPlayer(p).getSeasonStats(p, stats);
+            boolean played = false;
+            // everything but the injury flag at the end
+            for (int i = 0; i < PlayerCodec.SEASON_STATS - 1; ++i) {
+                stats[i] -= before[at + i];
+                played |= stats[i] != 0;
+            }
+            at += stats.length;
+            if (!played) continue;
+
+            if (rows == game.length) grow();
+            int r = rows++;
+            game[r] = gameId;
+            player[r] = idOf(p);
+            team[r] = t.teamId;
+            oppRank[r] = opponentRank;
+            // stats 2-5 are shots/assists/goals/lost pucks for skaters, the save numbers for goalies
+            boolean goalie = p.pos == Position.G;
+            shots[r] = goalie ? 0 : stats[2];
+            assists[r] = goalie ? 0 : stats[3];
+            goals[r] = goalie ? 0 : stats[4];
+            lostPucks[r] = goalie ? 0 : stats[5];
+            shotsFaced[r] = goalie ? stats[2] : 0;
+            saves[r] = goalie ? stats[3] : 0;
+            goalsAllowed[r] = goalie ? stats[4] : 0;
+        }
+        return at;
+    }
+
+    private int idOf(PlayerHockey p) {
+        Integer id = playerIds.get(p);
+        if (id == null) {
+            id = players.size();
+            players.add(p);
+            playerIds.put(p, id);
+        }
+        return id;
+    }
+
+    private void grow() {
+        int n = game.length * 2;
+        game = Arrays.copyOf(game, n);
+        player = Arrays.copyOf(player, n);
+        team = Arrays.copyOf(team, n);
+        oppRank = Arrays.copyOf(oppRank, n);
+        goals = Arrays.copyOf(goals, n);
+        assists = Arrays.copyOf(assists, n);
+        shots = Arrays.copyOf(shots, n);
+        lostPucks = Arrays.copyOf(lostPucks, n);
+        shotsFaced = Arrays.copyOf(shotsFaced, n);
+        saves = Arrays.copyOf(saves, n);
+        goalsAllowed = Arrays.copyOf(goalsAllowed, n);
+    }
+
+    /**
+     * Best k goal scorers over each player's own last n games, most goals first.
+     * One pass from the newest row back, counting games per player as it goes.
+     */
+    public synchronized ArrayList<PlayerHockey> getTopScorersLastGames(int lastGames, int k) {
+        int[] seen = new int[players.size()];
+        int[] total = new int[players.size()];
+        for (int r = rows - 1; r >= 0; --r) {
+            int id = player[r];
+            if (seen[id] >= lastGames) continue;
+            seen[id]++;
+            total[id] += goals[r];
+        }
+        TopK<PlayerHockey> top = new TopK<>(k);
+        for (int id = 0; id < total.length; ++id) {
+            if (total[id] > 0) top.offer(players.get(id), total[id]);
+        }
+        return top.toList();
+    }
+
+    /**
+     * Goals by a player over their last n games.
+     */
+    public synchronized int getGoalsLastGames(PlayerHockey p, int lastGames) {
+        Integer id = playerIds.get(p);
+        if (id == null) return 0;
+        int total = 0;
+        int seen = 0;
+        for (int r = rows - 1; r >= 0 && seen < lastGames; --r) {
+            if (player[r] != id) continue;
+            total += goals[r];
+            seen++;
+        }
+        return total;
+    }
+
+    /**
+     * A goalie's save percentage (0-1) in games against teams ranked maxRank or better,
+     * -1 if they haven't faced a shot in one.
+     */
+    public synchronized double getSavePctVsRanked(PlayerHockey goalie, int maxRank) {
+        Integer id = playerIds.get(goalie);
+        if (id == null) return -1;
+        long faced = 0;
+        long saved = 0;
+        for (int r = 0; r < rows; ++r) {
+            if (player[r] != id || oppRank[r] > maxRank) continue;
+            faced += shotsFaced[r];
+            saved += saves[r];
+        }
+        return faced > 0 ? (double) saved / faced : -1;
+    }
+
+    /**
+     * Goalies by save percentage against teams ranked maxRank or better, best first.
+     * Only goalies who faced at least minShots such shots count.
+     */
+    public synchronized ArrayList<PlayerHockey> getTopGoaliesVsRanked(int maxRank, int minShots, int k) {
+        int[] faced = new int[players.size()];
+        int[] saved = new int[players.size()];
+        for (int r = 0; r < rows; ++r) {
+            if (oppRank[r] > maxRank) continue;
+            faced[player[r]] += shotsFaced[r];
+            saved[player[r]] += saves[r];
+        }
+        TopK<PlayerHockey> top = new TopK<>(k);
+        for (int id = 0; id < faced.length; ++id) {
+            if (faced[id] > 0 && faced[id] >= minShots) {
+                top.offer(players.get(id), (int) (1000L * saved[id] / faced[id]));
+            }
+        }
+        return top.toList();
+    }
+
+    public synchronized int getRowCount() {
+        return rows;
+    }
+
+    public synchronized int getGameCount() {
+        return games;
+    }
+
+    /**
+     * New season, start over. The column arrays keep their size.
+     */
+    public synchronized void clear() {
+        rows = 0;
+        games = 0;
+        players.clear();
+        playerIds.clear();
+    }
+}
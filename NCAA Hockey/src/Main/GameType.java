@@ -0,0 +1,44 @@
+package Main;
+
+
+/**
+ * Kind of game on the schedule. Code checks the type; gameName is only for display.
+ * Types with a fixed label use it as the game name; the others get their name
+ * from the conference or tournament (e.g. "SOU vs PAC", "Lilac Cup").
+ */
+public enum GameType {
+    IN_CONFERENCE("In Conference"),
+    RIVALRY("Rivalry Game"),
+    NON_CONFERENCE(null),
+    CONF_CHAMPIONSHIP(null),
+    SEMIFINAL(null),
+    TOURNAMENT(null),       // tournament rounds before the semis
+    CUP(null),
+    NATIONAL_CHAMPIONSHIP("Hockey Championship"),
+    EXHIBITION("");
+
+    public final String label;
+
+    GameType(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Best guess at the type of an old free-form game name.
+     */
+    public static GameType fromLabel(String name) {
+        if (name == null || name.isEmpty()) return EXHIBITION;
+        switch (name) {
+            case "In Conf":
+            case "In Conference": return IN_CONFERENCE;
+            case "Rivalry Game": return RIVALRY;
+            case "Hockey Championship": return NATIONAL_CHAMPIONSHIP;
+            default:
+                if (name.startsWith("Semis")) return SEMIFINAL;
+                if (name.startsWith("Quarterfinals") || name.startsWith("Round of")) return TOURNAMENT;
+                if (name.endsWith("Conference Championship")) return CONF_CHAMPIONSHIP;
+                if (name.endsWith(" Cup")) return CUP;
+                return EXHIBITION;
+        }
+    }
+}
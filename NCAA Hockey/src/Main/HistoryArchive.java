@@ -0,0 +1,289 @@
+package Main;
+
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Append-only, segmented archive for one history stream (league top 10s, Hobey winners,
+ * a team's year-by-year record, a Hall of Fame, ...). One line per entry.
+ *
+ * Entries are written to disk as they are appended, segmentSize entries per file
+ * (prefix-0.seg, prefix-1.seg, ...). Only the last windowSize entries are kept in
+ * memory; older entries are read back one segment at a time on request, so memory
+ * and save size stay flat no matter how long the dynasty runs.
+ */
+public class HistoryArchive implements Serializable {
+
+    private final File dir;
+    private final String prefix;
+    private final int segmentSize;
+    private final int windowSize;
+
+    private int size;
+    private final ArrayDeque<String> window;
+
+    // Last segment read from disk, kept for sequential paging
+    private transient int cachedSegment = -1;
+    private transient ArrayList<String> cachedLines;
+
+    /**
+     * Open (or create) the archive stored as dir/prefix-N.seg.
+     */
+    public HistoryArchive(File dir, String prefix, int segmentSize, int windowSize) throws IOException {
+        if (segmentSize < 1 || windowSize < 0) {
+            throw new IllegalArgumentException("segmentSize must be >= 1 and windowSize >= 0");
+        }
+        this.dir = dir;
+        this.prefix = prefix;
+        this.segmentSize = segmentSize;
+        this.windowSize = windowSize;
+        this.window = new ArrayDeque<>();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Unable to create history directory " + dir);
+        }
+        recover();
+    }
+
+    /**
+     * Total number of entries, on disk and in memory.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Append one entry. Written straight to its segment file.
+     */
+    public void append(String entry) throws IOException {
+        String line = entry.replace('\n', ' ').replace('\r', ' ');
+        int segment = size / segmentSize;
+        try (Writer w = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(segmentFile(segment), true), StandardCharsets.UTF_8))) {
+            w.write(line);
+            w.write('\n');
+        }
+        if (cachedLines != null && segment == cachedSegment) {
+            cachedLines.add(line);
+        }
+        size++;
+        window.addLast(line);
+        while (window.size() > windowSize) {
+            window.removeFirst();
+        }
+    }
+
+    /**
+     * Bring the archive up to date with an in-memory history list and trim that list
+     * down to the window. archived is how many of the oldest entries were already moved
+     * out of the list; entries of the list the archive has not seen yet are appended.
+     * Returns the new archived count.
+     *
+     * The caller's count wins over the disk: entries past archived + recent.size() (from
+     * playing on after the save that was loaded) are cut off. An archive that holds fewer
+     * than archived entries has lost files: that throws, and nothing is written or cut.
+     * A negative archived means the count is unknown (a save that didn't keep it): the
+     * disk is taken as is, nothing is cut and everything in recent counts as newer.
+     */
+    public <T> int sync(List<T> recent, int archived, Function<? super T, String> format) throws IOException {
+        if (archived < 0) {
+            archived = size;
+        }
+        if (size < archived) {
+            throw new IOException(prefix + " archive has " + size + " entries, the save expects " + archived);
+        }
+        if (size > archived + recent.size()) {
+            truncate(archived + recent.size());
+        }
+        for (int i = size - archived; i < recent.size(); ++i) {
+            append(format.apply(recent.get(i)));
+        }
+        int drop = recent.size() - windowSize;
+        if (drop > 0) {
+            recent.subList(0, drop).clear();
+            archived += drop;
+        }
+        return archived;
+    }
+
+    /**
+     * Page over a history that was split with sync(): entries below archived come from
+     * the archive (may be null if nothing was ever archived), the rest from recent.
+     * If the archive can't be read, only the in-memory part of the page is returned.
+     */
+    public static <T> ArrayList<T> page(HistoryArchive archive, int archived, List<T> recent,
+                                        int start, int count, Function<String, T> parse) {
+        int total = archived + recent.size();
+        ArrayList<T> page = new ArrayList<>(Math.max(0, Math.min(count, total - Math.max(start, 0))));
+        forEach(archive, archived, recent, start, count, parse, page::add);
+        return page;
+    }
+
+    /**
+     * Same as page() but hands each entry to the consumer instead of collecting them,
+     * so a whole history can be streamed one segment at a time.
+     */
+    public static <T> void forEach(HistoryArchive archive, int archived, List<T> recent,
+                                   int start, int count, Function<String, T> parse, Consumer<? super T> consumer) {
+        int total = archived + recent.size();
+        start = Math.max(start, 0);
+        int end = (int) Math.min((long) start + count, total);
+        if (archive != null && start < archived) {
+            try {
+                archive.forEach(start, Math.min(end, archived) - start, s -> consumer.accept(parse.apply(s)));
+            } catch (IOException ex) {
+                System.out.println("Unable to read history archive");
+            }
+        }
+        for (int i = Math.max(start, archived); i < end; ++i) {
+            consumer.accept(recent.get(i - archived));
+        }
+    }
+
+    /**
+     * Entry at the given index (0 = oldest). Recent entries come from memory.
+     */
+    public String get(int index) throws IOException {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("History index " + index + ", size " + size);
+        }
+        int windowStart = size - window.size();
+        if (index >= windowStart) {
+            int i = windowStart;
+            for (String s : window) {
+                if (i++ == index) return s;
+            }
+        }
+        return loadSegment(index / segmentSize).get(index % segmentSize);
+    }
+
+    /**
+     * Up to count entries starting at start, oldest first.
+     */
+    public ArrayList<String> getPage(int start, int count) throws IOException {
+        ArrayList<String> page = new ArrayList<>(Math.max(0, Math.min(count, size - start)));
+        forEach(start, count, page::add);
+        return page;
+    }
+
+    /**
+     * Stream up to count entries starting at start to the consumer, reading at most
+     * one segment at a time.
+     */
+    public void forEach(int start, int count, Consumer<String> consumer) throws IOException {
+        int end = (int) Math.min((long) start + count, size);
+        int windowStart = size - window.size();
+        int i = Math.max(start, 0);
+        while (i < end && i < windowStart) {
+            ArrayList<String> seg = loadSegment(i / segmentSize);
+            int segEnd = Math.min(end, Math.min(windowStart, (i / segmentSize + 1) * segmentSize));
+            for (; i < segEnd; ++i) {
+                consumer.accept(seg.get(i % segmentSize));
+            }
+        }
+        if (i < end) {
+            int j = windowStart;
+            for (String s : window) {
+                if (j >= end) break;
+                if (j >= i) consumer.accept(s);
+                j++;
+            }
+        }
+    }
+
+    /**
+     * The in-memory window of most recent entries, oldest first.
+     */
+    public ArrayList<String> getRecent() {
+        return new ArrayList<>(window);
+    }
+
+    /**
+     * Drop every entry from index n on, on disk and in memory.
+     */
+    public void truncate(int n) throws IOException {
+        if (n < 0 || n >= size) return;
+        int keepSegment = n / segmentSize;
+        int lastSegment = (size - 1) / segmentSize;
+        for (int seg = lastSegment; seg > keepSegment; --seg) {
+            File f = segmentFile(seg);
+            if (f.exists() && !f.delete()) throw new IOException("Unable to delete " + f);
+        }
+        File f = segmentFile(keepSegment);
+        if (n % segmentSize == 0 && keepSegment > 0) {
+            if (f.exists() && !f.delete()) throw new IOException("Unable to delete " + f);
+        } else {
+            List<String> kept = new ArrayList<>(loadSegment(keepSegment).subList(0, n % segmentSize));
+            try (Writer w = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(f, false), StandardCharsets.UTF_8))) {
+                for (String line : kept) {
+                    w.write(line);
+                    w.write('\n');
+                }
+            }
+        }
+        cachedSegment = -1;
+        cachedLines = null;
+        recover();
+    }
+
+    private File segmentFile(int segment) {
+        return new File(dir, prefix + "-" + segment + ".seg");
+    }
+
+    private ArrayList<String> loadSegment(int segment) throws IOException {
+        if (cachedLines != null && segment == cachedSegment) return cachedLines;
+        ArrayList<String> lines = new ArrayList<>(segmentSize);
+        File f = segmentFile(segment);
+        if (f.exists()) {
+            try (BufferedReader r = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(f), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = r.readLine()) != null) {
+                    lines.add(line);
+                }
+            }
+        }
+        cachedSegment = segment;
+        cachedLines = lines;
+        return lines;
+    }
+
+    /**
+     * Work out the size from the segment files already on disk and refill the window.
+     */
+    private void recover() throws IOException {
+        int segment = 0;
+        while (segmentFile(segment + 1).exists()) {
+            segment++;
+        }
+        ArrayList<String> last = loadSegment(segment);
+        size = segment * segmentSize + last.size();
+
+        int from = Math.max(0, size - windowSize);
+        window.clear();
+        forEach(from, size - from, window::addLast);
+    }
+}
@@ -0,0 +1,121 @@
+package Main;
+
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Running Hobey Baker race, kept sorted by the same vote the old scan used:
+ * Hobey score (getHeismanScore) plus 100 per team win. Each played game re-scores
+ * only the players on the two teams involved, which covers the wins changing too,
+ * so the top of the race can be read in O(K) without rescanning the league.
+ * Unlike the old football Heisman scan, every position is eligible (C, LW, RW, LD, RD, G).
+ */
+public class HobeyLeaderboard implements Serializable {
+
+    /**
+     * One ranked player with the score it was ranked under.
+     * Ties go to whoever entered the race first, so the order is stable week to week.
+     */
+    private static class Entry implements Comparable<Entry>, Serializable {
+        private final Player player;
+        private final int score;
+        private final long seq;
+
+        Entry(Player player, int score, long seq) {
+            this.player = player;
+            this.score = score;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            if (score != o.score) return score > o.score ? -1 : 1;
+            return Long.compare(seq, o.seq);
+        }
+    }
+
+    private final TreeSet<Entry> ranked;
+    private final IdentityHashMap<Player, Entry> entries;
+    private long nextSeq;
+
+    public HobeyLeaderboard() {
+        ranked = new TreeSet<>();
+        entries = new IdentityHashMap<>();
+        nextSeq = 0;
+    }
+
+    /**
+     * Re-score a single player, moving them up or down the race if needed.
+     */
+    public synchronized void updatePlayer(Player p) {
+        int score = score(p);
+        Entry old = entries.get(p);
+        if (old != null) {
+            if (old.score == score) return;
+            ranked.remove(old);
+        }
+        Entry e = new Entry(p, score, old != null ? old.seq : nextSeq++);
+        entries.put(p, e);
+        ranked.add(e);
+    }
+
+    /**
+     * A player's Hobey vote.
+     */
+    public static int score(Player p) {
+        return p.getHeismanScore() + (p.team != null ? p.team.wins * 100 : 0);
+    }
+
+    /**
+     * Re-score everyone on a team, e.g. after it played a game.
+     */
+    public synchronized void updateTeam(TeamHockey t) {
+        for (PlayerHockey p : t.getAllPlayers()) {
+            updatePlayer(p);
+        }
+    }
+
+    /**
+     * Drop a player from the race (graduated, left early, etc.).
+     */
+    public synchronized void removePlayer(Player p) {
+        Entry old = entries.remove(p);
+        if (old != null) ranked.remove(old);
+    }
+
+    /**
+     * Clear the race and re-enter every player on every team, e.g. after the offseason.
+     */
+    public synchronized void rebuild(List<TeamHockey> teams) {
+        clear();
+        for (TeamHockey t : teams) {
+            updateTeam(t);
+        }
+    }
+
+    public synchronized void clear() {
+        ranked.clear();
+        entries.clear();
+        nextSeq = 0;
+    }
+
+    public synchronized int size() {
+        return ranked.size();
+    }
+
+    /**
+     * Top k players in the race, best first.
+     */
+    public synchronized ArrayList<Player> getTop(int k) {
+        ArrayList<Player> top = new ArrayList<>(Math.min(k, ranked.size()));
+        for (Entry e : ranked) {
+            if (top.size() >= k) break;
+            top.add(e.player);
+        }
+        return top;
+    }
+}
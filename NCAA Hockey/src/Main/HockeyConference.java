@@ -5,13 +5,13 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.lang.StringBuilder;
 
 /**
  * Class representing a Hockey Conference in NCAA Hockey.
- * Example assumes 10 teams and a simplified scheduling approach,
- * but you may adjust the structure (number of teams, number of games,
- * tournament format, etc.) to fit an actual NCAA hockey conference.
+ * Any number of teams, sized by the league's LeagueConfig; with an odd
+ * count each team gets one bye week in the round robin.
  *
  * @author
  */
@@ -20,6 +20,15 @@ public class HockeyConference implements Serializable {
     /** Name of the conference, e.g. "NCHC", "Big10", "HockeyEast", etc. */
     public String confName;
 
+    /** Enum id of this conference; confName is its display name. Null for generated conferences past the sixth. */
+    public ConferenceId confId;
+
+    /** Position in league.conferences. */
+    public int confIndex;
+
+    /** Three-letter label used in non-conference game names, e.g. "SOU". */
+    public String shortName;
+
     /** A simple integer representation of conference strength. */
     public int confPrestige;
 
@@ -29,6 +38,9 @@ public class HockeyConference implements Serializable {
     /** Used to determine which year’s home/away pattern to use (if you still track alternating years). */
     public boolean evenYear;
 
+    /** Who hosts whom in even years, indexed by TeamHockey.confSlot. */
+    public HomeAwayMatrix homeAway;
+
     /** Reference to the larger league or association managing multiple conferences. */
     public HockeyLeague league;
 
@@ -54,8 +66,18 @@ public class HockeyConference implements Serializable {
      * Constructs a HockeyConference with a given name, linked to a larger league.
      * Example assumes an initial prestige value of 75.
      */
-    public HockeyConference(String name, HockeyLeague league) {
+    public HockeyConference(ConferenceId id, HockeyLeague league) {
+        this(id.name(), id.ordinal(), league);
+    }
+
+    /**
+     * Conference by name and league position, for leagues with more than the six named conferences.
+     */
+    public HockeyConference(String name, int index, HockeyLeague league) {
+        this.confIndex = index;
         this.confName = name;
+        this.confId = index < ConferenceId.values().length ? ConferenceId.values()[index] : null;
+        this.shortName = name.length() > 3 ? name.substring(0, 3) : name;
         this.confPrestige = 75;
         this.confTeams = new ArrayList<>();
         this.league = league;
@@ -65,150 +87,138 @@ public class HockeyConference implements Serializable {
     }
 
     /**
-     * Sets up an in-conference schedule (round-robin or partial round-robin).
-     * For simplicity, this example still uses 10 teams and a “roundRobinWeek”
-     * approach similar to the football version.
+     * Sets up an in-conference round robin with the circle method: one team stays
+     * put and the rest rotate, so every pair meets once. With an odd number of teams
+     * a phantom team is added and whoever draws it gets a bye (no game that week).
+     * Round r is played in week roundWeeks[r] of league.schedule.
      *
-     * Adjust as needed for actual NCAA hockey scheduling (often weekend series).
+     * Home/away comes from the homeAway matrix, flipped every other year.
      */
-    public void setUpConferenceSchedule() {
+    public void setUpConferenceSchedule(int[] roundWeeks) {
         roundRobinWeek = 0;
-        evenYear = (league.leagueHistory.size() % 2 == 0);
-
-        // For example, if you had logic to alternate home/away each season,
-        // you can adapt or remove it here. Below uses placeholders similar to the original code.
-        if (league.leagueHistory.size() == 0 || confTeams.get(0).evenYearHomeOpp == null) {
-            int[][] evenHomeGames = new int[10][];
-            // Example pattern for hockey: totally up to you how you define these
-            evenHomeGames[0] = new int[]{7, 4, 8, 3};
-            evenHomeGames[1] = new int[]{8, 9, 5, 0, 4};
-            evenHomeGames[2] = new int[]{5, 0, 6, 1};
-            evenHomeGames[3] = new int[]{6, 1, 9, 7, 2};
-            evenHomeGames[4] = new int[]{3, 7, 2, 8};
-            evenHomeGames[5] = new int[]{4, 8, 3, 9, 0};
-            evenHomeGames[6] = new int[]{4, 0, 1, 5};
-            evenHomeGames[7] = new int[]{2, 6, 1, 5, 9};
-            evenHomeGames[8] = new int[]{9, 3, 7, 2, 6};
-            evenHomeGames[9] = new int[]{0, 2, 4, 6};
-
-            for (int x = 0; x < evenHomeGames.length; x++) {
-                StringBuilder sb = new StringBuilder();
-                for (int y = 0; y < evenHomeGames[x].length; y++) {
-                    sb.append(confTeams.get(evenHomeGames[x][y]).abbr).append(",");
-                }
-                confTeams.get(x).evenYearHomeOpp = sb.toString();
+        evenYear = (league.getSeasonCount() % 2 == 0);
+        int n = confTeams.size();
+        if (n < 2) return;
+
+        if (league.getSeasonCount() == 0 || !hasValidHomeAway()) assignHomeAway();
+
+        int slots = n + (n & 1);
+        // a conference bigger than the config (old save) plays a partial round robin
+        int rounds = Math.min(slots - 1, roundWeeks.length);
+        for (int r = 0; r < rounds; ++r) {
+            for (int g = 0; g < slots / 2; ++g) {
+                int a = circleSlot(slots, r, g);
+                int b = circleSlot(slots, r, slots - 1 - g);
+                if (a >= n || b >= n) continue;   // bye
+
+                TeamHockey teamA = confTeams.get(a);
+                TeamHockey teamB = confTeams.get(b);
+                GameHockey gm = homeAway.hosts(teamA.confSlot, teamB.confSlot, evenYear)
+                        ? new GameHockey(teamA, teamB, GameType.IN_CONFERENCE)
+                        : new GameHockey(teamB, teamA, GameType.IN_CONFERENCE);
+                league.schedule.addGame(roundWeeks[r], gm);
             }
+            roundRobinWeek++;
         }
+    }
 
-        // Scheduling each round: simplistic example
-        for (int r = 0; r < 9; ++r) {
-            for (int g = 0; g < 5; ++g) {
-                TeamHockey homeTeam = confTeams.get((roundRobinWeek + g) % 9);
-                TeamHockey awayTeam;
-                if (g == 0) {
-                    awayTeam = confTeams.get(9);
-                } else {
-                    awayTeam = confTeams.get((9 - g + roundRobinWeek) % 9);
-                }
+    /**
+     * Team index at position pos of the circle in round r; slot 0 never moves.
+     * Indexes at or past the team count are the phantom team.
+     */
+    static int circleSlot(int slots, int r, int pos) {
+        if (pos == 0) return 0;
+        return (pos - 1 + r) % (slots - 1) + 1;
+    }
 
-                GameHockey gm;
-                // Check whether it's an even year and if 'awayTeam' is in homeTeam's
-                // home list, etc. Logic is exactly as in the original code:
-                if ((evenYear && homeTeam.evenYearHomeOpp.contains(awayTeam.abbr))
-                     || (evenYear && !awayTeam.evenYearHomeOpp.contains(homeTeam.abbr))
-                     || (!evenYear && !homeTeam.evenYearHomeOpp.contains(awayTeam.abbr))
-                     || (!evenYear && awayTeam.evenYearHomeOpp.contains(homeTeam.abbr))) {
-                    // homeTeam is home
-                    gm = new GameHockey(homeTeam, awayTeam, "In Conference");
-                } else {
-                    // awayTeam is home
-                    gm = new GameHockey(awayTeam, homeTeam, "In Conference");
-                }
+    /**
+     * Give every team a slot in the current confTeams order and a fresh balanced matrix.
+     */
+    private void assignHomeAway() {
+        for (int i = 0; i < confTeams.size(); ++i) {
+            confTeams.get(i).confSlot = i;
+        }
+        homeAway = HomeAwayMatrix.roundRobin(confTeams.size());
+    }
 
-                homeTeam.gameSchedule.add(gm);
-                awayTeam.gameSchedule.add(gm);
-            }
-            roundRobinWeek++;
+    /**
+     * Matrix matches the current teams: right size and every slot used exactly once.
+     */
+    private boolean hasValidHomeAway() {
+        int n = confTeams.size();
+        if (homeAway == null || homeAway.size() != n) return false;
+        boolean[] seen = new boolean[n];
+        for (TeamHockey t : confTeams) {
+            if (t.confSlot < 0 || t.confSlot >= n || seen[t.confSlot]) return false;
+            seen[t.confSlot] = true;
         }
+        return true;
     }
 
     /**
-     * Sets up non-conference games (similar to OOC in football).
-     * This example uses the same 3 "out-of-conference" slots. In hockey,
-     * you would typically schedule far more non-conference games, or series.
+     * "confName%ABC,DEF,...%hexbits", team abbrs in slot order, for the save file.
      */
-    public void setUpNonConferenceSchedule() {
-        // Just an example of dividing conferences by index or name.
-        // Adjust to match your actual league structure.
-        int confNum = -1;
-        switch (confName) {
-            case "SOUTH": confNum = 0; break;
-            case "LAKES": confNum = 1; break;
-            case "NORTH": confNum = 2; break;
-            default: break;
+    public String getHomeAwaySaveStr() {
+        String[] abbrs = new String[confTeams.size()];
+        for (TeamHockey t : confTeams) {
+            abbrs[t.confSlot] = t.abbr;
         }
+        return confName + "%" + String.join(",", abbrs) + "%" + homeAway.toHex();
+    }
 
-        if (confNum != -1) {
-            // Arbitrarily picking 3 "non-conference" matchups
-            for (int offset = 3; offset < 6; ++offset) {
-                ArrayList<TeamHockey> availableTeams = new ArrayList<>();
-                int selectedConfIndex = confNum + offset;
-                if (selectedConfIndex == 6) selectedConfIndex = 3;
-                if (selectedConfIndex == 7) selectedConfIndex = 4;
-                if (selectedConfIndex == 8) selectedConfIndex = 5;
-
-                // Grab teams from another conference
-                for (int i = 0; i < 10; ++i) {
-                    availableTeams.add(league.conferences
-                                          .get(selectedConfIndex).confTeams.get(i));
-                }
+    /**
+     * Restore the matrix saved by getHomeAwaySaveStr(); abbrs are in slot order.
+     * A team that isn't in this conference any more leaves the matrix invalid, and it
+     * is rebuilt at the next setUpConferenceSchedule(int[]).
+     */
+    public void loadHomeAway(String[] abbrs, String hex) {
+        for (int i = 0; i < abbrs.length; ++i) {
+            TeamHockey t = league.findTeamAbbr(abbrs[i]);
+            if (t != null) t.confSlot = i;
+        }
+        homeAway = HomeAwayMatrix.fromHex(abbrs.length, hex);
+    }
 
-                // Pair up each team in this conference with a random from the other
-                for (int i = 0; i < 10; ++i) {
-                    int selIndex = (int) (availableTeams.size() * Math.random());
-                    TeamHockey teamA = confTeams.get(i);
-                    TeamHockey teamB = availableTeams.get(selIndex);
-
-                    GameHockey gm;
-                    if (Math.random() > 0.5) {
-                        // Team A hosts Team B
-                        gm = new GameHockey(teamA, teamB,
-                                teamA.conference.substring(0, 3) + " vs " + teamB.conference.substring(0, 3));
-                    } else {
-                        // Team B hosts Team A
-                        gm = new GameHockey(teamB, teamA,
-                                teamB.conference.substring(0, 3) + " vs " + teamA.conference.substring(0, 3));
-                    }
-
-                    // Insert the game into the correct "slot"
-                    if (offset == 3) {
-                        teamA.gameOOCSchedule0 = gm;
-                        teamB.gameOOCSchedule0 = gm;
-                    } else if (offset == 4) {
-                        teamA.gameOOCSchedule4 = gm;
-                        teamB.gameOOCSchedule4 = gm;
-                    } else if (offset == 5) {
-                        teamA.gameOOCSchedule9 = gm;
-                        teamB.gameOOCSchedule9 = gm;
-                    }
-                    availableTeams.remove(selIndex);
-                }
+    /**
+     * Schedules one non-conference game in the given week for every team here against
+     * a random team from opp, drawn with a partial Fisher-Yates shuffle of opp's slots.
+     * If opp is smaller the leftover teams here get a bye. Called by
+     * HockeyLeague.setUpSchedule(), which picks the conference pairings.
+     */
+    public void scheduleNonConferenceGames(HockeyConference opp, int week) {
+        int[] order = new int[opp.confTeams.size()];
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = i;
+        }
+        int pairs = Math.min(confTeams.size(), order.length);
+        for (int i = 0; i < pairs; ++i) {
+            int j = i + (int) ((order.length - i) * Math.random());
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+
+            TeamHockey teamA = confTeams.get(i);
+            TeamHockey teamB = opp.confTeams.get(order[i]);
+            GameHockey gm;
+            if (Math.random() > 0.5) {
+                // Team A hosts Team B
+                gm = new GameHockey(teamA, teamB, GameType.NON_CONFERENCE, matchupLabel(this, opp));
+            } else {
+                // Team B hosts Team A
+                gm = new GameHockey(teamB, teamA, GameType.NON_CONFERENCE, matchupLabel(opp, this));
             }
+            league.schedule.addGame(week, gm);
         }
     }
 
     /**
-     * Inserts the non-conference games into the early/mid/late season schedule.
-     * In this example, they are inserted at “weeks” 1, 5, and 10. 
-     * Adjust for hockey’s typical schedule as needed.
+     * Game name for a non-conference game, home conference first.
      */
-    public void insertNonConferenceSchedule() {
-        for (TeamHockey team : confTeams) {
-            // Insert them into the team’s schedule at specific indexes
-            team.gameSchedule.add(0, team.gameOOCSchedule0);
-            team.gameSchedule.add(4, team.gameOOCSchedule4);
-            team.gameSchedule.add(9, team.gameOOCSchedule9);
+    public static String matchupLabel(HockeyConference home, HockeyConference away) {
+        if (home.confId != null && away.confId != null) {
+            return ConferenceId.matchupLabel(home.confId, away.confId);
         }
+        return home.shortName + " vs " + away.shortName;
     }
 
     /**
@@ -216,15 +226,21 @@ public class HockeyConference implements Serializable {
      * If we've reached the end, schedule/play the conference championship.
      */
     public void playOneWeek() {
-        // Example: maybe the regular season is 12 weeks in this simplified approach
-        if (currentWeek == 12) {
+        int regularSeason = league.config.getRegularSeasonWeeks();
+        if (currentWeek == regularSeason) {
             playConferenceChampionship();
         } else {
             // Play all scheduled games for each team this week
             for (TeamHockey team : confTeams) {
-                team.gameSchedule.get(currentWeek).playGame();
+                GameHockey g = league.schedule.getGame(currentWeek, team.teamId);
+                if (g != null) {
+                    g.playGame();
+                } else {
+                    // keeps gameWLSchedule lined up with gameSchedule
+                    team.gameWLSchedule.add("BYE");
+                }
             }
-            if (currentWeek == 11) scheduleConferenceChampionship();
+            if (currentWeek == regularSeason - 1) scheduleConferenceChampionship();
             currentWeek++;
         }
     }
@@ -244,13 +260,26 @@ public class HockeyConference implements Serializable {
 
 
         // The top two teams get placed into the “conference championship”
-        confChampGame = new GameHockey(confTeams.get(0), confTeams.get(1), confName + " Conference Championship");
-        confTeams.get(0).gameSchedule.add(confChampGame);
-        confTeams.get(1).gameSchedule.add(confChampGame);
+        confChampGame = new GameHockey(confTeams.get(0), confTeams.get(1), GameType.CONF_CHAMPIONSHIP,
+                confName + " Conference Championship");
+        league.schedule.addGame(league.config.getConfChampionshipWeek(), confChampGame);
     }
 
 
 
+    /**
+     * Point confChampGame back at this conference's championship on the schedule,
+     * after the schedule was rebuilt from a WeekJournal.
+     */
+    public void relinkChampionship() {
+        confChampGame = null;
+        for (GameHockey g : league.schedule.getWeekGames(league.config.getConfChampionshipWeek())) {
+            if (g.gameType == GameType.CONF_CHAMPIONSHIP && confTeams.contains(g.homeTeam)) {
+                confChampGame = g;
+            }
+        }
+    }
+
     /**
      * Plays the conference championship game.
      * Winner is crowned “Conference Champion.”
@@ -262,22 +291,18 @@ public class HockeyConference implements Serializable {
 
         if (confChampGame.homeScore > confChampGame.awayScore) {
             home.confChampion = "CONF-CHAMP";
+            home.invalidatePollScore();
             home.totalCCs++;
             away.totalCCLosses++;
-            league.newsStories.get(13).add(
-                    home.name + " wins the " + confName + " Hockey Championship!>" +
-                    home.strRep() + " defended home ice against " + away.strRep() +
-                    ", with a final score of " + confChampGame.homeScore + " to " + confChampGame.awayScore + "."
-            );
+            league.newsStories.add(NewsStory.confChampionship(league.config.getCupWeek(), confName, home, away,
+                    confChampGame.homeScore, confChampGame.awayScore, true));
         } else {
             away.confChampion = "CONF-CHAMP";
+            away.invalidatePollScore();
             away.totalCCs++;
             home.totalCCLosses++;
-            league.newsStories.get(13).add(
-                    away.name + " wins the " + confName + " Hockey Championship!>" +
-                    away.strRep() + " pulled off the upset on the road against " + home.strRep() +
-                    ", winning by a score of " + confChampGame.awayScore + " to " + confChampGame.homeScore + "."
-            );
+            league.newsStories.add(NewsStory.confChampionship(league.config.getCupWeek(), confName, away, home,
+                    confChampGame.awayScore, confChampGame.homeScore, false));
         }
 
         // Re-sort teams by poll or final ranking
@@ -339,46 +364,43 @@ public class HockeyConference implements Serializable {
      * Returns the All-Conference players (e.g., for end-of-season awards).
      * In actual NCAA hockey, you might choose, for instance:
      * 3 forwards, 2 defensemen, 1 goalie (First Team).
-     * For demonstration, we’ll do something small and simple.
      */
     public ArrayList<Player> getAllConferencePlayers() {
         if (allConferencePlayers.isEmpty()) {
-            // Separate out players by position
-            ArrayList<PlayerC> Centers = new ArrayList<>();
-            ArrayList<PlayerLW> Leftwings = new ArrayList<>();
-            ArrayList<PlayerRW> Rightwings = new ArrayList<>();
-            ArrayList<PlayerLD> leftdefensemen = new ArrayList<>();
-            ArrayList<PlayerRD> rightdefensemen = new ArrayList<>();
-            ArrayList<PlayerG> goalies = new ArrayList<>();
-
-            // Gather all players from all teams
-            for (TeamHockey t : confTeams) {
-                forwards.addAll(t.teamForwards);
-                defensemen.addAll(t.teamDefense);
-                goalies.addAll(t.teamGoalies);
+            allConferencePlayers = pickAllStarTeam(confTeams);
+            for (Player p : allConferencePlayers) {
+                p.wonAllConference = true;
             }
+        }
 
-            // Sort by "Hobey Baker" ranking logic or however you measure
-            Collections.sort(forwards, new PlayerHobeyBakerComp());
-            Collections.sort(defensemen, new PlayerHobeyBakerComp());
-            Collections.sort(goalies, new PlayerHobeyBakerComp());
+        return allConferencePlayers;
+    }
 
-            // Pick a small first-team example: 3F, 2D, 1G
-            for (int i = 0; i < 3 && i < forwards.size(); i++) {
-                allConferencePlayers.add(forwards.get(i));
-                forwards.get(i).wonAllConference = true;
-            }
-            for (int i = 0; i < 2 && i < defensemen.size(); i++) {
-                allConferencePlayers.add(defensemen.get(i));
-                defensemen.get(i).wonAllConference = true;
-            }
-            if (!goalies.isEmpty()) {
-                allConferencePlayers.add(goalies.get(0));
-                goalies.get(0).wonAllConference = true;
-            }
+    /**
+     * Picks a 3F/2D/1G first team from the given teams by Hobey score.
+     * Uses bounded top-K selection per position group, so no position pool is
+     * ever copied or fully sorted. Shared by All-Conference and All-Hockey.
+     */
+    public static ArrayList<Player> pickAllStarTeam(List<TeamHockey> teams) {
+        TopK<Player> forwards = new TopK<>(3);
+        TopK<Player> defensemen = new TopK<>(2);
+        TopK<Player> goalies = new TopK<>(1);
+
+        for (TeamHockey t : teams) {
+            t.ensureHydrated();
+            for (PlayerC c : t.teamCenters) forwards.offer(c, c.getHeismanScore());
+            for (PlayerLW lw : t.teamLeftWings) forwards.offer(lw, lw.getHeismanScore());
+            for (PlayerRW rw : t.teamRightWings) forwards.offer(rw, rw.getHeismanScore());
+            for (PlayerLD ld : t.teamLD) defensemen.offer(ld, ld.getHeismanScore());
+            for (PlayerRD rd : t.teamRD) defensemen.offer(rd, rd.getHeismanScore());
+            for (PlayerG g : t.teamGoalies) goalies.offer(g, g.getHeismanScore());
         }
 
-        return allConferencePlayers;
+        ArrayList<Player> team = new ArrayList<>(6);
+        team.addAll(forwards.toList());
+        team.addAll(defensemen.toList());
+        team.addAll(goalies.toList());
+        return team;
     }
 }
 
@@ -2,24 +2,31 @@ package Main;
 
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
+import java.io.InputStreamReader;
 import java.io.Serializable;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 /**
- * HockeyLeague class. Has 6 hockey conferences of 10 teams each.
+ * HockeyLeague class. By default 6 hockey conferences of 10 teams each,
+ * any other shape can be given as a LeagueConfig.
  * Exactly the same structure as the original football League class,
  * but renamed for NCAA Hockey (Hobey Baker Award, Cup Games, etc.).
  */
@@ -27,15 +34,27 @@ public class HockeyLeague implements Serializable {
     // Lists of conferences/teams
     public ArrayList<String[]> leagueHistory;       // History of top teams each year
     public ArrayList<String> hobeyHistory;          // was "heismanHistory" but now "hobey" for Hobey Baker
+    // Older seasons of history live on disk once archiving is on, see enableHistoryArchive()
+    public int archivedSeasons;                     // oldest leagueHistory entries moved to the archive
+    public int archivedHobeys;                      // oldest hobeyHistory entries moved to the archive
+    public File historyDir;
+    public int historySegmentSize;
+    public int historyWindow;
+    private HistoryArchive leagueHistoryArchive;
+    private HistoryArchive hobeyHistoryArchive;
+    public LeagueConfig config;                     // conference count/size, non-conference games
     public ArrayList<HockeyConference> conferences; // was "Conference"
+    private HashMap<String, HockeyConference> confsByName;
     public ArrayList<TeamHockey> teamList;          // was "Team"
-    public ArrayList<String> nameList;
-    public ArrayList<String> lastNameList;
-    public ArrayList<ArrayList<String>> newsStories;
+    public ScheduleTable schedule;                  // every team's games, by week and teamId
+    public NameDictionary names;                    // shared first/last name lists
+    public NewsFeed newsStories;                    // per-week news, see NewsFeed
 
     // Records and streaks
     public LeagueRecords leagueRecords;
     public LeagueRecords userTeamRecords;
+    public RecordBoard recordBoard;                 // live checks into leagueRecords, posted after every game
+    public RecordBoard userRecordBoard;             // same for userTeamRecords
 
     // News Story Variables (bless/curse storylines)
     public TeamHockey saveBless;
@@ -50,29 +69,68 @@ public class HockeyLeague implements Serializable {
     public String storyFirstName;
     public String storyLastName;
 
-    // Current week, 1-14, same as football logic
+    // Current week, 0 to config.getFinalWeek()
     public int currentWeek;
 
+    // Seasons read from the history archive at a time
+    private static final int HISTORY_PAGE = 50;
+
+    // Binary save: magic, varint version, then tagged sections (see SaveOutput).
+    // Version 2 starts with an index section so a mapped load can seek instead of scan.
+    public static final byte[] SAVE_MAGIC = {'N', 'C', 'H', 'B'};
+    public static final int SAVE_VERSION = 2;
+    static final int SECTION_META = 1;
+    static final int SECTION_HISTORY = 2;
+    static final int SECTION_TEAMS = 3;
+    static final int SECTION_PLAYERS = 4;
+    static final int SECTION_RECORDS = 5;
+    static final int SECTION_INDEX = 6;
+    static final int SECTION_TEAM_ARCHIVES = 7;
+
+    // Last successful save, see recordSave(); bytes are before compression
+    public long lastSaveBytes;
+    public long lastSaveNanos;
+
+    // Bumped whenever results or poll ranks change, so cached team poll scores expire
+    public int pollScoreEpoch;
+
     // Tournament (Cup) Games (was bowlGames)
     public boolean hasScheduledTourney;
     public GameHockey semiGH14;   // was "semiG14"
     public GameHockey semiGH23;   // was "semiG23"
     public GameHockey champGame;  // was "ncg"
     public GameHockey[] cupGames; // was "bowlGames"
+    public Bracket tournament;    // this season's championship bracket, config.tournamentTeams seeded by poll
 
     // User's controlled team
     public TeamHockey userTeam;
 
+    // Team lookup indexes, rebuilt by buildTeamIndexes() and kept current by renameTeam()
+    private HashMap<String, TeamHockey> teamsByName;
+    private HashMap<String, TeamHockey> teamsByLowerName;
+    private HashMap<String, TeamHockey> teamsByAbbr;
+    private TeamHockey[] teamsById;
+
     // Hobey Baker Award (was Heisman)
     public boolean hobeyDecided;            // was "heismanDecided"
     public Player hobeyBaker;               // was "heisman"
     public ArrayList<Player> hobeyCandidates;  // was "heismanCandidates"
+    public HobeyLeaderboard hobeyLeaderboard;   // running race, updated after every game
+    public GameStatFacts gameFacts;             // this season's per-game player stats
+    private static final int HOBEY_CANDIDATES = 10;
     private String hobeyWinnerStrFull;      // was "heismanWinnerStrFull"
 
     // All-Hockey players (was "allAmericans")
     public ArrayList<Player> allHockeyPlayers; // was "allAmericans"
     private String allHockeyStr;               // was "allAmericanStr"
 
+    // Poll positions (0-based) meeting in each cup game with a 4-team tournament, same order
+    // as cupNames; a bigger tournament field pushes them down
+    private static final int[][] CUP_PAIRINGS = {
+            {4, 6}, {5, 7}, {8, 14}, {9, 15}, {10, 11},
+            {12, 13}, {16, 20}, {17, 21}, {18, 22}, {19, 23}
+    };
+
     // Names of the “cup” (formerly bowl) games
     public String[] cupNames = {
             "Lilac Cup", "Apple Cup", "Salty Cup", "Salsa Cup", "Mango Cup",
@@ -94,6 +152,23 @@ public class HockeyLeague implements Serializable {
      * football logic, but with hockey naming).
      */
     public HockeyLeague(String namesCSV, String lastNamesCSV, boolean difficulty) {
+        this(NameDictionary.shared(namesCSV, lastNamesCSV), difficulty);
+    }
+
+    /**
+     * Same, with names from an already loaded (possibly memory-mapped) dictionary.
+     */
+    public HockeyLeague(NameDictionary names, boolean difficulty) {
+        this(names, difficulty, LeagueConfig.DEFAULT);
+    }
+
+    /**
+     * League of any shape. Conferences past the six named ones and any team slots
+     * not covered by the built-in teams are filled with generated teams.
+     */
+    public HockeyLeague(NameDictionary names, boolean difficulty, LeagueConfig config) {
+        this.names = names;
+        this.config = config;
         isHardMode = difficulty;
         hobeyDecided = false;
         hasScheduledTourney = false;
@@ -101,40 +176,19 @@ public class HockeyLeague implements Serializable {
         leagueHistory = new ArrayList<>();
         hobeyHistory = new ArrayList<>();
         currentWeek = 0;
-        conferences = new ArrayList<>();
-        conferences.add(new HockeyConference("SOUTH", this));
-        conferences.add(new HockeyConference("LAKES", this));
-        conferences.add(new HockeyConference("NORTH", this));
-        conferences.add(new HockeyConference("COWBY", this));
-        conferences.add(new HockeyConference("PACIF", this));
-        conferences.add(new HockeyConference("MOUNT", this));
+        buildConferences();
+        schedule = new ScheduleTable();
         allHockeyPlayers = new ArrayList<>();
 
         // Initialize news stories
-        newsStories = new ArrayList<>();
-        for (int i = 0; i < 16; ++i) {
-            newsStories.add(new ArrayList<String>());
-        }
-        newsStories.get(0).add("New Season!>Ready for the new season on the ice, coach? Whether the Championship is " +
-                "on your mind or just a winning season, good luck!");
+        newsStories = new NewsFeed(config.getSeasonWeeks() + 1, NewsFeed.DEFAULT_CAPACITY);
+        newsStories.add(NewsStory.text(0, "New Season!", "Ready for the new season on the ice, coach? Whether the Championship is " +
+                "on your mind or just a winning season, good luck!"));
 
         // Initialize records/streaks
-        leagueRecords = new LeagueRecords();
-        userTeamRecords = new LeagueRecords();
-
-        // Read first names from CSV
-        nameList = new ArrayList<>();
-        String[] namesSplit = namesCSV.split(",");
-        for (String n : namesSplit) {
-            nameList.add(n.trim());
-        }
-
-        // Read last names from CSV
-        lastNameList = new ArrayList<>();
-        namesSplit = lastNamesCSV.split(",");
-        for (String n : namesSplit) {
-            lastNameList.add(n.trim());
-        }
+        leagueRecords = new LeagueRecords(this);
+        userTeamRecords = new LeagueRecords(this);
+        createRecordBoards();
 
         // Below is an example of constructing teams in each conference.
         // For brevity, you can add your own team names as in the original code.
@@ -145,22 +199,99 @@ public class HockeyLeague implements Serializable {
         conferences.get(0).confTeams.add(new TeamHockey("Alabama", "ALA", "SOUTH", this, 95, "GEO"));
         conferences.get(0).confTeams.add(new TeamHockey("Georgia", "GEO", "SOUTH", this, 90, "ALA"));
         // etc. for all teams in each conference…
+        fillConferences();
 
         // Build the teamList
         teamList = new ArrayList<>();
         for (HockeyConference c : conferences) {
             teamList.addAll(c.confTeams);
         }
+        assignTeamIds();
+        buildTeamIndexes();
+        hobeyLeaderboard = new HobeyLeaderboard();
+        gameFacts = new GameStatFacts();
+        hobeyLeaderboard.rebuild(teamList);
 
         // Schedule the “regular season”
+        setUpSchedule();
+    }
+
+    /**
+     * One HockeyConference per config.numConferences: the six named ones first,
+     * then "CONF7", "CONF8", ...
+     */
+    private void buildConferences() {
+        conferences = new ArrayList<>(config.numConferences);
+        confsByName = new HashMap<>(config.numConferences * 2);
+        ConferenceId[] ids = ConferenceId.values();
+        for (int i = 0; i < config.numConferences; ++i) {
+            HockeyConference c = i < ids.length ? new HockeyConference(ids[i], this)
+                                                : new HockeyConference("CONF" + (i + 1), i, this);
+            conferences.add(c);
+            confsByName.put(c.confName, c);
+        }
+    }
+
+    /**
+     * Tops every conference up to config.teamsPerConference with generated teams.
+     * Generated teams are rivals in pairs, an odd one out is paired with the
+     * conference's first team.
+     */
+    private void fillConferences() {
+        HashSet<String> used = new HashSet<>();
         for (HockeyConference c : conferences) {
-            c.setUpConferenceSchedule();
+            for (TeamHockey t : c.confTeams) {
+                used.add(t.abbr);
+            }
         }
+        int next = 1;
         for (HockeyConference c : conferences) {
-            c.setUpNonConferenceSchedule();
+            int missing = config.teamsPerConference - c.confTeams.size();
+            if (missing <= 0) continue;
+
+            String[] abbrs = new String[missing];
+            for (int i = 0; i < missing; ++i) {
+                while (used.contains("T" + next)) next++;
+                abbrs[i] = "T" + next;
+                used.add(abbrs[i]);
+                next++;
+            }
+            for (int i = 0; i < missing; ++i) {
+                String rival;
+                if ((i ^ 1) < missing) rival = abbrs[i ^ 1];
+                else rival = c.confTeams.isEmpty() ? abbrs[0] : c.confTeams.get(0).abbr;
+                int prestige = 50 + (int) (40 * Math.random());
+                c.confTeams.add(new TeamHockey("Team " + abbrs[i].substring(1), abbrs[i], c.confName,
+                        this, prestige, rival));
+            }
         }
+    }
+
+    /**
+     * Builds the whole regular season into schedule in one pass: each conference's
+     * round robin, then the non-conference games. Conferences rotate round-robin style
+     * for each non-conference week; with an odd count one conference sits the week out
+     * (its teams get a bye). More non-conference games than pairings wraps around.
+     */
+    public void setUpSchedule() {
+        schedule.reset(config.getSeasonWeeks(), config.getRegularSeasonWeeks(), teamList.size());
+        int[] roundWeeks = config.getConferenceRoundWeeks();
         for (HockeyConference c : conferences) {
-            c.insertNonConferenceSchedule();
+            c.setUpConferenceSchedule(roundWeeks);
+        }
+
+        int n = conferences.size();
+        if (n < 2) return;
+        int[] nonConfWeeks = config.getNonConferenceWeeks();
+        int slots = n + (n & 1);
+        for (int k = 0; k < nonConfWeeks.length; ++k) {
+            int r = k % (slots - 1);
+            for (int g = 0; g < slots / 2; ++g) {
+                int a = HockeyConference.circleSlot(slots, r, g);
+                int b = HockeyConference.circleSlot(slots, r, slots - 1 - g);
+                if (a >= n || b >= n) continue;
+                conferences.get(a).scheduleNonConferenceGames(conferences.get(b), nonConfWeeks[k]);
+            }
         }
     }
 
@@ -177,13 +308,15 @@ public class HockeyLeague implements Serializable {
         cupGames = new GameHockey[10];
         String line = null;
         currentWeek = 0;
+        names = NameDictionary.shared(namesCSV, lastNamesCSV);
 
-        leagueRecords = new LeagueRecords();
-        userTeamRecords = new LeagueRecords();
+        leagueRecords = new LeagueRecords(this);
+        userTeamRecords = new LeagueRecords(this);
+        createRecordBoards();
 
 
         try {
-            BufferedReader bufferedReader = new BufferedReader(new FileReader(saveFile));
+            BufferedReader bufferedReader = openTextSave(saveFile);
 
             // First line indicates year and difficulty
             line = bufferedReader.readLine();
@@ -191,10 +324,15 @@ public class HockeyLeague implements Serializable {
             if (line.substring(line.length() - 7).equals("[HARD]%")) isHardMode = true;
             else isHardMode = false;
 
-            // Next, read leagueHistory
+            // Next, read leagueHistory (only the recent window if the save has a history archive)
             leagueHistory = new ArrayList<>();
+            String[] archiveInfo = null;
             while ((line = bufferedReader.readLine()) != null && !line.equals("END_LEAGUE_HIST")) {
-                leagueHistory.add(line.split("%"));
+                if (line.startsWith("ARCHIVED%")) {
+                    archiveInfo = line.split("%");
+                } else {
+                    leagueHistory.add(line.split("%"));
+                }
             }
 
             // Next, read Hobey (Heisman) history
@@ -203,36 +341,53 @@ public class HockeyLeague implements Serializable {
                 hobeyHistory.add(line);
             }
 
+            // League shape: TEAMS,conferences,teamsPerConference,nonConferenceGames,teamCount
+            // Older saves don't have the line and are always 6 conferences of 10
+            config = LeagueConfig.DEFAULT;
+            int numTeams = 60;
+            String firstTeamLine = bufferedReader.readLine();
+            if (firstTeamLine != null && firstTeamLine.startsWith("TEAMS,")) {
+                int lastComma = firstTeamLine.lastIndexOf(',');
+                config = LeagueConfig.parse(firstTeamLine.substring("TEAMS,".length(), lastComma));
+                numTeams = Integer.parseInt(firstTeamLine.substring(lastComma + 1));
+                firstTeamLine = null;
+            }
+
             // Create conferences array, fill teams from the file
-            conferences = new ArrayList<>();
-            teamList = new ArrayList<>();
-            conferences.add(new HockeyConference("SOUTH", this));
-            conferences.add(new HockeyConference("LAKES", this));
-            conferences.add(new HockeyConference("NORTH", this));
-            conferences.add(new HockeyConference("COWBY", this));
-            conferences.add(new HockeyConference("PACIF", this));
-            conferences.add(new HockeyConference("MOUNT", this));
+            buildConferences();
+            schedule = new ScheduleTable();
+            teamList = new ArrayList<>(numTeams);
             allHockeyPlayers = new ArrayList<>();
 
-            // Build each TeamHockey from the file
-            for (int i = 0; i < 60; ++i) {
+            // Split the file into one big string per team, then build the teams from them
+            String[] teamBlocks = new String[numTeams];
+            for (int i = 0; i < numTeams; ++i) {
                 StringBuilder sbTeam = new StringBuilder();
+                if (firstTeamLine != null) {
+                    sbTeam.append(firstTeamLine);
+                    firstTeamLine = null;
+                }
                 while ((line = bufferedReader.readLine()) != null && !line.equals("END_PLAYERS")) {
                     sbTeam.append(line);
                 }
-                // Construct team from big string
-                TeamHockey t = new TeamHockey(sbTeam.toString(), this);
+                teamBlocks[i] = sbTeam.toString();
+            }
+            for (TeamHockey t : parseTeamBlocks(teamBlocks)) {
                 conferences.get(getConfNumber(t.conference)).confTeams.add(t);
                 teamList.add(t);
             }
+            assignTeamIds();
+            buildTeamIndexes();
+            // rivals are saved as abbreviations, link them now that every team is indexed
+            for (TeamHockey t : teamList) {
+                t.getRival();
+            }
 
             // User team is next
             line = bufferedReader.readLine();
-            for (TeamHockey t : teamList) {
-                if (t.name.equals(line)) {
-                    userTeam = t;
-                    userTeam.userControlled = true;
-                }
+            userTeam = teamsByName.get(line);
+            if (userTeam != null) {
+                userTeam.userControlled = true;
             }
             while ((line = bufferedReader.readLine()) != null && !line.equals("END_USER_TEAM")) {
                 userTeam.teamHistory.add(line);
@@ -246,7 +401,7 @@ public class HockeyLeague implements Serializable {
             if (!sbBless.toString().equals("NULL")) {
                 saveBless = findTeamAbbr(sbBless.toString());
                 saveBless.sortPlayers();
-                findTeamAbbr(saveBless.rivalTeam).sortPlayers();
+                saveBless.getRival().sortPlayers();
             } else {
                 saveBless = null;
             }
@@ -259,7 +414,7 @@ public class HockeyLeague implements Serializable {
             if (!sbCurse.toString().equals("NULL")) {
                 saveCurse = findTeamAbbr(sbCurse.toString());
                 saveCurse.sortPlayers();
-                findTeamAbbr(saveCurse.rivalTeam).sortPlayers();
+                saveCurse.getRival().sortPlayers();
             } else {
                 saveCurse = null;
             }
@@ -273,6 +428,11 @@ public class HockeyLeague implements Serializable {
                 }
             }
 
+            // Longest win streak, the streak itself isn't kept in this version
+            while ((line = bufferedReader.readLine()) != null && !line.equals("END_LEAGUE_WIN_STREAK")) {
+                // skip
+            }
+
             // User team records
             while ((line = bufferedReader.readLine()) != null && !line.equals("END_USER_TEAM_RECORDS")) {
                 record = line.split(",");
@@ -286,36 +446,36 @@ public class HockeyLeague implements Serializable {
                 userTeam.hallOfFame.add(line);
             }
 
+            // Home/away matrices: HOMEAWAY%confName%abbrs in slot order%hex bits
+            // Older saves don't have them, the schedule builds fresh ones
+            while ((line = bufferedReader.readLine()) != null && !line.equals("END_HOME_AWAY")) {
+                String[] homeAway = line.split("%");
+                int confNum = getConfNumber(homeAway[1]);
+                if (conferences.get(confNum).confName.equals(homeAway[1])) {
+                    conferences.get(confNum).loadHomeAway(homeAway[2].split(","), homeAway[3]);
+                }
+            }
+
             bufferedReader.close();
 
-            // Read first/last names
-            nameList = new ArrayList<>();
-            String[] namesSplit = namesCSV.split(",");
-            for (String n : namesSplit) {
-                nameList.add(n.trim());
-            }
-            lastNameList = new ArrayList<>();
-            namesSplit = lastNamesCSV.split(",");
-            for (String n : namesSplit) {
-                lastNameList.add(n.trim());
+            // Reattach the history archive, older seasons stay on disk
+            if (archiveInfo != null) {
+                reattachHistoryArchive(archiveInfo);
             }
 
+            hobeyLeaderboard = new HobeyLeaderboard();
+            gameFacts = new GameStatFacts();
+            hobeyLeaderboard.rebuild(teamList);
+
             // Update longest active streak
             updateLongestActiveWinStreak();
 
             // Set up schedule again
-            for (HockeyConference c : conferences) {
-                c.setUpConferenceSchedule();
-                c.setUpNonConferenceSchedule();
-                c.insertNonConferenceSchedule();
-            }
+            setUpSchedule();
 
             // Initialize news stories
-            newsStories = new ArrayList<>();
-            for (int i = 0; i < 16; ++i) {
-                newsStories.add(new ArrayList<String>());
-            }
-            newsStories.get(0).add("New Season!>Ready for the new hockey season? Good luck, coach!");
+            newsStories = new NewsFeed(config.getSeasonWeeks() + 1, NewsFeed.DEFAULT_CAPACITY);
+            newsStories.add(NewsStory.text(0, "New Season!", "Ready for the new hockey season? Good luck, coach!"));
 
         } catch (FileNotFoundException ex) {
             System.out.println("Unable to open file");
@@ -324,6 +484,332 @@ public class HockeyLeague implements Serializable {
         }
     }
 
+    /**
+     * Reader over a text save, inflated first if it was saved compressed.
+     */
+    private static BufferedReader openTextSave(File saveFile) throws IOException {
+        if (CompressedSave.isCompressed(saveFile)) {
+            return new BufferedReader(new InputStreamReader(
+                    new ByteArrayInputStream(CompressedSave.read(saveFile)), StandardCharsets.UTF_8));
+        }
+        return new BufferedReader(new FileReader(saveFile));
+    }
+
+    /**
+     * Parse the team blocks of a text save, spread over the common fork/join pool.
+     * A block only refers to other teams by abbreviation (rival) and the user and
+     * bless/curse teams come after the blocks, so they're linked once all teams exist.
+     * Teams come back in file order.
+     */
+    private TeamHockey[] parseTeamBlocks(String[] teamBlocks) {
+        TeamHockey[] teams = new TeamHockey[teamBlocks.length];
+        IntStream.range(0, teamBlocks.length).parallel().forEach(i -> {
+            teams[i] = new TeamHockey(teamBlocks[i], this);
+            teamBlocks[i] = null;   // big strings, let them go as soon as they're parsed
+        });
+        return teams;
+    }
+
+    /**
+     * Load a league saved by saveLeagueBinary(). Sections this version doesn't know
+     * are skipped, so newer saves still open as long as the sections below are there.
+     */
+    public HockeyLeague(File saveFile, NameDictionary names) throws IOException {
+        this(saveFile, names, false);
+    }
+
+    /**
+     * Load a binary save. With lazyRosters the file is mapped and only the league
+     * metadata, teams, records and the user team's roster are read now; every other
+     * roster stays in the mapping until something touches it (TeamHockey.ensureHydrated).
+     * Saves without an index load in full either way.
+     */
+    public HockeyLeague(File saveFile, NameDictionary names, boolean lazyRosters) throws IOException {
+        this.names = names;
+        hobeyDecided = false;
+        hasScheduledTourney = false;
+        blessDevelopingStory = false;
+        curseDevelopingStory = false;
+        cupGames = new GameHockey[10];
+        currentWeek = 0;
+        leagueRecords = new LeagueRecords(this);
+        userTeamRecords = new LeagueRecords(this);
+        createRecordBoards();
+        leagueHistory = new ArrayList<>();
+        hobeyHistory = new ArrayList<>();
+        allHockeyPlayers = new ArrayList<>();
+        schedule = new ScheduleTable();
+        config = LeagueConfig.DEFAULT;
+
+        SaveInput in = lazyRosters ? SaveInput.map(saveFile) : SaveInput.of(saveFile);
+        readSaveHeader(in, saveFile);
+        String[] archiveInfo = lazyRosters ? readIndexedSections(in) : readSections(in);
+        if (teamList == null) {
+            throw new IOException(saveFile + " has no teams section");
+        }
+        // rosters come back in the order they were saved in, no re-sort for bless/curse:
+        // WeekJournal numbers players by that order
+
+        // Reattach the history archive, same fields as the ARCHIVED% line of the text save
+        if (archiveInfo != null) {
+            reattachHistoryArchive(archiveInfo);
+        }
+
+        // deferred teams join the race when their rosters are read in
+        hobeyLeaderboard = new HobeyLeaderboard();
+        gameFacts = new GameStatFacts();
+        for (TeamHockey t : teamList) {
+            if (t.isHydrated()) hobeyLeaderboard.updateTeam(t);
+        }
+        updateLongestActiveWinStreak();
+        setUpSchedule();
+
+        newsStories = new NewsFeed(config.getSeasonWeeks() + 1, NewsFeed.DEFAULT_CAPACITY);
+        newsStories.add(NewsStory.text(0, "New Season!", "Ready for the new hockey season? Good luck, coach!"));
+    }
+
+    /**
+     * Every section in file order, rosters included. Returns the archive fields, or null.
+     */
+    private String[] readSections(SaveInput in) {
+        String[] archiveInfo = null;
+        String[] teamArchives = null;
+        int tag;
+        while ((tag = in.nextSection()) >= 0) {
+            switch (tag) {
+                case SECTION_META:
+                    readMetaSection(in);
+                    break;
+                case SECTION_HISTORY:
+                    archiveInfo = readHistorySection(in);
+                    break;
+                case SECTION_TEAMS:
+                    readTeamsSection(in);
+                    break;
+                case SECTION_PLAYERS:
+                    for (TeamHockey t : teamList) {
+                        PlayerCodec.readRosters(in, t);
+                        t.updateTalentRatings();
+                    }
+                    break;
+                case SECTION_RECORDS:
+                    leagueRecords.readBinary(in);
+                    userTeamRecords.readBinary(in);
+                    break;
+                case SECTION_TEAM_ARCHIVES:
+                    teamArchives = readTeamArchivesSection(in);
+                    break;
+                default:
+                    // the index, or a newer section; nextSection() skips it
+                    break;
+            }
+        }
+        return withTeamArchives(archiveInfo, teamArchives);
+    }
+
+    /**
+     * Seek to each section through the index instead of scanning, and leave every roster
+     * but the user team's in the file. Falls back to readSections() without an index.
+     */
+    private String[] readIndexedSections(SaveInput in) {
+        int start = in.position();
+        if (in.nextSection() != SECTION_INDEX) {
+            return readSections(in.at(start));
+        }
+        int[] sectionAt = new int[SECTION_TEAM_ARCHIVES + 1];
+        Arrays.fill(sectionAt, -1);
+        int sections = in.readFixedInt();
+        for (int i = 0; i < sections; ++i) {
+            int tag = in.readByte();
+            int at = in.readFixedInt();
+            if (tag < sectionAt.length) sectionAt[tag] = at;
+        }
+        int numTeams = in.readFixedInt();
+        int[] rosterAt = new int[numTeams];
+        int[] talent = new int[numTeams * 3];
+        for (int i = 0; i < numTeams; ++i) {
+            rosterAt[i] = in.readFixedInt();
+            talent[3 * i] = in.readFixedInt();
+            talent[3 * i + 1] = in.readFixedInt();
+            talent[3 * i + 2] = in.readFixedInt();
+        }
+
+        // meta first, the teams section needs the league shape
+        String[] archiveInfo = null;
+        if (sectionAt[SECTION_META] >= 0 && in.seekSection(sectionAt[SECTION_META]) == SECTION_META) {
+            readMetaSection(in);
+        }
+        if (sectionAt[SECTION_TEAMS] >= 0 && in.seekSection(sectionAt[SECTION_TEAMS]) == SECTION_TEAMS) {
+            readTeamsSection(in);
+        }
+        if (sectionAt[SECTION_RECORDS] >= 0 && in.seekSection(sectionAt[SECTION_RECORDS]) == SECTION_RECORDS) {
+            leagueRecords.readBinary(in);
+            userTeamRecords.readBinary(in);
+        }
+        if (sectionAt[SECTION_HISTORY] >= 0 && in.seekSection(sectionAt[SECTION_HISTORY]) == SECTION_HISTORY) {
+            archiveInfo = readHistorySection(in);
+        }
+        if (sectionAt[SECTION_TEAM_ARCHIVES] >= 0
+                && in.seekSection(sectionAt[SECTION_TEAM_ARCHIVES]) == SECTION_TEAM_ARCHIVES) {
+            archiveInfo = withTeamArchives(archiveInfo, readTeamArchivesSection(in));
+        }
+        if (teamList == null || teamList.size() != numTeams) return archiveInfo;
+
+        for (TeamHockey t : teamList) {
+            SaveInput rosters = in.at(rosterAt[t.teamId]);
+            int i = 3 * t.teamId;
+            if (t == userTeam) {
+                PlayerCodec.readRosters(rosters, t);
+                t.updateTalentRatings();
+            } else {
+                t.deferRosters(rosters, talent[i], talent[i + 1], talent[i + 2]);
+            }
+        }
+        return archiveInfo;
+    }
+
+    private void readMetaSection(SaveInput in) {
+        isHardMode = in.readBoolean();
+        config = new LeagueConfig(in.readVarInt(), in.readVarInt(), in.readVarInt(), in.readVarInt());
+    }
+
+    /**
+     * Read in every roster still left in a mapped save, teams in parallel. Anything that
+     * walks all rosters directly (playing a week, the offseason, saving) calls this first.
+     */
+    public void hydrateAll() {
+        teamList.parallelStream().forEach(TeamHockey::ensureHydrated);
+    }
+
+    /**
+     * Is this a binary save? Checks the magic bytes only, inside the container if
+     * it was saved compressed.
+     */
+    public static boolean isBinarySave(File saveFile) {
+        if (CompressedSave.isCompressed(saveFile)) {
+            try {
+                return Arrays.equals(CompressedSave.peek(saveFile, SAVE_MAGIC.length), SAVE_MAGIC);
+            } catch (IOException e) {
+                return false;
+            }
+        }
+        byte[] head = new byte[SAVE_MAGIC.length];
+        try (FileInputStream in = new FileInputStream(saveFile)) {
+            return in.read(head) == head.length && Arrays.equals(head, SAVE_MAGIC);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void readSaveHeader(SaveInput in, File saveFile) throws IOException {
+        byte[] magic = in.readBytes(SAVE_MAGIC.length);
+        if (!Arrays.equals(magic, SAVE_MAGIC)) {
+            throw new IOException(saveFile + " is not a binary save");
+        }
+        int version = in.readVarInt();
+        if (version > SAVE_VERSION) {
+            throw new IOException(saveFile + " is save version " + version + ", this build reads up to " + SAVE_VERSION);
+        }
+    }
+
+    /**
+     * League and Hobey history; returns the archive fields in ARCHIVED% line order, or null.
+     */
+    private String[] readHistorySection(SaveInput in) {
+        String[] archiveInfo = null;
+        if (in.readBoolean()) {
+            archiveInfo = new String[9];
+            archiveInfo[0] = "ARCHIVED";
+            for (int i = 1; i < archiveInfo.length; ++i) {
+                archiveInfo[i] = i == 1 || i == 6 ? in.readString() : Integer.toString(in.readVarInt());
+            }
+        }
+        int seasons = in.readVarInt();
+        leagueHistory.ensureCapacity(seasons);
+        for (int i = 0; i < seasons; ++i) {
+            String[] season = new String[in.readVarInt()];
+            for (int j = 0; j < season.length; ++j) {
+                season[j] = in.readString();
+            }
+            leagueHistory.add(season);
+        }
+        int hobeys = in.readVarInt();
+        hobeyHistory.ensureCapacity(hobeys);
+        for (int i = 0; i < hobeys; ++i) {
+            hobeyHistory.add(in.readString());
+        }
+        return archiveInfo;
+    }
+
+    /**
+     * Every team's historyKey, archivedHistory and archivedHallOfFame in teamId order,
+     * as the strings they take on the ARCHIVED% line.
+     */
+    private String[] readTeamArchivesSection(SaveInput in) {
+        String[] fields = new String[3 * in.readVarInt()];
+        for (int i = 0; i < fields.length; i += 3) {
+            fields[i] = in.readString();
+            fields[i + 1] = Integer.toString(in.readVarInt());
+            fields[i + 2] = Integer.toString(in.readVarInt());
+        }
+        return fields;
+    }
+
+    /**
+     * The history section's archive fields with the per-team ones tacked on, like the text save has them.
+     */
+    private static String[] withTeamArchives(String[] archiveInfo, String[] teamArchives) {
+        if (archiveInfo == null || teamArchives == null || teamArchives.length == 0) return archiveInfo;
+        String[] all = Arrays.copyOf(archiveInfo, archiveInfo.length + teamArchives.length);
+        System.arraycopy(teamArchives, 0, all, archiveInfo.length, teamArchives.length);
+        return all;
+    }
+
+    /**
+     * Teams in teamId order, conference home/away matrices, then the user team and
+     * bless/curse teams by teamId (-1 for none).
+     */
+    private void readTeamsSection(SaveInput in) {
+        buildConferences();
+        int numTeams = in.readVarInt();
+        teamList = new ArrayList<>(numTeams);
+        for (int i = 0; i < numTeams; ++i) {
+            TeamHockey t = new TeamHockey(in, this);
+            conferences.get(getConfNumber(t.conference)).confTeams.add(t);
+            teamList.add(t);
+        }
+        assignTeamIds();
+        buildTeamIndexes();
+
+        int numConfs = in.readVarInt();
+        for (int i = 0; i < numConfs; ++i) {
+            String confName = in.readString();
+            HomeAwayMatrix homeAway = in.readBoolean() ? HomeAwayMatrix.readBinary(in) : null;
+            HockeyConference c = confsByName.get(confName);
+            // a matrix that doesn't fit any more is rebuilt by setUpConferenceSchedule
+            if (c != null) c.homeAway = homeAway;
+        }
+
+        userTeam = teamById(in.readInt());
+        if (userTeam != null) {
+            userTeam.userControlled = true;
+        }
+        int history = in.readVarInt();
+        for (int i = 0; i < history; ++i) {
+            userTeam.teamHistory.add(in.readString());
+        }
+        int hallOfFame = in.readVarInt();
+        for (int i = 0; i < hallOfFame; ++i) {
+            userTeam.hallOfFame.add(in.readString());
+        }
+        saveBless = teamById(in.readInt());
+        saveCurse = teamById(in.readInt());
+    }
+
+    private TeamHockey teamById(int id) {
+        return getTeamById(id);
+    }
+
     /**
      * Difficulty check: Hard Mode?
      */
@@ -332,70 +818,42 @@ public class HockeyLeague implements Serializable {
     }
 
     /**
-     * Get index 0-5 for the conference name.
+     * Get the conference index for a conference name, 0 if there's no such conference.
      */
     public int getConfNumber(String conf) {
-        if (conf.equals("SOUTH")) return 0;
-        if (conf.equals("LAKES")) return 1;
-        if (conf.equals("NORTH")) return 2;
-        if (conf.equals("COWBY")) return 3;
-        if (conf.equals("PACIF")) return 4;
-        if (conf.equals("MOUNT")) return 5;
-        return 0;
+        HockeyConference c = conf != null ? confsByName.get(conf) : null;
+        return c != null ? c.confIndex : 0;
     }
 
     /**
-     * Plays one week (1-14). If at end, schedule “cup” games, or play them, etc.
+     * Plays one week. After the regular season come the conference championships
+     * (cups and bracket scheduled), then the cups and one tournament round per week
+     * up to the final; see LeagueConfig.
      */
     public void playWeek() {
-        if (currentWeek <= 12) {
+        hydrateAll();
+        if (currentWeek <= config.getConfChampionshipWeek()) {
             for (int i = 0; i < conferences.size(); ++i) {
                 conferences.get(i).playOneWeek();
             }
         }
 
-        if (currentWeek == 12) {
+        if (currentWeek == config.getConfChampionshipWeek()) {
             for (int i = 0; i < teamList.size(); ++i) {
                 teamList.get(i).updatePollScore();
             }
             Collections.sort(teamList, new TeamCompPoll());
             schedCupGames();
-        } else if (currentWeek == 13) {
-            ArrayList<Player> hobeys = getHobeyBaker();
-            hobeyHistory.add(
-                    hobeys.get(0).position + " " + hobeys.get(0).getInitialName() + " [" + hobeys.get(0).getYrStr() + "], " +
-                            hobeys.get(0).team.abbr + " (" + hobeys.get(0).team.wins + "-" + hobeys.get(0).team.losses + ")"
-            );
-            playCupGames();
-        } else if (currentWeek == 14) {
-            champGame.playGame();
-            if (champGame.homeScore > champGame.awayScore) {
-                champGame.homeTeam.semiFinalWL = "";
-                champGame.awayTeam.semiFinalWL = "";
-                champGame.homeTeam.natChampWL = "NCW";
-                champGame.awayTeam.natChampWL = "NCL";
-                champGame.homeTeam.totalNCs++;
-                champGame.awayTeam.totalNCLosses++;
-                newsStories.get(15).add(
-                        champGame.homeTeam.name + " wins the Hockey Championship!>" +
-                                champGame.homeTeam.strRep() + " defeats " + champGame.awayTeam.strRep() +
-                                " in the final " + champGame.homeScore + " to " + champGame.awayScore + "." +
-                                " Congratulations " + champGame.homeTeam.name + "!"
-                );
-            } else {
-                champGame.homeTeam.semiFinalWL = "";
-                champGame.awayTeam.semiFinalWL = "";
-                champGame.awayTeam.natChampWL = "NCW";
-                champGame.homeTeam.natChampWL = "NCL";
-                champGame.awayTeam.totalNCs++;
-                champGame.homeTeam.totalNCLosses++;
-                newsStories.get(15).add(
-                        champGame.awayTeam.name + " wins the Hockey Championship!>" +
-                                champGame.awayTeam.strRep() + " defeats " + champGame.homeTeam.strRep() +
-                                " in the final " + champGame.awayScore + " to " + champGame.homeScore + "." +
-                                " Congratulations " + champGame.awayTeam.name + "!"
+        } else if (currentWeek >= config.getCupWeek() && currentWeek <= config.getFinalWeek()) {
+            if (currentWeek == config.getCupWeek()) {
+                ArrayList<Player> hobeys = getHobeyBaker();
+                hobeyHistory.add(
+                        hobeys.get(0).position + " " + hobeys.get(0).getInitialName() + " [" + hobeys.get(0).getYrStr() + "], " +
+                                hobeys.get(0).team.abbr + " (" + hobeys.get(0).team.wins + "-" + hobeys.get(0).team.losses + ")"
                 );
+                playCupGames();
             }
+            playTournamentRound();
         }
 
         // Re-rank, check streaks, possibly handle developing stories
@@ -408,7 +866,8 @@ public class HockeyLeague implements Serializable {
     }
 
     /**
-     * Schedules the “cup” games (was bowl games), including the 1v4 and 2v3 semifinals.
+     * Schedules the “cup” games (was bowl games) and the first round of the
+     * tournament, seeded by the final poll.
      */
     public void schedCupGames() {
         for (int i = 0; i < teamList.size(); ++i) {
@@ -416,167 +875,151 @@ public class HockeyLeague implements Serializable {
         }
         Collections.sort(teamList, new TeamCompPoll());
 
-        // Semifinals
-        semiGH14 = new GameHockey(teamList.get(0), teamList.get(3), "Semis, 1v4");
-        teamList.get(0).gameSchedule.add(semiGH14);
-        teamList.get(3).gameSchedule.add(semiGH14);
-
-        semiGH23 = new GameHockey(teamList.get(1), teamList.get(2), "Semis, 2v3");
-        teamList.get(1).gameSchedule.add(semiGH23);
-        teamList.get(2).gameSchedule.add(semiGH23);
-
-        // other 10 “cups”
-        cupGames[0] = new GameHockey(teamList.get(4), teamList.get(6), cupNames[0]);
-        teamList.get(4).gameSchedule.add(cupGames[0]);
-        teamList.get(6).gameSchedule.add(cupGames[0]);
-
-        cupGames[1] = new GameHockey(teamList.get(5), teamList.get(7), cupNames[1]);
-        teamList.get(5).gameSchedule.add(cupGames[1]);
-        teamList.get(7).gameSchedule.add(cupGames[1]);
-
-        cupGames[2] = new GameHockey(teamList.get(8), teamList.get(14), cupNames[2]);
-        teamList.get(8).gameSchedule.add(cupGames[2]);
-        teamList.get(14).gameSchedule.add(cupGames[2]);
-
-        cupGames[3] = new GameHockey(teamList.get(9), teamList.get(15), cupNames[3]);
-        teamList.get(9).gameSchedule.add(cupGames[3]);
-        teamList.get(15).gameSchedule.add(cupGames[3]);
-
-        cupGames[4] = new GameHockey(teamList.get(10), teamList.get(11), cupNames[4]);
-        teamList.get(10).gameSchedule.add(cupGames[4]);
-        teamList.get(11).gameSchedule.add(cupGames[4]);
-
-        cupGames[5] = new GameHockey(teamList.get(12), teamList.get(13), cupNames[5]);
-        teamList.get(12).gameSchedule.add(cupGames[5]);
-        teamList.get(13).gameSchedule.add(cupGames[5]);
-
-        cupGames[6] = new GameHockey(teamList.get(16), teamList.get(20), cupNames[6]);
-        teamList.get(16).gameSchedule.add(cupGames[6]);
-        teamList.get(20).gameSchedule.add(cupGames[6]);
-
-        cupGames[7] = new GameHockey(teamList.get(17), teamList.get(21), cupNames[7]);
-        teamList.get(17).gameSchedule.add(cupGames[7]);
-        teamList.get(21).gameSchedule.add(cupGames[7]);
-
-        cupGames[8] = new GameHockey(teamList.get(18), teamList.get(22), cupNames[8]);
-        teamList.get(18).gameSchedule.add(cupGames[8]);
-        teamList.get(22).gameSchedule.add(cupGames[8]);
-
-        cupGames[9] = new GameHockey(teamList.get(19), teamList.get(23), cupNames[9]);
-        teamList.get(19).gameSchedule.add(cupGames[9]);
-        teamList.get(23).gameSchedule.add(cupGames[9]);
+        semiGH14 = null;
+        semiGH23 = null;
+        champGame = null;
+        tournament = new Bracket("Hockey Championship", teamList.subList(0, config.tournamentTeams));
+        scheduleTournamentRound(config.getCupWeek());
+
+        // other 10 “cups”, for the teams right behind the tournament field
+        int offset = config.tournamentTeams - 4;
+        for (int i = 0; i < cupGames.length; ++i) {
+            int[] pair = CUP_PAIRINGS[i];
+            if (pair[1] + offset >= teamList.size()) {
+                cupGames[i] = null;
+                continue;
+            }
+            TeamHockey home = teamList.get(pair[0] + offset);
+            TeamHockey away = teamList.get(pair[1] + offset);
+            cupGames[i] = new GameHockey(home, away, GameType.CUP, cupNames[i]);
+            schedule.addGame(config.getCupWeek(), cupGames[i]);
+        }
 
         hasScheduledTourney = true;
     }
 
     /**
-     * Plays all the “cup” games + semis, setting up the final.
+     * Put the tournament's next round on the schedule. Keeps semiGH14/semiGH23 and
+     * champGame pointing at the semis and the final when those come up.
+     */
+    private void scheduleTournamentRound(int week) {
+        int round = tournament.getCurrentRound();
+        ArrayList<GameHockey> games = tournament.scheduleRound();
+        for (GameHockey g : games) {
+            schedule.addGame(week, g);
+        }
+        if (tournament.isFinalRound(round)) {
+            champGame = games.get(0);
+        } else if (tournament.isFinalRound(round + 1)) {
+            // bracket order: 1v4 first, a 3-team field has only 2v3
+            semiGH14 = games.size() == 2 ? games.get(0) : null;
+            semiGH23 = games.get(games.size() - 1);
+        }
+    }
+
+    /**
+     * Plays the cup games, all at once.
      */
     public void playCupGames() {
-        // First, the 10 cup games
+        ArrayList<GameHockey> cups = new ArrayList<>(cupGames.length);
         for (GameHockey g : cupGames) {
-            playCupGame(g);
-        }
-
-        // Semis
-        semiGH14.playGame();
-        semiGH23.playGame();
-        TeamHockey semi14winner;
-        TeamHockey semi23winner;
-
-        if (semiGH14.homeScore > semiGH14.awayScore) {
-            semiGH14.homeTeam.semiFinalWL = "SFW";
-            semiGH14.awayTeam.semiFinalWL = "SFL";
-            semiGH14.awayTeam.totalCupLosses++;
-            semiGH14.homeTeam.totalCups++;
-            semi14winner = semiGH14.homeTeam;
-            newsStories.get(14).add(
-                    semiGH14.homeTeam.name + " wins the " + semiGH14.gameName + "!>" +
-                            semiGH14.homeTeam.strRep() + " defeats " + semiGH14.awayTeam.strRep() +
-                            ", " + semiGH14.homeScore + " to " + semiGH14.awayScore + ". " +
-                            semiGH14.homeTeam.name + " advances to the Championship!"
-            );
-        } else {
-            semiGH14.homeTeam.semiFinalWL = "SFL";
-            semiGH14.awayTeam.semiFinalWL = "SFW";
-            semiGH14.homeTeam.totalCupLosses++;
-            semiGH14.awayTeam.totalCups++;
-            semi14winner = semiGH14.awayTeam;
-            newsStories.get(14).add(
-                    semiGH14.awayTeam.name + " wins the " + semiGH14.gameName + "!>" +
-                            semiGH14.awayTeam.strRep() + " defeats " + semiGH14.homeTeam.strRep() +
-                            ", " + semiGH14.awayScore + " to " + semiGH14.homeScore + ". " +
-                            semiGH14.awayTeam.name + " advances to the Championship!"
-            );
-        }
-
-        if (semiGH23.homeScore > semiGH23.awayScore) {
-            semiGH23.homeTeam.semiFinalWL = "SFW";
-            semiGH23.awayTeam.semiFinalWL = "SFL";
-            semiGH23.homeTeam.totalCups++;
-            semiGH23.awayTeam.totalCupLosses++;
-            semi23winner = semiGH23.homeTeam;
-            newsStories.get(14).add(
-                    semiGH23.homeTeam.name + " wins the " + semiGH23.gameName + "!>" +
-                            semiGH23.homeTeam.strRep() + " defeats " + semiGH23.awayTeam.strRep() +
-                            ", " + semiGH23.homeScore + " to " + semiGH23.awayScore + ". " +
-                            semiGH23.homeTeam.name + " advances to the Championship!"
-            );
-        } else {
-            semiGH23.homeTeam.semiFinalWL = "SFL";
-            semiGH23.awayTeam.semiFinalWL = "SFW";
-            semiGH23.awayTeam.totalCups++;
-            semiGH23.homeTeam.totalCupLosses++;
-            semi23winner = semiGH23.awayTeam;
-            newsStories.get(14).add(
-                    semiGH23.awayTeam.name + " wins the " + semiGH23.gameName + "!>" +
-                            semiGH23.awayTeam.strRep() + " defeats " + semiGH23.homeTeam.strRep() +
-                            ", " + semiGH23.awayScore + " to " + semiGH23.homeScore + ". " +
-                            semiGH23.awayTeam.name + " advances to the Championship!"
-            );
+            if (g != null) cups.add(g);
         }
+        // every cup has its own two teams
+        cups.parallelStream().forEach(GameHockey::playGame);
+        for (GameHockey g : cups) {
+            recordCupGame(g);
+        }
+    }
 
-        // The final Championship game
-        champGame = new GameHockey(semi14winner, semi23winner, "Hockey Championship");
-        semi14winner.gameSchedule.add(champGame);
-        semi23winner.gameSchedule.add(champGame);
+    /**
+     * Plays this week's tournament round, records it and schedules the next one.
+     */
+    public void playTournamentRound() {
+        if (tournament == null || tournament.isFinished()) return;
+        int round = tournament.getCurrentRound();
+        for (GameHockey g : tournament.playRound(true)) {
+            if (tournament.isFinalRound(round)) {
+                recordNationalChampionship(g);
+            } else {
+                recordTournamentGame(g, round);
+            }
+        }
+        if (!tournament.isFinished()) scheduleTournamentRound(currentWeek + 1);
     }
 
     /**
-     * Plays a single “cup” game.
+     * Books a cup result.
      */
-    private void playCupGame(GameHockey g) {
-        g.playGame();
+    private void recordCupGame(GameHockey g) {
         if (g.homeScore > g.awayScore) {
             g.homeTeam.semiFinalWL = "BW";
             g.awayTeam.semiFinalWL = "BL";
             g.homeTeam.totalCups++;
             g.awayTeam.totalCupLosses++;
-            newsStories.get(14).add(
-                    g.homeTeam.name + " wins the " + g.gameName + "!>" +
-                            g.homeTeam.strRep() + " defeats " + g.awayTeam.strRep() +
-                            ", " + g.homeScore + " to " + g.awayScore + "."
-            );
+            newsStories.add(NewsStory.cupWin(currentWeek + 1, g.gameName, g.homeTeam, g.awayTeam,
+                    g.homeScore, g.awayScore));
         } else {
             g.homeTeam.semiFinalWL = "BL";
             g.awayTeam.semiFinalWL = "BW";
             g.homeTeam.totalCupLosses++;
             g.awayTeam.totalCups++;
-            newsStories.get(14).add(
-                    g.awayTeam.name + " wins the " + g.gameName + "!>" +
-                            g.awayTeam.strRep() + " defeats " + g.homeTeam.strRep() +
-                            ", " + g.awayScore + " to " + g.homeScore + "."
-            );
+            newsStories.add(NewsStory.cupWin(currentWeek + 1, g.gameName, g.awayTeam, g.homeTeam,
+                    g.awayScore, g.homeScore));
+        }
+    }
+
+    /**
+     * Books a tournament game before the final: "SFW"/"SFL" for the semis,
+     * "QFW"/"QFL" for the quarters, "R16W"/"R16L" and so on for earlier rounds.
+     */
+    private void recordTournamentGame(GameHockey g, int round) {
+        boolean homeWon = g.homeScore > g.awayScore;
+        TeamHockey winner = homeWon ? g.homeTeam : g.awayTeam;
+        TeamHockey loser = homeWon ? g.awayTeam : g.homeTeam;
+        int winScore = homeWon ? g.homeScore : g.awayScore;
+        int loseScore = homeWon ? g.awayScore : g.homeScore;
+
+        boolean semis = tournament.isFinalRound(round + 1);
+        String roundName = tournament.getRoundName(round);
+        String tag = semis ? "SF" : roundName.equals("Quarterfinals") ? "QF" : "R" + roundName.substring("Round of ".length());
+        winner.semiFinalWL = tag + "W";
+        loser.semiFinalWL = tag + "L";
+        winner.totalCups++;
+        loser.totalCupLosses++;
+        if (semis) {
+            newsStories.add(NewsStory.semifinalWin(currentWeek + 1, g.gameName, winner, loser, winScore, loseScore));
+        } else {
+            newsStories.add(NewsStory.tournamentWin(currentWeek + 1, g.gameName, winner, loser, winScore, loseScore));
         }
     }
 
+    /**
+     * Books the final.
+     */
+    private void recordNationalChampionship(GameHockey g) {
+        boolean homeWon = g.homeScore > g.awayScore;
+        TeamHockey winner = homeWon ? g.homeTeam : g.awayTeam;
+        TeamHockey loser = homeWon ? g.awayTeam : g.homeTeam;
+        winner.semiFinalWL = "";
+        loser.semiFinalWL = "";
+        winner.natChampWL = "NCW";
+        loser.natChampWL = "NCL";
+        winner.totalNCs++;
+        loser.totalNCLosses++;
+        winner.invalidatePollScore();
+        loser.invalidatePollScore();
+        newsStories.add(NewsStory.nationalChampionship(currentWeek + 1, winner, loser,
+                homeWon ? g.homeScore : g.awayScore, homeWon ? g.awayScore : g.homeScore));
+    }
+
     /**
      * Update the league history top-10 teams at the end of the year.
      */
     public void updateLeagueHistory() {
         Collections.sort(teamList, new TeamCompPoll());
-        String[] yearTop10 = new String[10];
-        for (int i = 0; i < 10; ++i) {
+        String[] yearTop10 = new String[Math.min(10, teamList.size())];
+        for (int i = 0; i < yearTop10.length; ++i) {
             TeamHockey tt = teamList.get(i);
             yearTop10[i] = tt.abbr + " (" + tt.wins + "-" + tt.losses + ")";
         }
@@ -585,49 +1028,149 @@ public class HockeyLeague implements Serializable {
 
     /**
      * Advance the league season. Reset weeks, handle blessing/curse, etc.
+     * The rollover itself runs as an OffseasonPipeline, teams in parallel within each stage.
      */
     public void advanceSeason() {
+        hydrateAll();
         currentWeek = 0;
-        for (int t = 0; t < teamList.size(); ++t) {
-            teamList.get(t).advanceSeason();
-        }
+        // last season's stories would otherwise show up under this season's weeks
+        newsStories.clear();
+        newsStories.add(NewsStory.text(0, "New Season!", "Ready for the new hockey season? Good luck, coach!"));
+
+        new OffseasonPipeline(this).run();
 
-        // Bless a random team
-        int blessNumber = (int) (Math.random() * 9);
-        TeamHockey blessTeam = teamList.get(50 + blessNumber);
+        hasScheduledTourney = false;
+        hobeyLeaderboard.rebuild(teamList);
+        gameFacts.clear();
+        archiveHistory();
+    }
+
+    /**
+     * Offseason storylines: bless a small program, curse a top one, roll over win streaks.
+     * Runs once all teams have recruited, with teamList still in final poll order.
+     */
+    public void applyOffseasonStorylines() {
+        // Bless a random team from the bottom of the poll (51st-59th of 60)
+        int numTeams = teamList.size();
+        int blessNumber = (int) (Math.random() * Math.max(1, numTeams * 3 / 20));
+        TeamHockey blessTeam = teamList.get(Math.min(numTeams - 1, numTeams * 5 / 6 + blessNumber));
         if (!blessTeam.userControlled && !blessTeam.name.equals("American Samoa")) {
             blessTeam.teamPrestige += 35;
             saveBless = blessTeam;
             if (blessTeam.teamPrestige > 90) blessTeam.teamPrestige = 90;
+            blessTeam.invalidatePollScore();
         } else saveBless = null;
 
-        // Curse a good team
-        int curseNumber = (int) (Math.random() * 7);
-        TeamHockey curseTeam = teamList.get(3 + curseNumber);
+        // Curse a good team, just outside the top (4th-10th of 60)
+        int curseNumber = (int) (Math.random() * Math.max(1, numTeams * 7 / 60));
+        TeamHockey curseTeam = teamList.get(Math.min(numTeams - 1, numTeams / 20 + curseNumber));
         if (!curseTeam.userControlled && curseTeam.teamPrestige > 85) {
             curseTeam.teamPrestige -= 25;
             saveCurse = curseTeam;
+            curseTeam.invalidatePollScore();
         } else saveCurse = null;
 
         advanceSeasonWinStreaks();
-        for (HockeyConference c : conferences) {
-            c.roundRobinWeek = 0;
-            c.currentWeek = 0;
+    }
+
+    /**
+     * Archive state from a save: the ARCHIVED% fields
+     * dir%segmentSize%window%archivedSeasons%archivedHobeys%userHistoryKey%userArchivedHistory%userArchivedHoF
+     * then historyKey%archivedHistory%archivedHoF for every team in teamId order. Saves from
+     * before the per-team fields only have the user team's; everyone else's count is unknown
+     * (-1), and sync() leaves their archives as they are on disk.
+     */
+    private void reattachHistoryArchive(String[] archiveInfo) throws IOException {
+        archivedSeasons = Integer.parseInt(archiveInfo[4]);
+        archivedHobeys = Integer.parseInt(archiveInfo[5]);
+        boolean perTeam = archiveInfo.length >= 9 + 3 * teamList.size();
+        for (TeamHockey t : teamList) {
+            if (perTeam) {
+                int i = 9 + 3 * t.teamId;
+                t.historyKey = archiveInfo[i];
+                t.archivedHistory = Integer.parseInt(archiveInfo[i + 1]);
+                t.archivedHallOfFame = Integer.parseInt(archiveInfo[i + 2]);
+            } else if (t != userTeam) {
+                t.archivedHistory = -1;
+                t.archivedHallOfFame = -1;
+            }
         }
+        userTeam.historyKey = archiveInfo[6];
+        userTeam.archivedHistory = Integer.parseInt(archiveInfo[7]);
+        userTeam.archivedHallOfFame = Integer.parseInt(archiveInfo[8]);
+        enableHistoryArchive(new File(archiveInfo[1]), Integer.parseInt(archiveInfo[2]),
+                Integer.parseInt(archiveInfo[3]));
+    }
 
-        for (HockeyConference c : conferences) {
-            c.setUpConferenceSchedule();
-            c.setUpNonConferenceSchedule();
-            c.insertNonConferenceSchedule();
+    /**
+     * Turn on the segmented history archive: league top 10s, Hobey winners and every
+     * team's history/Hall of Fame go to dir, segmentSize seasons per file, and only the
+     * last window seasons are kept in memory and in the save file.
+     */
+    public void enableHistoryArchive(File dir, int segmentSize, int window) throws IOException {
+        historyDir = dir;
+        historySegmentSize = segmentSize;
+        historyWindow = window;
+        leagueHistoryArchive = new HistoryArchive(dir, "league", segmentSize, window);
+        hobeyHistoryArchive = new HistoryArchive(dir, "hobey", segmentSize, window);
+        for (TeamHockey t : teamList) {
+            t.openHistoryArchive(dir, segmentSize, window);
         }
+        archiveHistory();
+    }
 
-        hasScheduledTourney = false;
+    /**
+     * Move finished seasons out to the archive, keeping the in-memory window.
+     * Called at the end of every offseason; does nothing if archiving is off.
+     */
+    public void archiveHistory() {
+        if (leagueHistoryArchive == null) return;
+        try {
+            archivedSeasons = leagueHistoryArchive.sync(leagueHistory, archivedSeasons, HockeyLeague::joinHistoryYear);
+            archivedHobeys = hobeyHistoryArchive.sync(hobeyHistory, archivedHobeys, s -> s);
+        } catch (IOException ex) {
+            System.out.println("Unable to archive league history");
+        }
+        for (TeamHockey t : teamList) {
+            t.archiveHistory();
+        }
+    }
+
+    /**
+     * Number of finished seasons, archived + in memory.
+     */
+    public int getSeasonCount() {
+        return archivedSeasons + leagueHistory.size();
+    }
+
+    /**
+     * Top 10s for seasons [start, start+count), oldest first. Season 0 is 2016.
+     */
+    public ArrayList<String[]> getLeagueHistoryPage(int start, int count) {
+        return HistoryArchive.page(leagueHistoryArchive, archivedSeasons, leagueHistory, start, count,
+                s -> s.split("%"));
+    }
+
+    /**
+     * Hobey Baker winners for seasons [start, start+count), oldest first.
+     */
+    public ArrayList<String> getHobeyHistoryPage(int start, int count) {
+        return HistoryArchive.page(hobeyHistoryArchive, archivedHobeys, hobeyHistory, start, count, s -> s);
+    }
+
+    private static String joinHistoryYear(String[] yr) {
+        StringBuilder sb = new StringBuilder();
+        for (String s : yr) {
+            sb.append(s).append("%");
+        }
+        return sb.toString();
     }
 
 
 
     /**
      * Changes abbr in league records and histories.
+     * Only the in-memory window is rewritten; archived seasons keep the abbr of their day.
      */
     public void changeAbbrHistoryRecords(String oldAbbr, String newAbbr) {
         leagueRecords.changeAbbrRecords(userTeam.abbr, newAbbr);
@@ -660,16 +1203,44 @@ public class HockeyLeague implements Serializable {
      */
     public void checkLeagueRecords() {
         for (TeamHockey t : teamList) {
-            t.checkLeagueRecords(leagueRecords);
+            t.checkLeagueRecords(recordBoard);
         }
-        userTeam.checkLeagueRecords(userTeamRecords);
+        userTeam.checkLeagueRecords(userRecordBoard);
     }
 
     /**
-     * Current year, starting from 2016 + size of leagueHistory.
+     * Season and career record checks for both teams once a game is done.
+     * Safe to call from games played in parallel.
+     */
+    public void checkGameRecords(GameHockey g) {
+        recordBoard.postTeam(g.homeTeam);
+        recordBoard.postTeam(g.awayTeam);
+        if (g.homeTeam == userTeam) userRecordBoard.postTeam(g.homeTeam);
+        if (g.awayTeam == userTeam) userRecordBoard.postTeam(g.awayTeam);
+    }
+
+    private void createRecordBoards() {
+        recordBoard = new RecordBoard(this, leagueRecords);
+        userRecordBoard = new RecordBoard(this, userTeamRecords);
+        recordBoard.addListener(this::recordBrokenNews);
+    }
+
+    /**
+     * A news story when a league record changes hands. Not for a first mark (nobody held
+     * it yet) or a holder adding to their own record, or every goal would be news.
+     */
+    private void recordBrokenNews(RecordBoard.RecordBreak b) {
+        if (!b.newHolder || b.oldNumber == b.type.initialValue()) return;
+        newsStories.add(NewsStory.text(currentWeek + 1, b.getHolder() + " breaks the " + b.type.label + " record!",
+                b.getHolder() + " now holds the league record for " + b.type.label + " with " + b.number +
+                ", passing the old mark of " + b.oldNumber + " set by " + b.oldHolder + "."));
+    }
+
+    /**
+     * Current year, starting from 2016 + number of finished seasons.
      */
     public int getYear() {
-        return 2016 + leagueHistory.size();
+        return 2016 + getSeasonCount();
     }
 
 
@@ -682,6 +1253,13 @@ public class HockeyLeague implements Serializable {
         }
     }
 
+    /**
+     * Expire every team's cached poll score (results or poll ranks changed).
+     */
+    public synchronized void invalidatePollScores() {
+        pollScoreEpoch++;
+    }
+
     /**
      * Re-calc OffTalent/DefTalent for each team.
      */
@@ -695,15 +1273,29 @@ public class HockeyLeague implements Serializable {
      * Gets a random player name from CSV lists.
      */
     public String getRandName() {
+        return getNameStr(getRandNameIdx());
+    }
+
+    /**
+     * Random name as a packed NameDictionary index; the rare donation name
+     * is encoded as -2 - its index in donationNames.
+     */
+    public int getRandNameIdx() {
         if (Math.random() > 0.0025) {
-            int fn = (int) (Math.random() * nameList.size());
-            int ln = (int) (Math.random() * lastNameList.size());
-            return nameList.get(fn) + " " + lastNameList.get(ln);
+            return names.randomIndex();
         } else {
-            return donationNames[(int) (Math.random() * donationNames.length)];
+            return -2 - (int) (Math.random() * donationNames.length);
         }
     }
 
+    /**
+     * Full name for an index from getRandNameIdx().
+     */
+    public String getNameStr(int nameIdx) {
+        if (nameIdx >= 0) return names.fullName(nameIdx);
+        return donationNames[-2 - nameIdx];
+    }
+
     /**
      * Sets “poll rank” etc. for each team, exactly as original.
      */
@@ -713,9 +1305,13 @@ public class HockeyLeague implements Serializable {
             t.updatePollScore();
         }
         Collections.sort(teamList, new TeamCompPoll());
+        boolean pollRanksChanged = false;
         for (int i = 0; i < teamList.size(); i++) {
+            if (teamList.get(i).rankTeamPollScore != i + 1) pollRanksChanged = true;
             teamList.get(i).rankTeamPollScore = i + 1;
         }
+        // strength of wins depends on opponents' ranks
+        if (pollRanksChanged) invalidatePollScores();
 
         Collections.sort(teamList, new TeamCompSoW());
         for (int i = 0; i < teamList.size(); i++) {
@@ -752,44 +1348,14 @@ public class HockeyLeague implements Serializable {
 
     /**
      * Calculates who wins the Hobey Baker Award (similar to getHeisman()).
+     * Reads the running leaderboard instead of rescanning and sorting every player.
      */
     public ArrayList<Player> getHobeyBaker() {
-        hobeyBaker = null;
-        int hobeyScore = 0;
-        int tempScore = 0;
-        ArrayList<Player> hobeyCandidates = new ArrayList<>();
-
-        // Example scanning for “hockey positions” just as in your football code
-        for (TeamHockey team : teamList) {
-            for (PlayerC c : team.teamCenters) {
-                hobeyCandidates.add(c);
-                tempScore = c.getHeismanScore() + team.wins * 100; // keep same formula
-                if (tempScore > hobeyScore) {
-                    hobeyBaker = c;
-                    hobeyScore = tempScore;
-                }
-            }
-            for (PlayerLW lw : team.teamLWs) {
-                hobeyCandidates.add(lw);
-                tempScore = lw.getHeismanScore() + team.wins * 100;
-                if (tempScore > hobeyScore) {
-                    hobeyBaker = lw;
-                    hobeyScore = tempScore;
-                }
-            }
-            for (PlayerRW rw : team.teamRWs) {
-                hobeyCandidates.add(rw);
-                tempScore = rw.getHeismanScore() + team.wins * 100;
-                if (tempScore > hobeyScore) {
-                    hobeyBaker = rw;
-                    hobeyScore = tempScore;
-                }
-            }
-            // etc. for D, G, if you keep the same approach
+        if (hobeyLeaderboard.size() == 0) {
+            hobeyLeaderboard.rebuild(teamList);
         }
-
-        // sort them by “Hobey Score”
-        Collections.sort(hobeyCandidates, new PlayerHeismanComp());
+        ArrayList<Player> hobeyCandidates = hobeyLeaderboard.getTop(HOBEY_CANDIDATES);
+        hobeyBaker = hobeyCandidates.isEmpty() ? null : hobeyCandidates.get(0);
         return hobeyCandidates;
     }
 
@@ -802,10 +1368,10 @@ public class HockeyLeague implements Serializable {
         } else {
             ArrayList<Player> cand = getHobeyBaker();
             String hobeyTop5 = "";
-            for (int i = 0; i < 5; ++i) {
+            for (int i = 0; i < 5 && i < cand.size(); ++i) {
                 Player p = cand.get(i);
                 hobeyTop5 += (i + 1) + ". " + p.team.abbr + "(" + p.team.wins + "-" + p.team.losses + ") - ";
-                hobeyTop5 += p.position + " " + p.name + " [" + p.getYrStr() + "]\n";
+                hobeyTop5 += p.position + " " + p.getName() + " [" + p.getYrStr() + "]\n";
                 // The original code included stats from QB/RB/WR. Adapt as needed for hockey stats.
                 hobeyTop5 += "\n";
             }
@@ -826,7 +1392,7 @@ public class HockeyLeague implements Serializable {
             putNewsStory = true;
 
             String hobeyTop5 = "\n";
-            for (int i = 0; i < 5; ++i) {
+            for (int i = 0; i < 5 && i < hobeyCandidates.size(); ++i) {
                 Player p = hobeyCandidates.get(i);
                 hobeyTop5 += (i + 1) + ". " + p.team.abbr + "(" + p.team.wins + "-" + p.team.losses + ") - ";
                 hobeyTop5 += p.position + " " + p.getInitialName() + ": " + p.getHeismanScore() + " votes\n";
@@ -834,14 +1400,14 @@ public class HockeyLeague implements Serializable {
             }
             // A final summary
             String hobeyWinnerStr = "Congratulations to the Hobey Baker winner, " +
-                    hobeyBaker.team.abbr + " " + hobeyBaker.position + " " + hobeyBaker.name + " [" +
+                    hobeyBaker.team.abbr + " " + hobeyBaker.position + " " + hobeyBaker.getName() + " [" +
                     hobeyBaker.getYrStr() + "], leading " + hobeyBaker.team.name +
                     " to a (" + hobeyBaker.team.wins + "-" + hobeyBaker.team.losses + ") record.\n\n";
 
             hobeyWinnerStrFull = hobeyWinnerStr + "Full Results:" + hobeyTop5;
 
             if (putNewsStory) {
-                newsStories.get(13).add(hobeyBaker.name + " wins the Hobey Baker!>" + hobeyWinnerStr);
+                newsStories.add(NewsStory.text(config.getCupWeek(), hobeyBaker.getName() + " wins the Hobey Baker!", hobeyWinnerStr));
             }
             return hobeyWinnerStrFull;
         } else {
@@ -858,35 +1424,21 @@ public class HockeyLeague implements Serializable {
 
     /**
      * Get the All-Hockey players (was getAllAmericanStr in football).
+     * League-wide first team: 3 forwards, 2 defensemen, 1 goalie by Hobey score.
      */
     public String getAllHockeyStr() {
         if (allHockeyPlayers.isEmpty()) {
-            // The original code took top QBs, RBs, etc. from each conference. 
-            // We keep the same structure but rename them to hockey positions.
-
-            ArrayList<PlayerC> cs = new ArrayList<>();
-            ArrayList<PlayerLW> lws = new ArrayList<>();
-            ArrayList<PlayerRW> rws = new ArrayList<>();
-            ArrayList<PlayerG> gs = new ArrayList<>();
-            // If you had other positions (LD, RD, etc.), you'd gather them too.
-
-            for (HockeyConference c : conferences) {
-                c.getAllConfPlayers(); // That method is also renamed to gather allConf hockey players
-                // Suppose index 0 is a C, 1 is LW, 2 is RW, 3 is G, etc. This is up to you.
-                // For demonstration, assume the first few are C, LW, RW. You’d adjust as needed.
+            allHockeyPlayers = HockeyConference.pickAllStarTeam(teamList);
+            for (Player p : allHockeyPlayers) {
+                p.wonAllHockey = true;
             }
-
-            // Then sort them and pick the “best” if you want 1C, 2LW, 2RW, 2D, 1G, etc.
-            // We'll skip the full detail for brevity. The logic is exactly the same as the original.
-
-            // Suppose we just add them in. We store them in allHockeyPlayers.
         }
 
         // Build the string
         StringBuilder sb = new StringBuilder();
         for (Player p : allHockeyPlayers) {
             sb.append(p.team.abbr + "(" + p.team.wins + "-" + p.team.losses + ") - " + p.position + " " +
-                    p.name + " [" + p.getYrStr() + "]\n");
+                    p.getName() + " [" + p.getYrStr() + "]\n");
             // plus any stats you want to show
             sb.append(" \tOverall: " + p.ratOvr + ", Potential: " + p.getLetterGrade(p.ratPot) + "\n\n>");
         }
@@ -907,10 +1459,10 @@ public class HockeyLeague implements Serializable {
     public String getAllConfStr(int confNum) {
         // Exactly as in football, but referencing hockey positions. 
         // We rename c.getAllConfPlayers() → c.getAllConfPlayers() for hockey, etc.
-        ArrayList<Player> allConfPlayers = conferences.get(confNum).getAllConfPlayers();
+        ArrayList<Player> allConfPlayers = conferences.get(confNum).getAllConferencePlayers();
         StringBuilder sb = new StringBuilder();
         for (Player p : allConfPlayers) {
-            sb.append(p.team.abbr + "(" + p.team.wins + "-" + p.team.losses + ") - " + p.position + " " + p.name + " [" + p.getYrStr() + "]\n");
+            sb.append(p.team.abbr + "(" + p.team.wins + "-" + p.team.losses + ") - " + p.position + " " + p.getName() + " [" + p.getYrStr() + "]\n");
             sb.append(" \tOverall: " + p.ratOvr + ", Potential: " + p.getLetterGrade(p.ratPot) + "\n\n>");
         }
         return sb.toString();
@@ -927,21 +1479,18 @@ public class HockeyLeague implements Serializable {
 
     /**
      * Get a “mock draft” listing top 64 players, exactly as original code.
+     * Selects with a bounded heap on a precomputed draft score instead of sorting every departing player.
      */
     public String[] getMockDraftPlayersList() {
-        ArrayList<Player> allPlayersLeaving = new ArrayList<>();
+        TopK<Player> draft = new TopK<>(64);
         for (TeamHockey t : teamList) {
             for (Player p : t.playersLeaving) {
-                if (p.ratOvr > 85 && !p.position.equals("G")) { // example skipping goalies
-                    allPlayersLeaving.add(p);
+                if (p.ratOvr > 85 && p.pos != Position.G) { // example skipping goalies
+                    draft.offer(p, getDraftScore(p));
                 }
             }
         }
-        Collections.sort(allPlayersLeaving, new PlayerComparator());
-        ArrayList<Player> top64 = new ArrayList<>(64);
-        for (int i = 0; i < 64; ++i) {
-            top64.add(allPlayersLeaving.get(i));
-        }
+        ArrayList<Player> top64 = draft.toList();
         String[] results = new String[top64.size()];
         for (int i = 0; i < top64.size(); ++i) {
             results[i] = top64.get(i).getMockDraftStr();
@@ -949,6 +1498,18 @@ public class HockeyLeague implements Serializable {
         return results;
     }
 
+    /**
+     * Packs the PlayerComparator ordering into one int: healthy first, then non-redshirts,
+     * then overall, then potential.
+     */
+    private static int getDraftScore(Player p) {
+        int score = p.isInjured ? 0 : 1;
+        score = (score << 1) | (p.year > 0 ? 1 : 0);
+        score = (score << 10) | Math.max(0, Math.min(p.ratOvr, 1023));
+        score = (score << 10) | Math.max(0, Math.min(p.ratPot, 1023));
+        return score;
+    }
+
     /**
      * Returns a string array of team rankings based on your selection, 0-15, 
      * same as original football code, just with hockey references.
@@ -1013,13 +1574,60 @@ public class HockeyLeague implements Serializable {
      * Get a year-by-year summary of league champions + Hobey Baker winners
      */
     public String getLeagueHistoryStr() {
-        String hist = "";
-        for (int i = 0; i < leagueHistory.size(); i++) {
-            hist += (2016 + i) + ":\n";
-            hist += "\tChampions: " + leagueHistory.get(i)[0] + "\n";
-            hist += "\tHobey Baker: " + hobeyHistory.get(i) + "\n%";
+        return getLeagueHistoryStr(0, getSeasonCount());
+    }
+
+    /**
+     * Same summary for seasons [start, start+count) only, for paged history screens.
+     */
+    public String getLeagueHistoryStr(int start, int count) {
+        StringWriter hist = new StringWriter();
+        try {
+            writeLeagueHistory(hist, start, count);
+        } catch (IOException ex) {
+            // StringWriter doesn't throw
+        }
+        return hist.toString();
+    }
+
+    /**
+     * Stream the year-by-year summary straight to a Writer.
+     */
+    public void writeLeagueHistory(Writer out) throws IOException {
+        writeLeagueHistory(out, 0, getSeasonCount());
+    }
+
+    public void writeLeagueHistory(Writer out, int start, int count) throws IOException {
+        try {
+            forEachSeason(start, count, season -> {
+                try {
+                    out.write(season.year + ":\n");
+                    out.write("\tChampions: " + season.getChampion() + "\n");
+                    out.write("\tHobey Baker: " + season.hobey + "\n%");
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Hand seasons [start, start+count) to the callback, oldest first. History is read
+     * HISTORY_PAGE seasons at a time, so the cost of a page doesn't grow with dynasty length.
+     */
+    public void forEachSeason(int start, int count, Consumer<LeagueSeason> callback) {
+        start = Math.max(start, 0);
+        int end = (int) Math.min((long) start + count, getSeasonCount());
+        for (int from = start; from < end; from += HISTORY_PAGE) {
+            int n = Math.min(HISTORY_PAGE, end - from);
+            ArrayList<String[]> years = getLeagueHistoryPage(from, n);
+            ArrayList<String> hobeys = getHobeyHistoryPage(from, n);
+            for (int i = 0; i < years.size(); i++) {
+                callback.accept(new LeagueSeason(2016 + from + i, years.get(i), i < hobeys.size() ? hobeys.get(i) : ""));
+            }
         }
-        return hist;
     }
 
     /**
@@ -1038,6 +1646,7 @@ public class HockeyLeague implements Serializable {
      * Get a watch list for the Cup Games if not scheduled, or actual matchups if they are.
      */
     public String getBowlGameWatchStr() {
+        int offset = config.tournamentTeams - 4;
         if (!hasScheduledTourney) {
             for (TeamHockey t : teamList) {
                 t.updatePollScore();
@@ -1045,34 +1654,25 @@ public class HockeyLeague implements Serializable {
             Collections.sort(teamList, new TeamCompPoll());
 
             StringBuilder sb = new StringBuilder();
-            TeamHockey t1;
-            TeamHockey t2;
-            sb.append("Semifinal 1v4:\n\t\t");
-            t1 = teamList.get(0);
-            t2 = teamList.get(3);
-            sb.append(t1.strRep() + " vs " + t2.strRep() + "\n\n");
-
-            sb.append("Semifinal 2v3:\n\t\t");
-            t1 = teamList.get(1);
-            t2 = teamList.get(2);
-            sb.append(t1.strRep() + " vs " + t2.strRep() + "\n\n");
-
-            sb.append(cupNames[0] + ":\n\t\t");
-            t1 = teamList.get(4);
-            t2 = teamList.get(6);
-            sb.append(t1.strRep() + " vs " + t2.strRep() + "\n\n");
+            // projected field, nothing gets scheduled
+            Bracket projected = new Bracket("Hockey Championship", teamList.subList(0, config.tournamentTeams));
+            sb.append(projected.getRoundStr(0) + "\n\n");
+
+            if (teamList.size() > CUP_PAIRINGS[0][1] + offset) {
+                sb.append(cupNames[0] + ":\n\t\t");
+                TeamHockey t1 = teamList.get(CUP_PAIRINGS[0][0] + offset);
+                TeamHockey t2 = teamList.get(CUP_PAIRINGS[0][1] + offset);
+                sb.append(t1.strRep() + " vs " + t2.strRep() + "\n\n");
+            }
 
             // etc. Just as original
             return sb.toString();
         } else {
             StringBuilder sb = new StringBuilder();
-            sb.append("Semifinal 1v4:\n");
-            sb.append(getGameSummaryBowl(semiGH14));
-
-            sb.append("\n\nSemifinal 2v3:\n");
-            sb.append(getGameSummaryBowl(semiGH23));
+            sb.append(tournament.toString());
 
             for (int i = 0; i < cupGames.length; i++) {
+                if (cupGames[i] == null) continue;
                 sb.append("\n\n" + cupNames[i] + ":\n");
                 sb.append(getGameSummaryBowl(cupGames[i]));
             }
@@ -1116,10 +1716,18 @@ public class HockeyLeague implements Serializable {
 
     /**
      * Find a team by “name” or “strRep()”.
+     * strRep() is "#rank ABBR (W-L)", so the abbreviation is pulled out and looked up
+     * directly instead of building strRep() for every team.
      */
     public TeamHockey findTeam(String name) {
-        for (TeamHockey t : teamList) {
-            if (t.strRep().equals(name)) {
+        TeamHockey t = teamsByName.get(name);
+        if (t != null) return t;
+
+        int space = name.indexOf(' ');
+        int paren = name.indexOf(" (", space + 1);
+        if (space >= 0 && paren > space) {
+            t = teamsByAbbr.get(name.substring(space + 1, paren));
+            if (t != null && t.strRep().equals(name)) {
                 return t;
             }
         }
@@ -1130,12 +1738,79 @@ public class HockeyLeague implements Serializable {
      * Find a team by abbreviation.
      */
     public TeamHockey findTeamAbbr(String abbr) {
+        TeamHockey t = teamsByAbbr.get(abbr);
+        if (t != null) return t;
+        return teamList.get(0);
+    }
+
+    /**
+     * Find a team by abbreviation, null if there isn't one.
+     */
+    public TeamHockey findTeamAbbrOrNull(String abbr) {
+        return teamsByAbbr != null ? teamsByAbbr.get(abbr) : null;
+    }
+
+    /**
+     * Team with this teamId, null if there isn't one.
+     */
+    public TeamHockey getTeamById(int id) {
+        return teamsById != null && id >= 0 && id < teamsById.length ? teamsById[id] : null;
+    }
+
+    /**
+     * Number teams in teamList order for the schedule table. Only at construction,
+     * teamList gets re-sorted all season but ids must not move.
+     */
+    private void assignTeamIds() {
+        for (int i = 0; i < teamList.size(); ++i) {
+            teamList.get(i).teamId = i;
+        }
+    }
+
+    /**
+     * (Re)build the name / lower-case name / abbreviation / teamId indexes and resolve rival references.
+     * Call whenever teams are added to teamList.
+     */
+    public void buildTeamIndexes() {
+        teamsById = new TeamHockey[teamList.size()];
+        teamsByName = new HashMap<>(teamList.size() * 2);
+        teamsByLowerName = new HashMap<>(teamList.size() * 2);
+        teamsByAbbr = new HashMap<>(teamList.size() * 2);
         for (TeamHockey t : teamList) {
-            if (t.abbr.equals(abbr)) {
-                return t;
+            teamsByName.put(t.name, t);
+            teamsByLowerName.put(t.name.toLowerCase(), t);
+            teamsByAbbr.put(t.abbr, t);
+            if (t.teamId >= 0 && t.teamId < teamsById.length) teamsById[t.teamId] = t;
+        }
+        for (TeamHockey t : teamList) {
+            t.rival = teamsByAbbr.get(t.rivalTeam);
+        }
+    }
+
+    /**
+     * Rename a team and/or change its abbreviation, keeping the lookup indexes
+     * and every rivalTeam reference in sync. History/records still go through
+     * changeAbbrHistoryRecords().
+     */
+    public void renameTeam(TeamHockey t, String newName, String newAbbr) {
+        teamsByName.remove(t.name);
+        teamsByLowerName.remove(t.name.toLowerCase());
+        teamsByAbbr.remove(t.abbr);
+
+        String oldAbbr = t.abbr;
+        t.name = newName;
+        t.abbr = newAbbr;
+        if (!oldAbbr.equals(newAbbr)) {
+            for (TeamHockey other : teamList) {
+                if (oldAbbr.equals(other.rivalTeam)) {
+                    other.rivalTeam = newAbbr;
+                }
             }
         }
-        return teamList.get(0);
+
+        teamsByName.put(t.name, t);
+        teamsByLowerName.put(t.name.toLowerCase(), t);
+        teamsByAbbr.put(t.abbr, t);
     }
 
     /**
@@ -1158,10 +1833,9 @@ public class HockeyLeague implements Serializable {
         if (name.contains(",") || name.contains(">") || name.contains("%") || name.contains("\\")) {
             return false;
         }
-        for (TeamHockey t : teamList) {
-            if (t.name.toLowerCase().equals(name.toLowerCase()) && !t.userControlled) {
-                return false;
-            }
+        TeamHockey t = teamsByLowerName.get(name.toLowerCase());
+        if (t != null && !t.userControlled) {
+            return false;
         }
         return true;
     }
@@ -1174,10 +1848,9 @@ public class HockeyLeague implements Serializable {
         if (abbr.contains(",") || abbr.contains(">") || abbr.contains("%") || abbr.contains("\\") || abbr.contains(" ")) {
             return false;
         }
-        for (TeamHockey t : teamList) {
-            if (t.abbr.equals(abbr) && !t.userControlled) {
-                return false;
-            }
+        TeamHockey t = teamsByAbbr.get(abbr);
+        if (t != null && !t.userControlled) {
+            return false;
         }
         return true;
     }
@@ -1213,94 +1886,285 @@ public class HockeyLeague implements Serializable {
 
     /**
      * Save league to file (just rename classes to hockey references).
+     * Each section is streamed to a temp file as it's built, then the temp file
+     * replaces saveFile; see SaveFileWriter.
      */
     public boolean saveLeague(File saveFile) {
-        StringBuilder sb = new StringBuilder();
-        if (isHardMode) {
-            sb.append((2016 + leagueHistory.size()) + ": " + userTeam.abbr + " ("
-                    + (userTeam.totalWins - userTeam.wins) + "-" + (userTeam.totalLosses - userTeam.losses)
-                    + ") " + userTeam.totalCCs + " CCs, " + userTeam.totalNCs + " NCs>[HARD]%\n");
-        } else {
-            sb.append((2016 + leagueHistory.size()) + ": " + userTeam.abbr + " ("
-                    + (userTeam.totalWins - userTeam.wins) + "-" + (userTeam.totalLosses - userTeam.losses)
-                    + ") " + userTeam.totalCCs + " CCs, " + userTeam.totalNCs + " NCs>[EASY]%\n");
-        }
+        return saveLeague(saveFile, false);
+    }
 
-        // leagueHistory
-        for (int i = 0; i < leagueHistory.size(); i++) {
-            for (int j = 0; j < leagueHistory.get(i).length; j++) {
-                sb.append(leagueHistory.get(i)[j] + "%");
+    /**
+     * Text save, optionally in a CompressedSave container.
+     */
+    public boolean saveLeague(File saveFile, boolean compressed) {
+        hydrateAll();
+        try (SaveFileWriter out = new SaveFileWriter(saveFile, compressed)) {
+            if (isHardMode) {
+                out.write(getYear() + ": " + userTeam.abbr + " ("
+                        + (userTeam.totalWins - userTeam.wins) + "-" + (userTeam.totalLosses - userTeam.losses)
+                        + ") " + userTeam.totalCCs + " CCs, " + userTeam.totalNCs + " NCs>[HARD]%\n");
+            } else {
+                out.write(getYear() + ": " + userTeam.abbr + " ("
+                        + (userTeam.totalWins - userTeam.wins) + "-" + (userTeam.totalLosses - userTeam.losses)
+                        + ") " + userTeam.totalCCs + " CCs, " + userTeam.totalNCs + " NCs>[EASY]%\n");
             }
-            sb.append("\n");
-        }
-        sb.append("END_LEAGUE_HIST\n");
 
-        // hobeyHistory
-        for (int i = 0; i < leagueHistory.size(); i++) {
-            sb.append(hobeyHistory.get(i) + "\n");
+            // leagueHistory; with an archive only the recent window is written
+            if (leagueHistoryArchive != null) {
+                if (userTeam.historyKey == null) userTeam.historyKey = userTeam.abbr;
+                out.write("ARCHIVED%" + historyDir.getAbsolutePath() + "%" + historySegmentSize + "%" + historyWindow + "%"
+                        + archivedSeasons + "%" + archivedHobeys + "%" + userTeam.historyKey + "%"
+                        + userTeam.archivedHistory + "%" + userTeam.archivedHallOfFame);
+                // same order as the team blocks below, which is their teamId once reloaded
+                for (TeamHockey t : teamList) {
+                    out.write("%" + (t.historyKey != null ? t.historyKey : t.abbr) + "%"
+                            + t.archivedHistory + "%" + t.archivedHallOfFame);
+                }
+                out.write("\n");
+            }
+            for (int i = 0; i < leagueHistory.size(); i++) {
+                for (int j = 0; j < leagueHistory.get(i).length; j++) {
+                    out.write(leagueHistory.get(i)[j] + "%");
+                }
+                out.write("\n");
+            }
+            out.write("END_LEAGUE_HIST\n");
+
+            // hobeyHistory
+            for (int i = 0; i < hobeyHistory.size(); i++) {
+                out.write(hobeyHistory.get(i) + "\n");
+            }
+            out.write("END_HEISMAN_HIST\n");
+
+            // League shape, then each team
+            out.write("TEAMS," + config + "," + teamList.size() + "\n");
+            for (TeamHockey t : teamList) {
+                out.write(t.getTeamSaveLine() + "\n");
+                out.write(t.getPlayerInfoSaveFile());
+                out.write("END_PLAYERS\n");
+            }
+
+            // Save user team’s name, then teamHistory
+            out.write(userTeam.name + "\n");
+            for (String s : userTeam.teamHistory) {
+                out.write(s + "\n");
+            }
+            out.write("END_USER_TEAM\n");
+
+            // Bless/curse
+            if (saveBless != null) {
+                out.write(saveBless.abbr + "\n");
+                out.write("END_BLESS_TEAM\n");
+            } else {
+                out.write("NULL\n");
+                out.write("END_BLESS_TEAM\n");
+            }
+            if (saveCurse != null) {
+                out.write(saveCurse.abbr + "\n");
+                out.write("END_CURSE_TEAM\n");
+            } else {
+                out.write("NULL\n");
+                out.write("END_CURSE_TEAM\n");
+            }
+
+            // leagueRecords
+            out.write(leagueRecords.getRecordsStr());
+            out.write("END_LEAGUE_RECORDS\n");
+
+            // longestWinStreak
+            out.write(yearStartLongestWinStreak.getStreakCSV());
+            out.write("\nEND_LEAGUE_WIN_STREAK\n");
+
+            // userTeamRecords
+            out.write(userTeamRecords.getRecordsStr());
+            out.write("END_USER_TEAM_RECORDS\n");
+
+            // userTeam Hall of Fame
+            for (String s : userTeam.hallOfFame) {
+                out.write(s + "\n");
+            }
+            out.write("END_HALL_OF_FAME\n");
+
+            // Home/away matrices, one line per conference
+            for (HockeyConference c : conferences) {
+                if (c.homeAway != null) out.write("HOMEAWAY%" + c.getHomeAwaySaveStr() + "\n");
+            }
+            out.write("END_HOME_AWAY\n");
+
+            out.commit();
+            recordSave(out);
+            return true;
+        } catch (IOException e) {
+            return false;
         }
-        sb.append("END_HEISMAN_HIST\n");
+    }
+
+    /**
+     * Save in the binary format, same content as saveLeague(). The text save stays
+     * for export and for anyone editing saves by hand.
+     */
+    public boolean saveLeagueBinary(File saveFile) {
+        return saveLeagueBinary(saveFile, false);
+    }
 
-        // Save each team
+    /**
+     * Binary save, optionally in a CompressedSave container. Compressed, the save is
+     * built in memory first: section lengths and the index are patched in after the
+     * fact, which a compressed stream can't take.
+     */
+    public boolean saveLeagueBinary(File saveFile, boolean compressed) {
+        hydrateAll();
+        // teamList is sorted by poll, write teams by teamId so ids survive a reload
+        TeamHockey[] byId = new TeamHockey[teamList.size()];
         for (TeamHockey t : teamList) {
-            sb.append(t.conference + "," + t.name + "," + t.abbr + "," + t.teamPrestige + "," +
-                    (t.totalWins - t.wins) + "," + (t.totalLosses - t.losses) + "," + t.totalCCs + "," + t.totalNCs + "," + t.rivalTeam + "," +
-                    t.totalNCLosses + "," + t.totalCCLosses + "," + t.totalCups + "," + t.totalCupLosses + "," +
-                    t.teamStratOffNum + "," + t.teamStratDefNum + "," + (t.showPopups ? 1 : 0) + "," +
-                    t.yearStartWinStreak.getStreakCSV() + "," + t.teamTVDeal + "," + t.confTVDeal + "%" + t.evenYearHomeOpp + "%\n");
-            sb.append(t.getPlayerInfoSaveFile());
-            sb.append("END_PLAYERS\n");
+            byId[t.teamId] = t;
         }
 
-        // Save user team’s name, then teamHistory
-        sb.append(userTeam.name + "\n");
-        for (String s : userTeam.teamHistory) {
-            sb.append(s + "\n");
+        try (SaveFileWriter file = new SaveFileWriter(saveFile, compressed)) {
+            SaveOutput out = compressed ? new SaveOutput() : new SaveOutput(file);
+            writeBinarySections(out, byId);
+            if (compressed) out.writeTo(file.asOutputStream());
+            else out.flush();
+            file.commit();
+            recordSave(file);
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            return false;
         }
-        sb.append("END_USER_TEAM\n");
+    }
 
-        // Bless/curse
-        if (saveBless != null) {
-            sb.append(saveBless.abbr + "\n");
-            sb.append("END_BLESS_TEAM\n");
-        } else {
-            sb.append("NULL\n");
-            sb.append("END_BLESS_TEAM\n");
+    private void writeBinarySections(SaveOutput out, TeamHockey[] byId) {
+        out.writeBytes(SAVE_MAGIC);
+        out.writeVarInt(SAVE_VERSION);
+
+        // index: where each section and each team's rosters start, plus team talent so a
+        // lazy load can rank teams without their rosters; offsets are patched in below
+        int[] indexed = {SECTION_META, SECTION_HISTORY, SECTION_TEAMS, SECTION_PLAYERS, SECTION_RECORDS,
+                SECTION_TEAM_ARCHIVES};
+        long[] sectionAt = new long[indexed.length];
+        long[] rosterAt = new long[byId.length];
+        out.beginSection(SECTION_INDEX);
+        out.writeFixedInt(indexed.length);
+        for (int i = 0; i < indexed.length; ++i) {
+            out.writeByte(indexed[i]);
+            sectionAt[i] = out.reserveInt();
+        }
+        out.writeFixedInt(byId.length);
+        for (int i = 0; i < byId.length; ++i) {
+            rosterAt[i] = out.reserveInt();
+            out.writeFixedInt(byId[i].getOffTalent());
+            out.writeFixedInt(byId[i].getDefTalent());
+            out.writeFixedInt(byId[i].getCompositeHockeyIQ());
+        }
+        out.endSection();
+
+        out.patchInt(sectionAt[0], offsetOf(out));
+        out.beginSection(SECTION_META);
+        out.writeBoolean(isHardMode);
+        out.writeVarInt(config.numConferences);
+        out.writeVarInt(config.teamsPerConference);
+        out.writeVarInt(config.nonConferenceGames);
+        out.writeVarInt(config.tournamentTeams);
+        out.endSection();
+
+        out.patchInt(sectionAt[1], offsetOf(out));
+        out.beginSection(SECTION_HISTORY);
+        out.writeBoolean(leagueHistoryArchive != null);
+        if (leagueHistoryArchive != null) {
+            if (userTeam.historyKey == null) userTeam.historyKey = userTeam.abbr;
+            out.writeString(historyDir.getAbsolutePath());
+            out.writeVarInt(historySegmentSize);
+            out.writeVarInt(historyWindow);
+            out.writeVarInt(archivedSeasons);
+            out.writeVarInt(archivedHobeys);
+            out.writeString(userTeam.historyKey);
+            out.writeVarInt(userTeam.archivedHistory);
+            out.writeVarInt(userTeam.archivedHallOfFame);
+        }
+        out.writeVarInt(leagueHistory.size());
+        for (String[] season : leagueHistory) {
+            out.writeVarInt(season.length);
+            for (String s : season) {
+                out.writeString(s);
+            }
         }
-        if (saveCurse != null) {
-            sb.append(saveCurse.abbr + "\n");
-            sb.append("END_CURSE_TEAM\n");
-        } else {
-            sb.append("NULL\n");
-            sb.append("END_CURSE_TEAM\n");
+        out.writeVarInt(hobeyHistory.size());
+        for (String s : hobeyHistory) {
+            out.writeString(s);
         }
+        out.endSection();
 
-        // leagueRecords
-        sb.append(leagueRecords.getRecordsStr());
-        sb.append("END_LEAGUE_RECORDS\n");
-
-        // longestWinStreak
-        sb.append(yearStartLongestWinStreak.getStreakCSV());
-        sb.append("\nEND_LEAGUE_WIN_STREAK\n");
-
-        // userTeamRecords
-        sb.append(userTeamRecords.getRecordsStr());
-        sb.append("END_USER_TEAM_RECORDS\n");
-
-        // userTeam Hall of Fame
+        out.patchInt(sectionAt[2], offsetOf(out));
+        out.beginSection(SECTION_TEAMS);
+        out.writeVarInt(byId.length);
+        for (TeamHockey t : byId) {
+            t.writeBinary(out);
+        }
+        out.writeVarInt(conferences.size());
+        for (HockeyConference c : conferences) {
+            out.writeString(c.confName);
+            out.writeBoolean(c.homeAway != null);
+            if (c.homeAway != null) c.homeAway.writeBinary(out);
+        }
+        out.writeInt(userTeam.teamId);
+        out.writeVarInt(userTeam.teamHistory.size());
+        for (String s : userTeam.teamHistory) {
+            out.writeString(s);
+        }
+        out.writeVarInt(userTeam.hallOfFame.size());
         for (String s : userTeam.hallOfFame) {
-            sb.append(s + "\n");
+            out.writeString(s);
+        }
+        out.writeInt(saveBless != null ? saveBless.teamId : -1);
+        out.writeInt(saveCurse != null ? saveCurse.teamId : -1);
+        out.endSection();
+
+        out.patchInt(sectionAt[3], offsetOf(out));
+        out.beginSection(SECTION_PLAYERS);
+        for (int i = 0; i < byId.length; ++i) {
+            out.patchInt(rosterAt[i], offsetOf(out));
+            PlayerCodec.writeRosters(out, byId[i]);
+        }
+        out.endSection();
+
+        out.patchInt(sectionAt[4], offsetOf(out));
+        out.beginSection(SECTION_RECORDS);
+        leagueRecords.writeBinary(out);
+        userTeamRecords.writeBinary(out);
+        out.endSection();
+
+        out.patchInt(sectionAt[5], offsetOf(out));
+        out.beginSection(SECTION_TEAM_ARCHIVES);
+        out.writeVarInt(leagueHistoryArchive != null ? byId.length : 0);
+        if (leagueHistoryArchive != null) {
+            for (TeamHockey t : byId) {
+                out.writeString(t.historyKey != null ? t.historyKey : t.abbr);
+                out.writeVarInt(t.archivedHistory);
+                out.writeVarInt(t.archivedHallOfFame);
+            }
         }
-        sb.append("END_HALL_OF_FAME\n");
+        out.endSection();
+    }
 
-        // Write out
-        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
-                new FileOutputStream(saveFile), "utf-8"))) {
-            writer.write(sb.toString());
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+    /**
+     * Current write offset as an index entry; the index is 32-bit, mapped loads are too.
+     */
+    private static int offsetOf(SaveOutput out) {
+        long at = out.size();
+        if (at > Integer.MAX_VALUE) throw new IllegalStateException("Save over 2GB");
+        return (int) at;
+    }
+
+    /**
+     * Size and throughput of the last successful save, for the UI and DynastyRunner.
+     */
+    private void recordSave(SaveFileWriter file) {
+        lastSaveBytes = file.getBytesWritten();
+        lastSaveNanos = file.getNanos();
+    }
+
+    public long getLastSaveBytesPerSecond() {
+        return lastSaveNanos > 0 ? (long) (lastSaveBytes * 1e9 / lastSaveNanos) : 0;
     }
 }
 
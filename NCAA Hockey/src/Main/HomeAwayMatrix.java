@@ -0,0 +1,112 @@
+package Main;
+
+
+import java.io.Serializable;
+
+/**
+ * Who hosts whom in a conference, one bit per (home, away) pair of conference slots.
+ * Bit (i, j) set means slot i hosts slot j in even years; odd years flip it, which is
+ * just an XOR with the year parity. Teams keep their slot in TeamHockey.confSlot, so
+ * the matrix doesn't care how confTeams gets sorted during the season.
+ */
+public class HomeAwayMatrix implements Serializable {
+
+    private final int size;
+    private final long[] bits;
+
+    public HomeAwayMatrix(int size) {
+        this.size = size;
+        this.bits = new long[(int) (((long) size * size + 63) >>> 6)];
+    }
+
+    /**
+     * Balanced pattern for a circle-method round robin of the given size: the fixed
+     * slot alternates home/away by round, the others by pairing.
+     */
+    public static HomeAwayMatrix roundRobin(int size) {
+        HomeAwayMatrix m = new HomeAwayMatrix(size);
+        int slots = size + (size & 1);
+        for (int r = 0; r < slots - 1; ++r) {
+            for (int g = 0; g < slots / 2; ++g) {
+                int a = HockeyConference.circleSlot(slots, r, g);
+                int b = HockeyConference.circleSlot(slots, r, slots - 1 - g);
+                if (a >= size || b >= size) continue;
+                boolean aHome = g == 0 ? r % 2 == 0 : g % 2 == 1;
+                if (aHome) m.setHost(a, b);
+                else m.setHost(b, a);
+            }
+        }
+        return m;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Make home host away in even years (and away host home in odd years).
+     */
+    public void setHost(int home, int away) {
+        set(home * size + away, true);
+        set(away * size + home, false);
+    }
+
+    /**
+     * Does slot a host slot b this year?
+     */
+    public boolean hosts(int a, int b, boolean evenYear) {
+        return get(a * size + b) ^ !evenYear;
+    }
+
+    /**
+     * Bits as fixed-width hex, 16 digits per word, for the save file.
+     */
+    public String toHex() {
+        StringBuilder sb = new StringBuilder(bits.length * 16);
+        for (long w : bits) {
+            String h = Long.toHexString(w);
+            for (int i = h.length(); i < 16; ++i) sb.append('0');
+            sb.append(h);
+        }
+        return sb.toString();
+    }
+
+    public static HomeAwayMatrix fromHex(int size, String hex) {
+        HomeAwayMatrix m = new HomeAwayMatrix(size);
+        if (hex.length() != m.bits.length * 16) {
+            throw new IllegalArgumentException("Home/away matrix for " + size + " teams needs "
+                    + m.bits.length * 16 + " hex digits, got " + hex.length());
+        }
+        for (int i = 0; i < m.bits.length; ++i) {
+            m.bits[i] = Long.parseUnsignedLong(hex.substring(i * 16, i * 16 + 16), 16);
+        }
+        return m;
+    }
+
+    /**
+     * Size, then the bit words as they are, for the binary save.
+     */
+    public void writeBinary(SaveOutput out) {
+        out.writeVarInt(size);
+        for (long w : bits) {
+            out.writeLong(w);
+        }
+    }
+
+    public static HomeAwayMatrix readBinary(SaveInput in) {
+        HomeAwayMatrix m = new HomeAwayMatrix(in.readVarInt());
+        for (int i = 0; i < m.bits.length; ++i) {
+            m.bits[i] = in.readLong();
+        }
+        return m;
+    }
+
+    private boolean get(int bit) {
+        return (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private void set(int bit, boolean on) {
+        if (on) bits[bit >>> 6] |= 1L << bit;
+        else bits[bit >>> 6] &= ~(1L << bit);
+    }
+}
@@ -0,0 +1,154 @@
+package Main;
+
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+/**
+ * Shape of a league: how many conferences, how many teams in each, how many
+ * non-conference games every team plays and how big the tournament is. Everything
+ * week-based (conference championship week, cups, tournament rounds, final) is
+ * derived from these, so nothing else has to assume 6 conferences of 10.
+ */
+public class LeagueConfig implements Serializable {
+
+    /** The original league: 6 conferences of 10 teams, 3 non-conference games, 4-team tournament. */
+    public static final LeagueConfig DEFAULT = new LeagueConfig(6, 10, 3, 4);
+
+    public final int numConferences;
+    public final int teamsPerConference;
+    public final int nonConferenceGames;
+    public final int tournamentTeams;
+
+    public LeagueConfig(int numConferences, int teamsPerConference, int nonConferenceGames) {
+        this(numConferences, teamsPerConference, nonConferenceGames, 4);
+    }
+
+    public LeagueConfig(int numConferences, int teamsPerConference, int nonConferenceGames, int tournamentTeams) {
+        if (numConferences < 1 || teamsPerConference < 2 || nonConferenceGames < 0) {
+            throw new IllegalArgumentException("Need at least 1 conference of 2 teams");
+        }
+        if (numConferences * teamsPerConference < 4) {
+            // the semifinals need four teams
+            throw new IllegalArgumentException("Need at least 4 teams in the league");
+        }
+        if (numConferences == 1 && nonConferenceGames > 0) {
+            throw new IllegalArgumentException("Non-conference games need a second conference");
+        }
+        if (tournamentTeams < 2 || tournamentTeams > numConferences * teamsPerConference) {
+            throw new IllegalArgumentException("Tournament needs 2 to " + numConferences * teamsPerConference + " teams");
+        }
+        this.numConferences = numConferences;
+        this.teamsPerConference = teamsPerConference;
+        this.nonConferenceGames = nonConferenceGames;
+        this.tournamentTeams = tournamentTeams;
+    }
+
+    public int getTeamCount() {
+        return numConferences * teamsPerConference;
+    }
+
+    /**
+     * Rounds of the conference round robin. With an odd count every team sits out one round.
+     */
+    public int getConferenceRounds() {
+        return teamsPerConference % 2 == 0 ? teamsPerConference - 1 : teamsPerConference;
+    }
+
+    /**
+     * Regular season length; the conference championship is played the week after.
+     */
+    public int getRegularSeasonWeeks() {
+        return getConferenceRounds() + nonConferenceGames;
+    }
+
+    public int getConfChampionshipWeek() {
+        return getRegularSeasonWeeks();
+    }
+
+    /**
+     * Rounds in the championship bracket, e.g. 2 for 4 teams, 4 for a 16-team field.
+     */
+    public int getTournamentRounds() {
+        return 32 - Integer.numberOfLeadingZeros(tournamentTeams - 1);
+    }
+
+    /** Cups, the first tournament round and the Hobey Baker. */
+    public int getCupWeek() {
+        return getRegularSeasonWeeks() + 1;
+    }
+
+    /** One tournament round per week after the cup week. */
+    public int getFinalWeek() {
+        return getCupWeek() + getTournamentRounds() - 1;
+    }
+
+    /**
+     * Number of playWeek() calls in a full season, final included.
+     */
+    public int getSeasonWeeks() {
+        return getFinalWeek() + 1;
+    }
+
+    /**
+     * What each regular season week is for: a conference round (0, 1, ...) or, as
+     * -(k + 1), non-conference game k. Non-conference games go in the first week,
+     * three weeks from the end, and spread evenly in between (weeks 0, 4 and 9 for
+     * the default league).
+     */
+    public int[] getWeekPlan() {
+        ArrayList<Integer> plan = new ArrayList<>();
+        for (int r = 0; r < getConferenceRounds(); ++r) {
+            plan.add(r);
+        }
+        int last = Math.max(0, getRegularSeasonWeeks() - 3);
+        for (int k = 0; k < nonConferenceGames; ++k) {
+            int week = k == 0 ? 0 : k * last / (nonConferenceGames - 1);
+            plan.add(Math.min(week, plan.size()), -(k + 1));
+        }
+        int[] weeks = new int[plan.size()];
+        for (int w = 0; w < weeks.length; ++w) {
+            weeks[w] = plan.get(w);
+        }
+        return weeks;
+    }
+
+    /**
+     * Week of each conference round.
+     */
+    public int[] getConferenceRoundWeeks() {
+        int[] plan = getWeekPlan();
+        int[] weeks = new int[getConferenceRounds()];
+        for (int w = 0; w < plan.length; ++w) {
+            if (plan[w] >= 0) weeks[plan[w]] = w;
+        }
+        return weeks;
+    }
+
+    /**
+     * Week of each non-conference game.
+     */
+    public int[] getNonConferenceWeeks() {
+        int[] plan = getWeekPlan();
+        int[] weeks = new int[nonConferenceGames];
+        for (int w = 0; w < plan.length; ++w) {
+            if (plan[w] < 0) weeks[-plan[w] - 1] = w;
+        }
+        return weeks;
+    }
+
+    /**
+     * Parse "conferences,teamsPerConference[,nonConferenceGames[,tournamentTeams]]", e.g. "200,10,3,16".
+     */
+    public static LeagueConfig parse(String s) {
+        String[] parts = s.split(",");
+        int nonConf = parts.length > 2 ? Integer.parseInt(parts[2].trim()) : DEFAULT.nonConferenceGames;
+        int tournament = parts.length > 3 ? Integer.parseInt(parts[3].trim()) : DEFAULT.tournamentTeams;
+        return new LeagueConfig(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()), nonConf, tournament);
+    }
+
+    @Override
+    public String toString() {
+        return numConferences + "," + teamsPerConference + "," + nonConferenceGames + "," + tournamentTeams;
+    }
+}
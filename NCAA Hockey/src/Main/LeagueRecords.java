@@ -2,178 +2,182 @@ package Main;
 
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Class to hold all-time league season records like Shots, Goals, etc. 
  * Adapted directly from the football LeagueRecords, preserving structure but renaming stats for hockey.
+ *
+ * Records are indexed by RecordType ordinal into parallel arrays. A holder is a teamId plus,
+ * for player records, the player's short name; the abbreviation is looked up when the
+ * holder is shown, so a renamed team keeps its records. Holders that don't match a team
+ * (old saves, no league) keep their label as it was.
  */
 public class LeagueRecords {
 
-    /**
-     * Inner class for a record (number, holder, year).
-     * Same as original, just renamed the package/class references to hockey.
-     */
-    public class Record {
-        private int number;
-        private String holder;
-        private int year;
-
-        public Record(int n, String h, int y) {
-            number = n;
-            holder = h;
-            year = y;
-        }
-
-        public int getNumber() {
-            return number;
-        }
-
-        public String getHolder() {
-            return holder;
-        }
-
-        public int getYear() {
-            return year;
-        }
-
-        // Used if the team's abbreviation changes
-        private void changeAbbr(String newAbbr) {
-            String[] split = holder.split(" ");
-            holder = newAbbr;
-            for (int i = 1; i < split.length; ++i) {
-                holder += " " + split[i];
-            }
-        }
-    }
+    private static final String NO_HOLDER = "XXX";
 
-    private HashMap<String, Record> records;
+    private final HockeyLeague league;   // for teamId -> abbr, may be null
+    private final int[] numbers;
+    private final int[] years;
+    private final int[] holderTeams;      // teamId, -1 when the holder is only a label
+    private final String[] holderPlayers; // player name after the abbr, null for team records
+    private final String[] holderLabels;  // full holder as saved, when holderTeams is -1
 
     /**
      * Renamed list of record labels from football to hockey stats.
      * We keep them in the **same order** to preserve the original indexing.
      */
-    public final String[] recordsList = {
-        // “TEAM” group
-        "TEAM",
-        "Team GPG",           // formerly "Team PPG"
-        "Team Opp GPG",       // formerly "Team Opp PPG"
-        "Team Shots/G",       // formerly "Team YPG"
-        "Team Opp Shots/G",   // formerly "Team Opp YPG"
-        "Team TKW Diff",      // formerly "Team TO Diff"
-
-        // “SEASON” group
-        "SEASON",
-        "Shots",              // formerly "Pass Yards"
-        "Goals",              // formerly "Pass TDs"
-        "Steals",             // formerly "Interceptions"
-        "Shot Percent",       // formerly "Comp Percent"
-        "Skate Dist",         // formerly "Rush Yards"
-        "Skate Goals",        // formerly "Rush TDs"
-        "Lost Puck",          // formerly "Rush Fumbles"
-        "Assist Pts",         // formerly "Rec Yards"
-        "Assist Gls",         // formerly "Rec TDs"
-        "Assist Percent",     // formerly "Catch Percent"
-
-        // “CAREER” group
-        "CAREER",
-        "Career Shots",        // formerly "Career Pass Yards"
-        "Career Goals",        // formerly "Career Pass TDs"
-        "Career Steals",       // formerly "Career Interceptions"
-        "Career Skate Dist",   // formerly "Career Rush Yards"
-        "Career Skate Goals",  // formerly "Career Rush TDs"
-        "Career Lost Puck",    // formerly "Career Rush Fumbles"
-        "Career Assist Pts",   // formerly "Career Rec Yards"
-        "Career Assist Gls"    // formerly "Career Rec TDs"
-    };
+    public final String[] recordsList = labelsWithGroups();
 
     /**
      * Constructor to initialize records from an existing list of CSV strings.
      * Same logic as the original football version.
      */
     public LeagueRecords(ArrayList<String> recordStrings) {
-        records = new HashMap<>();
+        this((HockeyLeague) null);
         String[] csv;
         for (String str : recordStrings) {
             csv = str.split(",");
-            records.put(csv[0], new Record(Integer.parseInt(csv[1]), csv[2], Integer.parseInt(csv[3])));
+            RecordType type = RecordType.fromLabel(csv[0]);
+            if (type != null) {
+                setRecord(type.ordinal(), Integer.parseInt(csv[1]), csv[2], Integer.parseInt(csv[3]));
+            }
         }
     }
 
     /**
-     * Default constructor sets up the records HashMap with placeholder values.
-     * Notice how “Team Opp GPG” or “Team Opp Shots/G” are set to 1000 to treat “lower = better.”
+     * Records with nobody holding them yet. "Opp" records start at 1000 since lower is better.
      */
     public LeagueRecords() {
-        records = new HashMap<>();
-
-        //TEAM group
-        records.put("TEAM", null);
-        records.put("Team GPG", new Record(0, "XXX", 0));
-        records.put("Team Opp GPG", new Record(1000, "XXX", 0));
-        records.put("Team Shots/G", new Record(0, "XXX", 0));
-        records.put("Team Opp Shots/G", new Record(1000, "XXX", 0));
-        records.put("Team TKW Diff", new Record(0, "XXX", 0));
-
-        //SEASON group
-        records.put("SEASON", null);
-        records.put("Shots", new Record(0, "XXX", 0));
-        records.put("Goals", new Record(0, "XXX", 0));
-        records.put("Steals", new Record(0, "XXX", 0));
-        records.put("Shot Percent", new Record(0, "XXX", 0));
-        records.put("Skate Dist", new Record(0, "XXX", 0));
-        records.put("Skate Goals", new Record(0, "XXX", 0));
-        records.put("Lost Puck", new Record(0, "XXX", 0));
-        records.put("Assist Pts", new Record(0, "XXX", 0));
-        records.put("Assist Gls", new Record(0, "XXX", 0));
-        records.put("Assist Percent", new Record(0, "XXX", 0));
-
-        //CAREER group
-        records.put("CAREER", null);
-        records.put("Career Shots", new Record(0, "XXX", 0));
-        records.put("Career Goals", new Record(0, "XXX", 0));
-        records.put("Career Steals", new Record(0, "XXX", 0));
-        records.put("Career Skate Dist", new Record(0, "XXX", 0));
-        records.put("Career Skate Goals", new Record(0, "XXX", 0));
-        records.put("Career Lost Puck", new Record(0, "XXX", 0));
-        records.put("Career Assist Pts", new Record(0, "XXX", 0));
-        records.put("Career Assist Gls", new Record(0, "XXX", 0));
+        this((HockeyLeague) null);
+    }
+
+    public LeagueRecords(HockeyLeague league) {
+        this.league = league;
+        int n = RecordType.count();
+        numbers = new int[n];
+        years = new int[n];
+        holderTeams = new int[n];
+        holderPlayers = new String[n];
+        holderLabels = new String[n];
+        for (int i = 0; i < n; ++i) {
+            numbers[i] = RecordType.get(i).initialValue();
+            holderTeams[i] = -1;
+            holderLabels[i] = NO_HOLDER;
+        }
+    }
+
+    private static String[] labelsWithGroups() {
+        ArrayList<String> labels = new ArrayList<>();
+        RecordType.Group group = null;
+        for (int i = 0; i < RecordType.count(); ++i) {
+            RecordType t = RecordType.get(i);
+            if (t.group != group) {
+                group = t.group;
+                labels.add(group.name());
+            }
+            labels.add(t.label);
+        }
+        return labels.toArray(new String[0]);
+    }
+
+    /**
+     * Checks a record to see if it was broken, and takes it if so. teamId is the holder's
+     * team, player their name for the records screen (null for team records).
+     * Only compares and stores, nothing is allocated. Returns true if the record fell.
+     */
+    public boolean checkRecord(RecordType type, int number, int teamId, String player, int year) {
+        int i = type.ordinal();
+        if (!type.isBetter(number, numbers[i])) return false;
+        numbers[i] = number;
+        years[i] = year;
+        holderTeams[i] = teamId;
+        holderPlayers[i] = player;
+        holderLabels[i] = null;
+        return true;
     }
 
     /**
-     * Checks a record to see if it was broken. “Team Opp GPG” or “Team Opp Shots/G”
-     * treat lower as better; all others treat higher as better.
+     * Same check by label and holder string ("ABB" or "ABB F. Last"), for saves and
+     * older callers. Group headers and unknown labels are ignored.
      */
     public void checkRecord(String record, int number, String holder, int year) {
-        if (record.equals("Team Opp GPG") || record.equals("Team Opp Shots/G")) {
-            // For these, lower = better
-            if (records.containsKey(record) && number < records.get(record).getNumber()) {
-                records.remove(record);
-                records.put(record, new Record(number, holder, year));
-            } else if (!records.containsKey(record)) {
-                records.put(record, new Record(number, holder, year));
-            }
+        RecordType type = RecordType.fromLabel(record);
+        if (type == null || !type.isBetter(number, numbers[type.ordinal()])) return;
+        setRecord(type.ordinal(), number, holder, year);
+    }
+
+    /**
+     * Store a record given its holder as a label, linking it to a team if the abbr is one.
+     */
+    private void setRecord(int i, int number, String holder, int year) {
+        numbers[i] = number;
+        years[i] = year;
+        int space = holder.indexOf(' ');
+        String abbr = space < 0 ? holder : holder.substring(0, space);
+        TeamHockey t = league != null && league.teamList != null ? league.findTeamAbbrOrNull(abbr) : null;
+        if (t != null) {
+            holderTeams[i] = t.teamId;
+            holderPlayers[i] = space < 0 ? null : holder.substring(space + 1);
+            holderLabels[i] = null;
         } else {
-            // For all other records, higher = better
-            if (records.containsKey(record) && number > records.get(record).getNumber()) {
-                records.remove(record);
-                records.put(record, new Record(number, holder, year));
-            } else if (!records.containsKey(record)) {
-                records.put(record, new Record(number, holder, year));
-            }
+            holderTeams[i] = -1;
+            holderPlayers[i] = null;
+            holderLabels[i] = holder;
         }
     }
 
+    public int getNumber(RecordType type) {
+        return numbers[type.ordinal()];
+    }
+
+    public int getYear(RecordType type) {
+        return years[type.ordinal()];
+    }
+
+    /**
+     * teamId of the holder, -1 if nobody holds it or the holder is an old label.
+     */
+    public int getHolderTeamId(RecordType type) {
+        return holderTeams[type.ordinal()];
+    }
+
+    /**
+     * Player name part of the holder, null for team records and old labels.
+     */
+    public String getHolderPlayer(RecordType type) {
+        return holderPlayers[type.ordinal()];
+    }
+
+    /**
+     * Holder as shown and saved: "ABB" for team records, "ABB F. Last" for players.
+     */
+    public String getHolder(RecordType type) {
+        int i = type.ordinal();
+        if (holderTeams[i] < 0) return holderLabels[i];
+        String abbr = holderAbbr(i);
+        return holderPlayers[i] != null ? abbr + " " + holderPlayers[i] : abbr;
+    }
+
+    private String holderAbbr(int i) {
+        if (holderTeams[i] >= 0) {
+            TeamHockey t = league.getTeamById(holderTeams[i]);
+            if (t != null) return t.abbr;
+        }
+        String label = holderLabels[i] != null ? holderLabels[i] : NO_HOLDER;
+        int space = label.indexOf(' ');
+        return space < 0 ? label : label.substring(0, space);
+    }
+
     /**
      * Changes a team abbreviation in the record if the holder had the old abbr.
+     * Holders linked to a team pick up the new abbr on their own; this only
+     * rewrites the ones kept as labels.
      */
     public void changeAbbrRecords(String oldAbbr, String newAbbr) {
-        Record r;
-        for (String s : recordsList) {
-            r = records.get(s);
-            if (r != null && r.getHolder().split(" ")[0].equals(oldAbbr)) {
-                r.changeAbbr(newAbbr);
+        for (int i = 0; i < holderLabels.length; ++i) {
+            if (holderTeams[i] < 0 && holderAbbr(i).equals(oldAbbr)) {
+                holderLabels[i] = newAbbr + holderLabels[i].substring(oldAbbr.length());
             }
         }
     }
@@ -193,14 +197,43 @@ public class LeagueRecords {
      * Helper for getRecordsStr(), returns a single CSV line for that record.
      */
     private String recordStrCSV(String key) {
-        if (records.containsKey(key)) {
-            Record r = records.get(key);
-            if (r == null) {
-                return key + ",-1,-1,-1";
+        RecordType type = RecordType.fromLabel(key);
+        if (type == null) {
+            return key + ",-1,-1,-1";
+        }
+        return key + "," + getNumber(type) + "," + getHolder(type) + "," + getYear(type);
+    }
+
+    /**
+     * Binary form of getRecordsStr(): count, then label, number, holder and year per
+     * record in recordsList order. Group headers have no record and are written as absent.
+     */
+    public void writeBinary(SaveOutput out) {
+        out.writeVarInt(recordsList.length);
+        for (String s : recordsList) {
+            RecordType type = RecordType.fromLabel(s);
+            out.writeString(s);
+            out.writeBoolean(type != null);
+            if (type != null) {
+                out.writeInt(getNumber(type));
+                out.writeString(getHolder(type));
+                out.writeVarInt(getYear(type));
             }
-            return key + "," + r.getNumber() + "," + r.getHolder() + "," + r.getYear();
-        } else {
-            return "ERROR,ERROR,ERROR,ERROR";
+        }
+    }
+
+    /**
+     * Read records written by writeBinary(), through checkRecord() like the text loader.
+     */
+    public void readBinary(SaveInput in) {
+        int n = in.readVarInt();
+        for (int i = 0; i < n; ++i) {
+            String key = in.readString();
+            if (!in.readBoolean()) continue;
+            int number = in.readInt();
+            String holder = in.readString();
+            int year = in.readVarInt();
+            checkRecord(key, number, holder, year);
         }
     }
 
@@ -210,15 +243,11 @@ public class LeagueRecords {
      */
     public String brokenRecordsStr(int year, String abbr) {
         StringBuilder sb = new StringBuilder();
-        for (Map.Entry<String, Record> e : records.entrySet()) {
-            Record rec = e.getValue();
-            if (rec != null &&
-                rec.getHolder().split(" ")[0].equals(abbr) &&
-                rec.getYear() == year &&
-                !e.getKey().split(" ")[0].equals("Career")) 
-            {
-                sb.append(rec.getHolder() + " broke the record for " +
-                          e.getKey() + " with " + rec.getNumber() + "!\n");
+        for (int i = 0; i < numbers.length; ++i) {
+            RecordType type = RecordType.get(i);
+            if (type.group != RecordType.Group.CAREER && years[i] == year && holderAbbr(i).equals(abbr)) {
+                sb.append(getHolder(type) + " broke the record for " +
+                          type.label + " with " + numbers[i] + "!\n");
             }
         }
         return sb.toString();
@@ -0,0 +1,22 @@
+package Main;
+
+
+/**
+ * One finished season of league history, as handed out by HockeyLeague.forEachSeason.
+ */
+public class LeagueSeason {
+
+    public final int year;
+    public final String[] top10;    // "ABBR (W-L)", champion first
+    public final String hobey;      // Hobey Baker winner line, "" if none was recorded
+
+    public LeagueSeason(int year, String[] top10, String hobey) {
+        this.year = year;
+        this.top10 = top10;
+        this.hobey = hobey;
+    }
+
+    public String getChampion() {
+        return top10.length > 0 ? top10[0] : "";
+    }
+}
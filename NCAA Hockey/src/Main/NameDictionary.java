@@ -0,0 +1,207 @@
+package Main;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable first/last name lists, parsed once per process and shared by every league
+ * built from the same lists. Players keep a packed (first, last) index into it, and
+ * the full and "J. Smith" names are handed out from a small shared cache, so players
+ * with the same name share one String and nothing has to split() names to show them.
+ */
+public final class NameDictionary implements Serializable {
+
+    private static final ConcurrentHashMap<Object, NameDictionary> SHARED = new ConcurrentHashMap<>();
+
+    // Direct-mapped, lock-free cache of rendered names; a collision just renders again
+    private static final int CACHE_SIZE = 4096;
+
+    public static final int MAX_FIRST = 0x7FFF;
+    public static final int MAX_LAST = 0xFFFF;
+
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final String[] firstInitials;   // "J. "
+    private final AtomicReferenceArray<Rendered> cache;
+
+    private NameDictionary(CharSequence firstCSV, CharSequence lastCSV) {
+        firstNames = parse(firstCSV);
+        lastNames = parse(lastCSV);
+        if (firstNames.length == 0 || lastNames.length == 0) {
+            throw new IllegalArgumentException("Name lists can't be empty");
+        }
+        // first index goes in the top 15 bits so packed indexes stay >= 0; negative
+        // values are Player's "unknown" (-1) and donation names
+        if (firstNames.length > MAX_FIRST || lastNames.length > MAX_LAST) {
+            throw new IllegalArgumentException("At most " + MAX_FIRST + " first and " + MAX_LAST + " last names");
+        }
+        firstInitials = new String[firstNames.length];
+        for (int i = 0; i < firstNames.length; ++i) {
+            firstInitials[i] = firstNames[i].substring(0, 1) + ". ";
+        }
+        cache = new AtomicReferenceArray<>(CACHE_SIZE);
+    }
+
+    /**
+     * Dictionary for the given comma-separated lists, shared with any league that
+     * already asked for the same lists.
+     */
+    public static NameDictionary shared(String firstCSV, String lastCSV) {
+        return SHARED.computeIfAbsent(new CsvKey(firstCSV, lastCSV), k -> new NameDictionary(firstCSV, lastCSV));
+    }
+
+    /**
+     * Dictionary read straight from memory-mapped CSV files, shared per pair of files.
+     */
+    public static NameDictionary mapped(File firstFile, File lastFile) throws IOException {
+        String key = firstFile.getCanonicalPath() + "|" + lastFile.getCanonicalPath();
+        NameDictionary d = SHARED.get(key);
+        if (d == null) {
+            d = new NameDictionary(map(firstFile), map(lastFile));
+            NameDictionary prev = SHARED.putIfAbsent(key, d);
+            if (prev != null) d = prev;
+        }
+        return d;
+    }
+
+    /**
+     * Never negative, first is below MAX_FIRST.
+     */
+    public static int pack(int first, int last) {
+        return (first << 16) | last;
+    }
+
+    public static int firstOf(int nameIdx) {
+        return nameIdx >>> 16;
+    }
+
+    public static int lastOf(int nameIdx) {
+        return nameIdx & 0xFFFF;
+    }
+
+    public int firstCount() {
+        return firstNames.length;
+    }
+
+    public int lastCount() {
+        return lastNames.length;
+    }
+
+    public String getFirst(int i) {
+        return firstNames[i];
+    }
+
+    public String getLast(int i) {
+        return lastNames[i];
+    }
+
+    /**
+     * Packed index of a random first + last name.
+     */
+    public int randomIndex() {
+        int fn = (int) (Math.random() * firstNames.length);
+        int ln = (int) (Math.random() * lastNames.length);
+        return pack(fn, ln);
+    }
+
+    /**
+     * "Jack Hughes"
+     */
+    public String fullName(int nameIdx) {
+        return render(nameIdx).full;
+    }
+
+    /**
+     * "J. Hughes"
+     */
+    public String initialName(int nameIdx) {
+        return render(nameIdx).initial;
+    }
+
+    private Rendered render(int nameIdx) {
+        int slot = slot(nameIdx);
+        Rendered r = cache.get(slot);
+        if (r == null || r.nameIdx != nameIdx) {
+            String last = lastNames[lastOf(nameIdx)];
+            r = new Rendered(nameIdx, firstNames[firstOf(nameIdx)] + " " + last,
+                    firstInitials[firstOf(nameIdx)] + last);
+            cache.set(slot, r);
+        }
+        return r;
+    }
+
+    private static int slot(int nameIdx) {
+        int h = nameIdx * 0x9E3779B9;
+        return (h >>> 20) & (CACHE_SIZE - 1);
+    }
+
+    private static String[] parse(CharSequence csv) {
+        ArrayList<String> names = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= csv.length(); ++i) {
+            if (i == csv.length() || csv.charAt(i) == ',') {
+                String n = csv.subSequence(start, i).toString().trim();
+                if (!n.isEmpty()) names.add(n);
+                start = i + 1;
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+
+    private static CharSequence map(File f) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(f, "r");
+             FileChannel ch = raf.getChannel()) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            return StandardCharsets.UTF_8.decode(buf);
+        }
+    }
+
+    /**
+     * Both renderings of one name, cached together.
+     */
+    private static final class Rendered implements Serializable {
+        private final int nameIdx;
+        private final String full;
+        private final String initial;
+
+        Rendered(int nameIdx, String full, String initial) {
+            this.nameIdx = nameIdx;
+            this.full = full;
+            this.initial = initial;
+        }
+    }
+
+    /**
+     * Cache key for a pair of CSV strings, compared by content.
+     */
+    private static final class CsvKey {
+        private final String first;
+        private final String last;
+
+        CsvKey(String first, String last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CsvKey)) return false;
+            CsvKey k = (CsvKey) o;
+            return first.equals(k.first) && last.equals(k.last);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * first.hashCode() + last.hashCode();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package Main;
+
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The league news, one bounded ring of NewsStory per week (0 = preseason, last = final).
+ * Appends are lock-free: a producer claims a slot with getAndIncrement and writes it,
+ * so games played on different threads can post stories at the same time. Once a
+ * week is full the oldest stories are overwritten. Text is rendered only on read.
+ */
+public class NewsFeed implements Serializable {
+
+    public static final int DEFAULT_WEEKS = 16;    // default 6 x 10 league, see LeagueConfig
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final int weeks;
+    private final int capacity;
+    private final AtomicReferenceArray<NewsStory>[] rings;
+    private final AtomicLong[] counts;
+
+    public NewsFeed() {
+        this(DEFAULT_WEEKS, DEFAULT_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public NewsFeed(int weeks, int capacity) {
+        this.weeks = Math.max(weeks, 1);
+        this.capacity = Math.max(capacity, 1);
+        rings = new AtomicReferenceArray[this.weeks];
+        counts = new AtomicLong[this.weeks];
+        for (int w = 0; w < this.weeks; ++w) {
+            rings[w] = new AtomicReferenceArray<>(this.capacity);
+            counts[w] = new AtomicLong();
+        }
+    }
+
+    /**
+     * Post a story to its week. Safe to call from any thread.
+     */
+    public void add(NewsStory story) {
+        int w = clampWeek(story.week);
+        long n = counts[w].getAndIncrement();
+        rings[w].set((int) (n % capacity), story);
+    }
+
+    /**
+     * Stories kept for a week, oldest first.
+     */
+    public ArrayList<NewsStory> getWeek(int week) {
+        int w = clampWeek(week);
+        long end = counts[w].get();
+        long start = Math.max(0, end - capacity);
+        ArrayList<NewsStory> stories = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; ++i) {
+            NewsStory s = rings[w].get((int) (i % capacity));
+            // slot claimed but not written yet by a concurrent add
+            if (s != null) stories.add(s);
+        }
+        return stories;
+    }
+
+    /**
+     * A week's stories rendered to "headline>body" strings, oldest first.
+     */
+    public ArrayList<String> getWeekStories(int week) {
+        ArrayList<NewsStory> stories = getWeek(week);
+        ArrayList<String> text = new ArrayList<>(stories.size());
+        for (NewsStory s : stories) {
+            text.add(s.render());
+        }
+        return text;
+    }
+
+    /**
+     * Number of stories currently kept for a week.
+     */
+    public int size(int week) {
+        return (int) Math.min(counts[clampWeek(week)].get(), capacity);
+    }
+
+    /**
+     * Stories ever posted to a week since the last clear(), overwritten ones included.
+     */
+    public long count(int week) {
+        return counts[clampWeek(week)].get();
+    }
+
+    /**
+     * Stories ever posted to any week since the last clear().
+     */
+    public long count() {
+        long n = 0;
+        for (int w = 0; w < weeks; ++w) {
+            n += counts[w].get();
+        }
+        return n;
+    }
+
+    public int weeks() {
+        return weeks;
+    }
+
+    public int size() {
+        int n = 0;
+        for (int w = 0; w < weeks; ++w) {
+            n += size(w);
+        }
+        return n;
+    }
+
+    /**
+     * Drop all stories, e.g. at the start of a new season. Not safe against
+     * concurrent add, call between weeks.
+     */
+    public void clear() {
+        for (int w = 0; w < weeks; ++w) {
+            counts[w].set(0);
+            for (int i = 0; i < capacity; ++i) {
+                rings[w].set(i, null);
+            }
+        }
+    }
+
+    private int clampWeek(int week) {
+        if (week < 0) return 0;
+        return week >= weeks ? weeks - 1 : week;
+    }
+}
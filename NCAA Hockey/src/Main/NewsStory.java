@@ -0,0 +1,173 @@
+package Main;
+
+
+import java.io.Serializable;
+
+/**
+ * One news item, stored as the facts (kind, teams, scores, week) rather than text.
+ * Ranks and records are snapshotted when the story is created since they change
+ * week to week; the "headline>body" string is only built when someone reads it.
+ */
+public class NewsStory implements Serializable {
+
+    public enum Kind {
+        TEXT,                   // pre-written headline/body
+        OVERTIME_THRILLER,
+        FIRST_LOSS,
+        UPSET,
+        CONF_CHAMPIONSHIP,
+        CUP_WIN,
+        SEMIFINAL_WIN,
+        TOURNAMENT_WIN,         // rounds before the semis
+        NATIONAL_CHAMPIONSHIP
+    }
+
+    public final Kind kind;
+    public final int week;
+
+    // Team A is the winner / subject of the story, team B the loser
+    public final TeamHockey teamA;
+    public final TeamHockey teamB;
+    public final int rankA, winsA, lossesA;
+    public final int rankB, winsB, lossesB;
+    public final int scoreA;
+    public final int scoreB;
+    public final boolean aAtHome;
+
+    // Game or conference name, overtime count; headline/body for TEXT stories
+    public final String label;
+    public final int numOT;
+    public final String body;
+
+    private NewsStory(Kind kind, int week, TeamHockey teamA, TeamHockey teamB, int scoreA, int scoreB,
+                      boolean aAtHome, String label, int numOT, String body) {
+        this.kind = kind;
+        this.week = week;
+        this.teamA = teamA;
+        this.teamB = teamB;
+        this.rankA = teamA != null ? teamA.rankTeamPollScore : 0;
+        this.winsA = teamA != null ? teamA.wins : 0;
+        this.lossesA = teamA != null ? teamA.losses : 0;
+        this.rankB = teamB != null ? teamB.rankTeamPollScore : 0;
+        this.winsB = teamB != null ? teamB.wins : 0;
+        this.lossesB = teamB != null ? teamB.losses : 0;
+        this.scoreA = scoreA;
+        this.scoreB = scoreB;
+        this.aAtHome = aAtHome;
+        this.label = label;
+        this.numOT = numOT;
+        this.body = body;
+    }
+
+    public static NewsStory text(int week, String headline, String body) {
+        return new NewsStory(Kind.TEXT, week, null, null, 0, 0, false, headline, 0, body);
+    }
+
+    public static NewsStory overtimeThriller(int week, TeamHockey winner, TeamHockey loser,
+                                             int winScore, int loseScore, int numOT) {
+        return new NewsStory(Kind.OVERTIME_THRILLER, week, winner, loser, winScore, loseScore, false, null, numOT, null);
+    }
+
+    public static NewsStory firstLoss(int week, TeamHockey winner, TeamHockey loser, int winScore, int loseScore) {
+        return new NewsStory(Kind.FIRST_LOSS, week, winner, loser, winScore, loseScore, false, null, 0, null);
+    }
+
+    public static NewsStory upset(int week, TeamHockey winner, TeamHockey loser,
+                                  int winScore, int loseScore, boolean winnerAtHome) {
+        return new NewsStory(Kind.UPSET, week, winner, loser, winScore, loseScore, winnerAtHome, null, 0, null);
+    }
+
+    public static NewsStory confChampionship(int week, String confName, TeamHockey winner, TeamHockey loser,
+                                             int winScore, int loseScore, boolean winnerAtHome) {
+        return new NewsStory(Kind.CONF_CHAMPIONSHIP, week, winner, loser, winScore, loseScore, winnerAtHome, confName, 0, null);
+    }
+
+    public static NewsStory cupWin(int week, String gameName, TeamHockey winner, TeamHockey loser,
+                                   int winScore, int loseScore) {
+        return new NewsStory(Kind.CUP_WIN, week, winner, loser, winScore, loseScore, false, gameName, 0, null);
+    }
+
+    public static NewsStory semifinalWin(int week, String gameName, TeamHockey winner, TeamHockey loser,
+                                         int winScore, int loseScore) {
+        return new NewsStory(Kind.SEMIFINAL_WIN, week, winner, loser, winScore, loseScore, false, gameName, 0, null);
+    }
+
+    public static NewsStory tournamentWin(int week, String gameName, TeamHockey winner, TeamHockey loser,
+                                          int winScore, int loseScore) {
+        return new NewsStory(Kind.TOURNAMENT_WIN, week, winner, loser, winScore, loseScore, false, gameName, 0, null);
+    }
+
+    public static NewsStory nationalChampionship(int week, TeamHockey winner, TeamHockey loser,
+                                                 int winScore, int loseScore) {
+        return new NewsStory(Kind.NATIONAL_CHAMPIONSHIP, week, winner, loser, winScore, loseScore, false, null, 0, null);
+    }
+
+    /**
+     * Headline only.
+     */
+    public String getHeadline() {
+        String s = render();
+        return s.substring(0, s.indexOf('>'));
+    }
+
+    /**
+     * Build the "headline>body" text the news screen expects.
+     */
+    public String render() {
+        switch (kind) {
+            case OVERTIME_THRILLER:
+                return numOT + "OT Thriller!>" + repA() + " and " + repB() + " played an absolutely thrilling game "
+                        + "that went to " + numOT + " overtimes, with " + teamA.name + " finally emerging victorious "
+                        + scoreA + " to " + scoreB + ".";
+            case FIRST_LOSS:
+                return "Undefeated no more! " + teamB.name + " suffers first loss!"
+                        + ">" + repA() + " hands " + repB()
+                        + " their first loss of the season, winning " + scoreA + " to " + scoreB + ".";
+            case UPSET:
+                return "Upset! " + repA() + " beats " + repB()
+                        + ">#" + rankA + " " + teamA.name + " was able to pull off the upset "
+                        + (aAtHome ? "at home" : "on the road") + " against #"
+                        + rankB + " " + teamB.name + ", winning " + scoreA + " to " + scoreB + ".";
+            case CONF_CHAMPIONSHIP:
+                if (aAtHome) {
+                    return teamA.name + " wins the " + label + " Hockey Championship!>"
+                            + repA() + " defended home ice against " + repB()
+                            + ", with a final score of " + scoreA + " to " + scoreB + ".";
+                }
+                return teamA.name + " wins the " + label + " Hockey Championship!>"
+                        + repA() + " pulled off the upset on the road against " + repB()
+                        + ", winning by a score of " + scoreA + " to " + scoreB + ".";
+            case CUP_WIN:
+                return teamA.name + " wins the " + label + "!>"
+                        + repA() + " defeats " + repB() + ", " + scoreA + " to " + scoreB + ".";
+            case SEMIFINAL_WIN:
+                return teamA.name + " wins the " + label + "!>"
+                        + repA() + " defeats " + repB() + ", " + scoreA + " to " + scoreB + ". "
+                        + teamA.name + " advances to the Championship!";
+            case TOURNAMENT_WIN:
+                return teamA.name + " wins the " + label + "!>"
+                        + repA() + " defeats " + repB() + ", " + scoreA + " to " + scoreB + ". "
+                        + teamA.name + " moves on to the next round.";
+            case NATIONAL_CHAMPIONSHIP:
+                return teamA.name + " wins the Hockey Championship!>"
+                        + repA() + " defeats " + repB() + " in the final " + scoreA + " to " + scoreB + "."
+                        + " Congratulations " + teamA.name + "!";
+            default:
+                return label + ">" + body;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return render();
+    }
+
+    // Same format as TeamHockey.strRep(), but with the numbers from when the story happened
+    private String repA() {
+        return "#" + rankA + " " + teamA.abbr + " (" + winsA + "-" + lossesA + ")";
+    }
+
+    private String repB() {
+        return "#" + rankB + " " + teamB.abbr + " (" + winsB + "-" + lossesB + ")";
+    }
+}
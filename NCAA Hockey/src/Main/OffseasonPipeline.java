@@ -0,0 +1,128 @@
+package Main;
+
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * The season rollover, split into explicit stages. Within a stage every team only
+ * touches its own roster and counters, so teams are spread over the common fork/join
+ * pool; anything that writes shared league state (records, bless/curse, streaks,
+ * the schedule table) runs serially between stages.
+ *
+ * Cross-team reads (rival prestige) come from a snapshot taken before the first stage,
+ * so the result no longer depends on the order teams happen to be processed in.
+ */
+public class OffseasonPipeline {
+
+    public enum Stage {
+        DEPARTURES,     // prestige, HoF/career records, seniors and early departures off the roster
+        PROGRESSION,    // per-player offseason development
+        RECRUITING,     // AI teams sign freshmen and reset, then bless/curse and streaks
+        RANK_REFRESH,   // preseason poll scores and ranks
+        SCHEDULING      // conference round robins and non-conference games, one pass into the schedule table
+    }
+
+    private final HockeyLeague league;
+    private final boolean parallel;
+    private final EnumMap<Stage, Long> stageNanos;
+
+    private List<TeamHockey> teams;
+    private int[][] needs;
+
+    public OffseasonPipeline(HockeyLeague league) {
+        this(league, true);
+    }
+
+    public OffseasonPipeline(HockeyLeague league, boolean parallel) {
+        this.league = league;
+        this.parallel = parallel;
+        this.stageNanos = new EnumMap<>(Stage.class);
+    }
+
+    /**
+     * Run every stage in order.
+     */
+    public void run() {
+        // fixed order for the whole rollover, the stages below re-sort teamList
+        teams = new ArrayList<>(league.teamList);
+        needs = new int[teams.size()][];
+        for (Stage stage : Stage.values()) {
+            long start = System.nanoTime();
+            runStage(stage);
+            stageNanos.put(stage, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * How long a stage took on the last run, in nanoseconds (0 if it hasn't run).
+     */
+    public long getStageNanos(Stage stage) {
+        Long n = stageNanos.get(stage);
+        return n != null ? n : 0;
+    }
+
+    private void runStage(Stage stage) {
+        switch (stage) {
+            case DEPARTURES:
+                int[] rivalPrestige = snapshotRivalPrestige();
+                forEachTeam(i -> {
+                    TeamHockey t = teams.get(i);
+                    t.advancePrestige(rivalPrestige[i]);
+                    t.getPlayersLeaving();
+                });
+                // league and user records are shared
+                for (TeamHockey t : teams) {
+                    t.checkSeasonRecords();
+                }
+                forEachTeam(i -> needs[i] = teams.get(i).removeDepartures());
+                break;
+            case PROGRESSION:
+                forEachTeam(i -> teams.get(i).progressPlayers());
+                break;
+            case RECRUITING:
+                forEachTeam(i -> teams.get(i).recruitForNeeds(needs[i]));
+                league.applyOffseasonStorylines();
+                break;
+            case RANK_REFRESH:
+                forEachTeam(i -> teams.get(i).updatePollScore());
+                league.setTeamRanks();
+                break;
+            case SCHEDULING:
+                for (HockeyConference c : league.conferences) {
+                    c.roundRobinWeek = 0;
+                    c.currentWeek = 0;
+                }
+                // one pass into the shared schedule table, serial
+                league.setUpSchedule();
+                break;
+        }
+    }
+
+    /**
+     * Every team's rival prestige as it was before anyone advanced.
+     */
+    private int[] snapshotRivalPrestige() {
+        IdentityHashMap<TeamHockey, Integer> before = new IdentityHashMap<>();
+        for (TeamHockey t : teams) {
+            before.put(t, t.teamPrestige);
+        }
+        int[] rivalPrestige = new int[teams.size()];
+        for (int i = 0; i < teams.size(); ++i) {
+            TeamHockey t = teams.get(i);
+            Integer p = before.get(t.getRival());
+            rivalPrestige[i] = p != null ? p : t.teamPrestige;
+        }
+        return rivalPrestige;
+    }
+
+    private void forEachTeam(IntConsumer task) {
+        IntStream range = IntStream.range(0, teams.size());
+        if (parallel) range = range.parallel();
+        range.forEach(task);
+    }
+}
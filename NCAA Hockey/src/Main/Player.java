@@ -10,8 +10,10 @@ import java.util.Vector;
 public class Player {
     
     public TeamHockey team;
-    public String name;
-    public String position;      // e.g. "C", "LW", "RW", "D", "G"
+    public String name;          // null when the name comes from the NameDictionary, use getName()
+    public int nameIdx = -1;     // packed NameDictionary index, < -1 for donation names, -1 if unknown
+    public Position pos;         // use this for comparisons/sorting
+    public String position;      // display label, always pos.label
     public int year;             // 1=Freshman, 2=Soph, etc.
     public int ratOvr;          // Overall rating
     public int ratPot;          // Potential
@@ -80,10 +82,37 @@ public class Player {
         return ratOvr * adjGames;
     }
 
+    /**
+     * Full name, from the league's NameDictionary unless the player has a String of their own.
+     */
+    public String getName() {
+        return name != null ? name : team.league.names.fullName(nameIdx);
+    }
+
+    /**
+     * Which dictionary name this is. The player's own String is dropped if the dictionary
+     * spells it the same; if it doesn't (renamed since) the String stays and nameIdx is -1.
+     */
+    public void setNameIdx(int idx) {
+        NameDictionary dict = team != null && team.league != null ? team.league.names : null;
+        if (idx >= 0 && dict != null) {
+            if (name == null || dict.fullName(idx).equals(name)) {
+                name = null;
+            } else {
+                idx = -1;
+            }
+        }
+        nameIdx = idx;
+    }
+
     /**
      * Returns a short name format: “J. Smith.”
+     * From the league's NameDictionary when the player came from it.
      */
     public String getInitialName() {
+        if (name == null) {
+            return team.league.names.initialName(nameIdx);
+        }
         String[] names = name.split(" ");
         if (names.length > 1) {
             return names[0].substring(0,1) + ". " + names[1];
@@ -97,7 +126,7 @@ public class Player {
      * Returns a string with position, name, year, overall/potential, plus injury if present.
      */
     public String getPosNameYrOvrPot_Str() {
-        return position + " " + name + " [" + getYrStr() + "]>" +
+        return position + " " + getName() + " [" + getYrStr() + "]>" +
                "Ovr: " + ratOvr + ", Pot: " + getLetterGrade(ratPot);
     }
 
@@ -110,7 +139,7 @@ public class Player {
      * Returns "Pos name [year] Ovr: X"
      */
     public String getPosNameYrOvr_Str() {
-        return position + " " + name + " [" + getYrStr() + "] Ovr: " + ratOvr;
+        return position + " " + getName() + " [" + getYrStr() + "] Ovr: " + ratOvr;
     }
 
     /**
@@ -246,18 +275,18 @@ public class Player {
     }
 
     /**
-     * “getPosNumber” method from football adapted to hockey positions. 
-     * You might later expand or remove it entirely.
+     * “getPosNumber” method from football adapted to hockey positions.
+     * Order is C, LW, RW, LD, RD, G; unknown labels sort last.
      */
     public static int getPosNumber(String pos) {
-        // Example hockey positions:
-        switch (pos) {
-            case "C": return 0;
-            case "LW": return 1;
-            case "RW": return 2;
-            case "D": return 3;   // could differentiate LD vs RD if you wish
-            case "G": return 4;
-            default: return 5;    // fallback
-        }
+        Position p = Position.fromLabel(pos);
+        return p != null ? p.ordinal() : Position.values().length;
+    }
+
+    /**
+     * Position order number without any string work.
+     */
+    public int getPosNumber() {
+        return pos.ordinal();
     }
 }
@@ -63,7 +63,7 @@ public class PlayerC extends PlayerHockey {
 
         // Keep a Vector of ratings for UI
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -93,7 +93,8 @@ public class PlayerC extends PlayerHockey {
         careerWins = 0;
 
         // Position label for a Center
-        position = "C";
+        pos = Position.C;
+        position = pos.label;
     }
 
     /**
@@ -125,7 +126,7 @@ public class PlayerC extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -154,7 +155,8 @@ public class PlayerC extends PlayerHockey {
         careerAllConference = cAC;
         careerWins = cWins;
 
-        position = "C";
+        pos = Position.C;
+        position = pos.label;
     }
 
     /**
@@ -181,7 +183,7 @@ public class PlayerC extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -208,7 +210,8 @@ public class PlayerC extends PlayerHockey {
         careerAllConference = 0;
         careerWins = 0;
 
-        position = "C";
+        pos = Position.C;
+        position = pos.label;
     }
 
     /**
@@ -233,7 +236,7 @@ public class PlayerC extends PlayerHockey {
      */
     public Vector getRatingsVector() {
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -0,0 +1,543 @@
+package Main;
+
+
+import java.util.ArrayList;
+
+/**
+ * Binary codec for one player class, written out by hand for each position so
+ * saving and loading never goes through reflection or string parsing. The common
+ * Player fields come first, then the position's three ratings and four career stats.
+ *
+ * Like the text save, only what survives the offseason is stored: season stats
+ * are folded into the career totals by advanceSeason() before a save is useful.
+ */
+public abstract class PlayerCodec<P extends PlayerHockey> {
+
+    public static final PlayerCodec<PlayerC> CENTER = new PlayerCodec<PlayerC>(Position.C) {
+        @Override
+        protected void ownFields(PlayerC p, int[] into) {
+            into[0] = p.ratShotPow;
+            into[1] = p.ratSpeed;
+            into[2] = p.ratPuckControl;
+            into[3] = p.careerShots;
+            into[4] = p.careerAssists;
+            into[5] = p.careerGoals;
+            into[6] = p.careerLostPuck;
+        }
+
+        @Override
+        protected void ownStats(PlayerC p, int[] into) {
+            into[2] = p.statsShots;
+            into[3] = p.statsAssists;
+            into[4] = p.statsGoals;
+            into[5] = p.statsLostPuck;
+        }
+
+        @Override
+        protected void ownCareer(PlayerC p, int[] into) {
+            into[2] = p.careerShots;
+            into[3] = p.careerAssists;
+            into[4] = p.careerGoals;
+            into[5] = p.careerLostPuck;
+        }
+
+        @Override
+        protected void addOwnStats(PlayerC p, int[] delta) {
+            p.statsShots += delta[2];
+            p.statsAssists += delta[3];
+            p.statsGoals += delta[4];
+            p.statsLostPuck += delta[5];
+        }
+
+        @Override
+        protected PlayerC create(String name, TeamHockey team, int year, int pot, int iq, int dur,
+                                 int cGames, int cHobeys, int cAllHock, int cAC, int cWins, int[] own) {
+            int sPow = own[0];
+            int spd = own[1];
+            int pc = own[2];
+            int cShots = own[3];
+            int cAssists = own[4];
+            int cGoals = own[5];
+            int cLostPuck = own[6];
+            return new PlayerC(name, team, year, pot, iq, sPow, spd, pc, false, dur,
+                    cGames, cShots, cAssists, cGoals, cLostPuck, cHobeys, cAllHock, cAC, cWins);
+        }
+    };
+
+    public static final PlayerCodec<PlayerLW> LEFT_WING = new PlayerCodec<PlayerLW>(Position.LW) {
+        @Override
+        protected void ownFields(PlayerLW p, int[] into) {
+            into[0] = p.ratShotPow;
+            into[1] = p.ratSpeed;
+            into[2] = p.ratPuckControl;
+            into[3] = p.careerShots;
+            into[4] = p.careerAssists;
+            into[5] = p.careerGoals;
+            into[6] = p.careerLostPuck;
+        }
+
+        @Override
+        protected void ownStats(PlayerLW p, int[] into) {
+            into[2] = p.statsShots;
+            into[3] = p.statsAssists;
+            into[4] = p.statsGoals;
+            into[5] = p.statsLostPuck;
+        }
+
+        @Override
+        protected void ownCareer(PlayerLW p, int[] into) {
+            into[2] = p.careerShots;
+            into[3] = p.careerAssists;
+            into[4] = p.careerGoals;
+            into[5] = p.careerLostPuck;
+        }
+
+        @Override
+        protected void addOwnStats(PlayerLW p, int[] delta) {
+            p.statsShots += delta[2];
+            p.statsAssists += delta[3];
+            p.statsGoals += delta[4];
+            p.statsLostPuck += delta[5];
+        }
+
+        @Override
+        protected PlayerLW create(String name, TeamHockey team, int year, int pot, int iq, int dur,
+                                  int cGames, int cHobeys, int cAllHock, int cAC, int cWins, int[] own) {
+            int shotPow = own[0];
+            int spd = own[1];
+            int pc = own[2];
+            int cShots = own[3];
+            int cAssists = own[4];
+            int cGoals = own[5];
+            int cLostPuck = own[6];
+            return new PlayerLW(name, team, year, pot, iq, shotPow, spd, pc, false, dur,
+                    cGames, cShots, cAssists, cGoals, cLostPuck, cHobeys, cAllHock, cAC, cWins);
+        }
+    };
+
+    public static final PlayerCodec<PlayerRW> RIGHT_WING = new PlayerCodec<PlayerRW>(Position.RW) {
+        @Override
+        protected void ownFields(PlayerRW p, int[] into) {
+            into[0] = p.ratShotPow;
+            into[1] = p.ratSpeed;
+            into[2] = p.ratPuckControl;
+            into[3] = p.careerShots;
+            into[4] = p.careerAssists;
+            into[5] = p.careerGoals;
+            into[6] = p.careerLostPuck;
+        }
+
+        @Override
+        protected void ownStats(PlayerRW p, int[] into) {
+            into[2] = p.statsShots;
+            into[3] = p.statsAssists;
+            into[4] = p.statsGoals;
+            into[5] = p.statsLostPuck;
+        }
+
+        @Override
+        protected void ownCareer(PlayerRW p, int[] into) {
+            into[2] = p.careerShots;
+            into[3] = p.careerAssists;
+            into[4] = p.careerGoals;
+            into[5] = p.careerLostPuck;
+        }
+
+        @Override
+        protected void addOwnStats(PlayerRW p, int[] delta) {
+            p.statsShots += delta[2];
+            p.statsAssists += delta[3];
+            p.statsGoals += delta[4];
+            p.statsLostPuck += delta[5];
+        }
+
+        @Override
+        protected PlayerRW create(String name, TeamHockey team, int year, int pot, int iq, int dur,
+                                  int cGames, int cHobeys, int cAllHock, int cAC, int cWins, int[] own) {
+            int shotPow = own[0];
+            int spd = own[1];
+            int pc = own[2];
+            int cShots = own[3];
+            int cAssists = own[4];
+            int cGoals = own[5];
+            int cLostPuck = own[6];
+            return new PlayerRW(name, team, year, pot, iq, shotPow, spd, pc, false, dur,
+                    cGames, cShots, cAssists, cGoals, cLostPuck, cHobeys, cAllHock, cAC, cWins);
+        }
+    };
+
+    public static final PlayerCodec<PlayerLD> LEFT_DEFENSE = new PlayerCodec<PlayerLD>(Position.LD) {
+        @Override
+        protected void ownFields(PlayerLD p, int[] into) {
+            into[0] = p.ratDefAware;
+            into[1] = p.ratDefCheck;
+            into[2] = p.ratDefPositioning;
+            into[3] = p.careerShots;
+            into[4] = p.careerAssists;
+            into[5] = p.careerGoals;
+            into[6] = p.careerLostPuck;
+        }
+
+        @Override
+        protected void ownStats(PlayerLD p, int[] into) {
+            into[2] = p.statsShots;
+            into[3] = p.statsAssists;
+            into[4] = p.statsGoals;
+            into[5] = p.statsLostPuck;
+        }
+
+        @Override
+        protected void ownCareer(PlayerLD p, int[] into) {
+            into[2] = p.careerShots;
+            into[3] = p.careerAssists;
+            into[4] = p.careerGoals;
+            into[5] = p.careerLostPuck;
+        }
+
+        @Override
+        protected void addOwnStats(PlayerLD p, int[] delta) {
+            p.statsShots += delta[2];
+            p.statsAssists += delta[3];
+            p.statsGoals += delta[4];
+            p.statsLostPuck += delta[5];
+        }
+
+        @Override
+        protected PlayerLD create(String name, TeamHockey team, int year, int pot, int iq, int dur,
+                                  int cGames, int cHobeys, int cAllHock, int cAC, int cWins, int[] own) {
+            int defAware = own[0];
+            int defCheck = own[1];
+            int defPos = own[2];
+            int cShots = own[3];
+            int cAssists = own[4];
+            int cGoals = own[5];
+            int cLostPuck = own[6];
+            return new PlayerLD(name, team, year, pot, iq, defAware, defCheck, defPos, false, dur,
+                    cGames, cShots, cAssists, cGoals, cLostPuck, cHobeys, cAllHock, cAC, cWins);
+        }
+    };
+
+    public static final PlayerCodec<PlayerRD> RIGHT_DEFENSE = new PlayerCodec<PlayerRD>(Position.RD) {
+        @Override
+        protected void ownFields(PlayerRD p, int[] into) {
+            into[0] = p.ratDefAware;
+            into[1] = p.ratDefCheck;
+            into[2] = p.ratDefPositioning;
+            into[3] = p.careerShots;
+            into[4] = p.careerAssists;
+            into[5] = p.careerGoals;
+            into[6] = p.careerLostPuck;
+        }
+
+        @Override
+        protected void ownStats(PlayerRD p, int[] into) {
+            into[2] = p.statsShots;
+            into[3] = p.statsAssists;
+            into[4] = p.statsGoals;
+            into[5] = p.statsLostPuck;
+        }
+
+        @Override
+        protected void ownCareer(PlayerRD p, int[] into) {
+            into[2] = p.careerShots;
+            into[3] = p.careerAssists;
+            into[4] = p.careerGoals;
+            into[5] = p.careerLostPuck;
+        }
+
+        @Override
+        protected void addOwnStats(PlayerRD p, int[] delta) {
+            p.statsShots += delta[2];
+            p.statsAssists += delta[3];
+            p.statsGoals += delta[4];
+            p.statsLostPuck += delta[5];
+        }
+
+        @Override
+        protected PlayerRD create(String name, TeamHockey team, int year, int pot, int iq, int dur,
+                                  int cGames, int cHobeys, int cAllHock, int cAC, int cWins, int[] own) {
+            int defAware = own[0];
+            int defCheck = own[1];
+            int defPos = own[2];
+            int cShots = own[3];
+            int cAssists = own[4];
+            int cGoals = own[5];
+            int cLostPuck = own[6];
+            return new PlayerRD(name, team, year, pot, iq, defAware, defCheck, defPos, false, dur,
+                    cGames, cShots, cAssists, cGoals, cLostPuck, cHobeys, cAllHock, cAC, cWins);
+        }
+    };
+
+    public static final PlayerCodec<PlayerG> GOALIE = new PlayerCodec<PlayerG>(Position.G) {
+        @Override
+        protected void ownFields(PlayerG p, int[] into) {
+            into[0] = p.ratGoaliePositioning;
+            into[1] = p.ratGoalieReflexes;
+            into[2] = p.ratGoalieHnd;
+            into[3] = p.careerShotsFaced;
+            into[4] = p.careerSaves;
+            into[5] = p.careerGoalsAllowed;
+            into[6] = p.careerShutouts;
+        }
+
+        @Override
+        protected void ownStats(PlayerG p, int[] into) {
+            into[2] = p.statsShotsFaced;
+            into[3] = p.statsSaves;
+            into[4] = p.statsGoalsAllowed;
+            into[5] = p.statsShutouts;
+        }
+
+        @Override
+        protected void ownCareer(PlayerG p, int[] into) {
+            into[2] = p.careerShotsFaced;
+            into[3] = p.careerSaves;
+            into[4] = p.careerGoalsAllowed;
+            into[5] = p.careerShutouts;
+        }
+
+        @Override
+        protected void addOwnStats(PlayerG p, int[] delta) {
+            p.statsShotsFaced += delta[2];
+            p.statsSaves += delta[3];
+            p.statsGoalsAllowed += delta[4];
+            p.statsShutouts += delta[5];
+        }
+
+        @Override
+        protected PlayerG create(String name, TeamHockey team, int year, int pot, int iq, int dur,
+                                 int cGames, int cHobeys, int cAllHock, int cAC, int cWins, int[] own) {
+            int posn = own[0];
+            int refl = own[1];
+            int hnd = own[2];
+            int cShotsFaced = own[3];
+            int cSaves = own[4];
+            int cGoalsAllowed = own[5];
+            int cShutouts = own[6];
+            return new PlayerG(name, team, year, pot, iq, posn, refl, hnd, false, dur,
+                    cGames, cShotsFaced, cSaves, cGoalsAllowed, cShutouts, cHobeys, cAllHock, cAC, cWins);
+        }
+    };
+
+    /** Length of a season stat vector: games, wins, the four position stats, injured (0/1). */
+    public static final int SEASON_STATS = 7;
+
+    // Indexed by Position.ordinal()
+    private static final PlayerCodec<?>[] BY_POSITION = {
+            CENTER, LEFT_WING, RIGHT_WING, LEFT_DEFENSE, RIGHT_DEFENSE, GOALIE
+    };
+
+    // Each position's three ratings and four career stats, see ownFields()
+    private static final int OWN_FIELDS = 7;
+    // A text save line: position, the 15 common fields in write() order, then the position's own
+    private static final int LINE_FIELDS = 1 + 15 + OWN_FIELDS;
+
+    public final Position pos;
+
+    private PlayerCodec(Position pos) {
+        this.pos = pos;
+    }
+
+    public static PlayerCodec<?> forPosition(Position pos) {
+        return BY_POSITION[pos.ordinal()];
+    }
+
+    /**
+     * The codec for a player's own class, typed so it takes that player.
+     */
+    public static PlayerCodec<PlayerHockey> forPlayer(PlayerHockey p) {
+        return cast(forPosition(p.pos));
+    }
+
+    public void write(SaveOutput out, P p) {
+        out.writeString(p.getName());
+        out.writeInt(p.nameIdx);
+        out.writeVarInt(p.year);
+        out.writeBoolean(p.isRedshirt);
+        out.writeVarInt(p.ratOvr);
+        out.writeVarInt(p.ratPot);
+        out.writeVarInt(p.ratHockeyIQ);
+        out.writeVarInt(p.ratDur);
+        out.writeInt(p.ratImprovement);
+        out.writeInt(p.cost);
+        out.writeVarInt(p.careerGamesPlayed);
+        out.writeVarInt(p.careerHobeys);
+        out.writeVarInt(p.careerAllHockey);
+        out.writeVarInt(p.careerAllConference);
+        out.writeVarInt(p.careerWins);
+        int[] own = new int[OWN_FIELDS];
+        ownFields(p, own);
+        for (int v : own) {
+            out.writeVarInt(v);
+        }
+    }
+
+    public P read(SaveInput in, TeamHockey team) {
+        String name = in.readString();
+        int nameIdx = in.readInt();
+        int year = in.readVarInt();
+        boolean redshirt = in.readBoolean();
+        int ovr = in.readVarInt();
+        int pot = in.readVarInt();
+        int iq = in.readVarInt();
+        int dur = in.readVarInt();
+        int improvement = in.readInt();
+        int cost = in.readInt();
+        int cGames = in.readVarInt();
+        int cHobeys = in.readVarInt();
+        int cAllHock = in.readVarInt();
+        int cAC = in.readVarInt();
+        int cWins = in.readVarInt();
+        int[] own = new int[OWN_FIELDS];
+        for (int i = 0; i < OWN_FIELDS; ++i) {
+            own[i] = in.readVarInt();
+        }
+        return restore(team, name, nameIdx, year, redshirt, ovr, pot, iq, dur, improvement, cost,
+                cGames, cHobeys, cAllHock, cAC, cWins, own);
+    }
+
+    private P restore(TeamHockey team, String name, int nameIdx, int year, boolean redshirt, int ovr, int pot,
+                      int iq, int dur, int improvement, int cost,
+                      int cGames, int cHobeys, int cAllHock, int cAC, int cWins, int[] own) {
+        P p = create(name, team, year, pot, iq, dur, cGames, cHobeys, cAllHock, cAC, cWins, own);
+
+        // the constructors derive these, put back exactly what was saved
+        p.setNameIdx(nameIdx);
+        p.isRedshirt = redshirt;
+        p.ratOvr = ovr;
+        p.ratImprovement = improvement;
+        p.cost = cost;
+        p.ratingsVector.set(1, ovr + " (+" + improvement + ")");
+        return p;
+    }
+
+    /**
+     * In-season numbers as one vector, see SEASON_STATS. Used by WeekJournal to
+     * write only what changed since the last week.
+     */
+    public void getSeasonStats(P p, int[] into) {
+        into[0] = p.gamesPlayed;
+        into[1] = p.statsWins;
+        ownStats(p, into);
+        into[6] = p.isInjured ? 1 : 0;
+    }
+
+    /**
+     * Career totals from before this season, same layout as getSeasonStats() (injured is 0).
+     * Season plus career is the running total, see RecordBoard.
+     */
+    public void getCareerStats(P p, int[] into) {
+        into[0] = p.careerGamesPlayed;
+        into[1] = p.careerWins;
+        ownCareer(p, into);
+        into[6] = 0;
+    }
+
+    public void addSeasonStats(P p, int[] delta) {
+        p.gamesPlayed += delta[0];
+        p.statsWins += delta[1];
+        addOwnStats(p, delta);
+        if (delta[6] != 0) p.isInjured = delta[6] > 0;
+    }
+
+    /**
+     * A team's six rosters in Position order, each as a count and then the players.
+     */
+    public static void writeRosters(SaveOutput out, TeamHockey team) {
+        for (Position pos : Position.values()) {
+            ArrayList<? extends PlayerHockey> roster = team.getRoster(pos);
+            out.writeVarInt(roster.size());
+            PlayerCodec<PlayerHockey> codec = cast(forPosition(pos));
+            for (PlayerHockey p : roster) {
+                codec.write(out, p);
+            }
+        }
+    }
+
+    public static void readRosters(SaveInput in, TeamHockey team) {
+        for (Position pos : Position.values()) {
+            ArrayList<PlayerHockey> roster = cast(team.getRoster(pos));
+            PlayerCodec<?> codec = forPosition(pos);
+            int n = in.readVarInt();
+            roster.ensureCapacity(n);
+            for (int i = 0; i < n; ++i) {
+                roster.add(codec.read(in, team));
+            }
+        }
+    }
+
+    /**
+     * One player as a text save line: position, then the values write() puts out,
+     * comma separated. Commas and '%' in a name become spaces, they'd split the line.
+     */
+    public static String toSaveLine(PlayerHockey p) {
+        StringBuilder sb = new StringBuilder(96).append(p.pos.name());
+        sb.append(',').append(p.getName().replace(',', ' ').replace('%', ' '));
+        sb.append(',').append(p.nameIdx);
+        sb.append(',').append(p.year);
+        sb.append(',').append(p.isRedshirt ? 1 : 0);
+        sb.append(',').append(p.ratOvr);
+        sb.append(',').append(p.ratPot);
+        sb.append(',').append(p.ratHockeyIQ);
+        sb.append(',').append(p.ratDur);
+        sb.append(',').append(p.ratImprovement);
+        sb.append(',').append(p.cost);
+        sb.append(',').append(p.careerGamesPlayed);
+        sb.append(',').append(p.careerHobeys);
+        sb.append(',').append(p.careerAllHockey);
+        sb.append(',').append(p.careerAllConference);
+        sb.append(',').append(p.careerWins);
+        int[] own = new int[OWN_FIELDS];
+        forPlayer(p).ownFields(p, own);
+        for (int v : own) {
+            sb.append(',').append(v);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Read a line from toSaveLine() and add the player to the team's roster for it.
+     */
+    public static PlayerHockey readSaveLine(String line, TeamHockey team) {
+        String[] f = line.split(",");
+        if (f.length != LINE_FIELDS) {
+            throw new IllegalArgumentException("Player line has " + f.length + " fields: " + line);
+        }
+        Position pos = Position.valueOf(f[0]);
+        int[] own = new int[OWN_FIELDS];
+        for (int i = 0; i < OWN_FIELDS; ++i) {
+            own[i] = Integer.parseInt(f[16 + i]);
+        }
+        PlayerHockey p = forPosition(pos).restore(team, f[1], Integer.parseInt(f[2]), Integer.parseInt(f[3]),
+                f[4].equals("1"), Integer.parseInt(f[5]), Integer.parseInt(f[6]), Integer.parseInt(f[7]),
+                Integer.parseInt(f[8]), Integer.parseInt(f[9]), Integer.parseInt(f[10]),
+                Integer.parseInt(f[11]), Integer.parseInt(f[12]), Integer.parseInt(f[13]),
+                Integer.parseInt(f[14]), Integer.parseInt(f[15]), own);
+        ArrayList<PlayerHockey> roster = cast(team.getRoster(pos));
+        roster.add(p);
+        return p;
+    }
+
+    /**
+     * The position's ratings and career stats, in save order (OWN_FIELDS of them).
+     */
+    protected abstract void ownFields(P p, int[] into);
+
+    protected abstract void ownStats(P p, int[] into);
+
+    protected abstract void ownCareer(P p, int[] into);
+
+    protected abstract void addOwnStats(P p, int[] delta);
+
+    /**
+     * A player from saved values, own as ownFields() gave them.
+     */
+    protected abstract P create(String name, TeamHockey team, int year, int pot, int iq, int dur,
+                                int cGames, int cHobeys, int cAllHock, int cAC, int cWins, int[] own);
+
+    // roster lists and codecs are matched by position, the element types line up
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object o) {
+        return (T) o;
+    }
+}
@@ -54,7 +54,7 @@ public class PlayerG extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -83,7 +83,8 @@ public class PlayerG extends PlayerHockey {
         careerAllConference = 0;
         careerWins = 0;
 
-        position = "G";
+        pos = Position.G;
+        position = pos.label;
     }
 
     /**
@@ -116,7 +117,7 @@ public class PlayerG extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -143,7 +144,8 @@ public class PlayerG extends PlayerHockey {
         careerAllConference = cAC;
         careerWins = cWins;
 
-        position = "G";
+        pos = Position.G;
+        position = pos.label;
     }
 
     /**
@@ -168,7 +170,7 @@ public class PlayerG extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -195,7 +197,8 @@ public class PlayerG extends PlayerHockey {
         careerAllConference = 0;
         careerWins = 0;
 
-        position = "G";
+        pos = Position.G;
+        position = pos.label;
     }
 
     /**
@@ -218,7 +221,7 @@ public class PlayerG extends PlayerHockey {
      */
     public Vector getRatingsVector() {
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
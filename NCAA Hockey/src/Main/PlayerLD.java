@@ -56,7 +56,7 @@ public class PlayerLD extends PlayerHockey {
 
         // Initialize ratings vector for UI
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -85,7 +85,8 @@ public class PlayerLD extends PlayerHockey {
         careerAllConference = 0;
         careerWins = 0;
 
-        position = "LD";
+        pos = Position.LD;
+        position = pos.label;
     }
 
     /**
@@ -117,7 +118,7 @@ public class PlayerLD extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -146,7 +147,8 @@ public class PlayerLD extends PlayerHockey {
         careerAllConference = cAC;
         careerWins = cWins;
 
-        position = "LD";
+        pos = Position.LD;
+        position = pos.label;
     }
 
     /**
@@ -171,7 +173,7 @@ public class PlayerLD extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -198,7 +200,8 @@ public class PlayerLD extends PlayerHockey {
         careerAllConference = 0;
         careerWins = 0;
 
-        position = "LD";
+        pos = Position.LD;
+        position = pos.label;
     }
 
     /**
@@ -221,7 +224,7 @@ public class PlayerLD extends PlayerHockey {
      */
     public Vector getRatingsVector() {
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -55,7 +55,7 @@ public class PlayerLW extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -86,7 +86,8 @@ public class PlayerLW extends PlayerHockey {
         careerAllConference = 0;
         careerWins = 0;
 
-        position = "LW";
+        pos = Position.LW;
+        position = pos.label;
     }
 
     /**
@@ -119,7 +120,7 @@ public class PlayerLW extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -148,7 +149,8 @@ public class PlayerLW extends PlayerHockey {
         careerAllConference = cAC;
         careerWins = cWins;
 
-        position = "LW";
+        pos = Position.LW;
+        position = pos.label;
     }
 
     /**
@@ -173,7 +175,7 @@ public class PlayerLW extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -200,7 +202,8 @@ public class PlayerLW extends PlayerHockey {
         careerAllConference = 0;
         careerWins = 0;
 
-        position = "LW";
+        pos = Position.LW;
+        position = pos.label;
     }
 
     /**
@@ -223,7 +226,7 @@ public class PlayerLW extends PlayerHockey {
      */
     public Vector getRatingsVector() {
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
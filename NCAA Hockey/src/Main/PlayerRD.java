@@ -50,7 +50,7 @@ public class PlayerRD extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -77,7 +77,8 @@ public class PlayerRD extends PlayerHockey {
         careerAllConference = 0;
         careerWins = 0;
 
-        position = "RD";
+        pos = Position.RD;
+        position = pos.label;
     }
 
     /**
@@ -107,7 +108,7 @@ public class PlayerRD extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -134,7 +135,8 @@ public class PlayerRD extends PlayerHockey {
         careerAllConference = cAC;
         careerWins = cWins;
 
-        position = "RD";
+        pos = Position.RD;
+        position = pos.label;
     }
 
     /**
@@ -159,7 +161,7 @@ public class PlayerRD extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -186,7 +188,8 @@ public class PlayerRD extends PlayerHockey {
         careerAllConference = 0;
         careerWins = 0;
 
-        position = "RD";
+        pos = Position.RD;
+        position = pos.label;
     }
 
     public Vector getStatsVector() {
@@ -203,7 +206,7 @@ public class PlayerRD extends PlayerHockey {
 
     public Vector getRatingsVector() {
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
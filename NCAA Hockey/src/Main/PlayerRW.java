@@ -48,7 +48,7 @@ public class PlayerRW extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -75,7 +75,8 @@ public class PlayerRW extends PlayerHockey {
         careerAllConference = 0;
         careerWins = 0;
 
-        position = "RW";
+        pos = Position.RW;
+        position = pos.label;
     }
 
     // Overloaded constructor with career stats
@@ -106,7 +107,7 @@ public class PlayerRW extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -135,7 +136,8 @@ public class PlayerRW extends PlayerHockey {
         careerAllConference = cAC;
         careerWins = cWins;
         
-        position = "RW";
+        pos = Position.RW;
+        position = pos.label;
     }
 
     // “Recruit” constructor
@@ -158,7 +160,7 @@ public class PlayerRW extends PlayerHockey {
         cost = (int)(Math.pow((float)ratOvr - 55,2)/2) + 70 + (int)(Math.random()*100) - 50;
 
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
@@ -184,7 +186,8 @@ public class PlayerRW extends PlayerHockey {
         careerAllHockey = 0;
         careerAllConference = 0;
         careerWins = 0;
-        position = "RW";
+        pos = Position.RW;
+        position = pos.label;
     }
 
     public Vector getStatsVector() {
@@ -201,7 +204,7 @@ public class PlayerRW extends PlayerHockey {
 
     public Vector getRatingsVector() {
         ratingsVector = new Vector();
-        ratingsVector.addElement(name + " (" + getYrStr() + ")");
+        ratingsVector.addElement(getName() + " (" + getYrStr() + ")");
         ratingsVector.addElement(ratOvr + " (+" + ratImprovement + ")");
         ratingsVector.addElement(ratPot);
         ratingsVector.addElement(ratHockeyIQ);
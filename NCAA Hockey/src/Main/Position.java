@@ -0,0 +1,46 @@
+package Main;
+
+
+/**
+ * Hockey roster positions. Replaces the "C"/"LW"/"RW"/"LD"/"RD"/"G" strings
+ * for comparisons, sorting and roster lookup; label is the display string.
+ */
+public enum Position {
+    C("C"),
+    LW("LW"),
+    RW("RW"),
+    LD("LD"),
+    RD("RD"),
+    G("G");
+
+    /** Display label, e.g. "LW". Same instance for every player at this position. */
+    public final String label;
+
+    Position(String label) {
+        this.label = label;
+    }
+
+    public boolean isForward() {
+        return this == C || this == LW || this == RW;
+    }
+
+    public boolean isDefense() {
+        return this == LD || this == RD;
+    }
+
+    /**
+     * Parse a position label from old saves/UI. A bare "D" maps to LD.
+     */
+    public static Position fromLabel(String label) {
+        switch (label) {
+            case "C": return C;
+            case "LW": return LW;
+            case "RW": return RW;
+            case "D":
+            case "LD": return LD;
+            case "RD": return RD;
+            case "G": return G;
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package Main;
+
+
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Live record checks for one LeagueRecords. Every game posts both teams' players, so a
+ * season or career mark is caught the game it falls instead of at the end of the year.
+ * Career totals are the player's career fields plus this season's stats, both kept
+ * current game by game, so nobody has to be scanned when the year ends.
+ *
+ * best mirrors the records' numbers in an AtomicIntegerArray: a post that doesn't beat
+ * it is one read and done, which is nearly every post. One that does takes the lock for
+ * that record only, checks again against the records and stores the new holder, so
+ * parallel games only wait on each other when they break the same record at once.
+ * Listeners hear about each break after the lock is let go.
+ */
+public class RecordBoard {
+
+    /**
+     * Called on whichever thread posted the break, possibly several at once.
+     */
+    public interface Listener {
+        void recordBroken(RecordBreak b);
+    }
+
+    /**
+     * One record falling: the new mark and what it replaced.
+     */
+    public static class RecordBreak {
+        public final RecordType type;
+        public final int number;
+        public final int year;
+        public final TeamHockey team;
+        public final PlayerHockey player;   // null for team records
+        public final int oldNumber;
+        public final String oldHolder;
+        public final boolean newHolder;     // false when the holder just added to their own record
+
+        RecordBreak(RecordType type, int number, int year, TeamHockey team, PlayerHockey player,
+                    int oldNumber, String oldHolder, boolean newHolder) {
+            this.type = type;
+            this.number = number;
+            this.year = year;
+            this.team = team;
+            this.player = player;
+            this.oldNumber = oldNumber;
+            this.oldHolder = oldHolder;
+            this.newHolder = newHolder;
+        }
+
+        public String getHolder() {
+            return player != null ? team.abbr + " " + player.getInitialName() : team.abbr;
+        }
+    }
+
+    // Skater season stat slots (see PlayerCodec.SEASON_STATS) and the records they feed, null if none
+    private static final RecordType[] SEASON_RECORDS = {
+            null, null, RecordType.SHOTS, RecordType.ASSIST_PTS, RecordType.GOALS, RecordType.LOST_PUCK, null
+    };
+    private static final RecordType[] CAREER_RECORDS = {
+            null, null, RecordType.CAREER_SHOTS, RecordType.CAREER_ASSIST_PTS, RecordType.CAREER_GOALS,
+            RecordType.CAREER_LOST_PUCK, null
+    };
+
+    private final HockeyLeague league;
+    private final LeagueRecords records;
+    private final AtomicIntegerArray best;
+    private final Object[] locks;
+    private final CopyOnWriteArrayList<Listener> listeners;
+
+    public RecordBoard(HockeyLeague league, LeagueRecords records) {
+        this.league = league;
+        this.records = records;
+        int n = RecordType.count();
+        best = new AtomicIntegerArray(n);
+        locks = new Object[n];
+        for (int i = 0; i < n; ++i) {
+            // records loaded after this are picked up by the first post that reaches the lock
+            best.set(i, records.getNumber(RecordType.get(i)));
+            locks[i] = new Object();
+        }
+        listeners = new CopyOnWriteArrayList<>();
+    }
+
+    public void addListener(Listener l) {
+        listeners.add(l);
+    }
+
+    public void removeListener(Listener l) {
+        listeners.remove(l);
+    }
+
+    /**
+     * Season and career checks for everyone on a team, after a game. Safe to call from
+     * parallel games.
+     */
+    public void postTeam(TeamHockey t) {
+        int year = league.getYear();
+        int[] season = new int[PlayerCodec.SEASON_STATS];
+        int[] career = new int[PlayerCodec.SEASON_STATS];
+        for (PlayerHockey p : t.getAllPlayers()) {
+            if (p.pos == Position.G) continue;
+            PlayerCodec<PlayerHockey> codec = PlayerCodec.forPlayer(p);
+            codec.getSeasonStats(p, season);
+            codec.getCareerStats(p, career);
+            for (int i = 2; i < 6; ++i) {
+                // nothing new this season, the career total was already posted
+                if (season[i] == 0) continue;
+                post(SEASON_RECORDS[i], season[i], t, p, year);
+                post(CAREER_RECORDS[i], career[i] + season[i], t, p, year);
+            }
+        }
+    }
+
+    /**
+     * Career checks for one player, e.g. on the way out. Covers totals from before the
+     * board was posting, like an older save.
+     */
+    public void postCareer(TeamHockey t, PlayerHockey p) {
+        if (p.pos == Position.G) return;
+        int year = league.getYear();
+        int[] season = new int[PlayerCodec.SEASON_STATS];
+        int[] career = new int[PlayerCodec.SEASON_STATS];
+        PlayerCodec<PlayerHockey> codec = PlayerCodec.forPlayer(p);
+        codec.getSeasonStats(p, season);
+        codec.getCareerStats(p, career);
+        for (int i = 2; i < 6; ++i) {
+            post(CAREER_RECORDS[i], career[i] + season[i], t, p, year);
+        }
+    }
+
+    /**
+     * Offer a number for a record, player null for team records. Returns true if it
+     * broke the record, after the listeners have been told.
+     */
+    public boolean post(RecordType type, int number, TeamHockey team, PlayerHockey player, int year) {
+        int i = type.ordinal();
+        if (!type.isBetter(number, best.get(i))) return false;
+
+        RecordBreak b;
+        synchronized (locks[i]) {
+            int held = records.getNumber(type);
+            if (!type.isBetter(number, held)) {
+                // records were ahead of best (loaded after the board was made), catch up
+                best.set(i, held);
+                return false;
+            }
+            String name = player != null ? player.getInitialName() : null;
+            String oldHolder = records.getHolder(type);
+            // compare with the holder as saved, so it's still right after a reload
+            boolean newHolder = records.getHolderTeamId(type) >= 0
+                    ? records.getHolderTeamId(type) != team.teamId || !Objects.equals(records.getHolderPlayer(type), name)
+                    : !oldHolder.equals(name != null ? team.abbr + " " + name : team.abbr);
+            b = new RecordBreak(type, number, year, team, player, held, oldHolder, newHolder);
+            records.checkRecord(type, number, team.teamId, name, year);
+            best.set(i, number);
+        }
+        for (Listener l : listeners) {
+            l.recordBroken(b);
+        }
+        return true;
+    }
+}
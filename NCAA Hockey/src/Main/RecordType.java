@@ -0,0 +1,88 @@
+package Main;
+
+
+import java.util.HashMap;
+
+/**
+ * Every league record, in the order records are listed and saved. The label is what
+ * saves and the records screen use; lowerIsBetter marks the "Opp" records, where the
+ * record is the fewest allowed. Group headers (TEAM, SEASON, CAREER) aren't records.
+ */
+public enum RecordType {
+    TEAM_GPG("Team GPG", Group.TEAM, false),                    // formerly "Team PPG"
+    TEAM_OPP_GPG("Team Opp GPG", Group.TEAM, true),             // formerly "Team Opp PPG"
+    TEAM_SHOTS_PG("Team Shots/G", Group.TEAM, false),           // formerly "Team YPG"
+    TEAM_OPP_SHOTS_PG("Team Opp Shots/G", Group.TEAM, true),    // formerly "Team Opp YPG"
+    TEAM_TKW_DIFF("Team TKW Diff", Group.TEAM, false),          // formerly "Team TO Diff"
+
+    SHOTS("Shots", Group.SEASON, false),                        // formerly "Pass Yards"
+    GOALS("Goals", Group.SEASON, false),                        // formerly "Pass TDs"
+    STEALS("Steals", Group.SEASON, false),                      // formerly "Interceptions"
+    SHOT_PCT("Shot Percent", Group.SEASON, false),              // formerly "Comp Percent"
+    SKATE_DIST("Skate Dist", Group.SEASON, false),              // formerly "Rush Yards"
+    SKATE_GOALS("Skate Goals", Group.SEASON, false),            // formerly "Rush TDs"
+    LOST_PUCK("Lost Puck", Group.SEASON, false),                // formerly "Rush Fumbles"
+    ASSIST_PTS("Assist Pts", Group.SEASON, false),              // formerly "Rec Yards"
+    ASSIST_GLS("Assist Gls", Group.SEASON, false),              // formerly "Rec TDs"
+    ASSIST_PCT("Assist Percent", Group.SEASON, false),          // formerly "Catch Percent"
+
+    CAREER_SHOTS("Career Shots", Group.CAREER, false),
+    CAREER_GOALS("Career Goals", Group.CAREER, false),
+    CAREER_STEALS("Career Steals", Group.CAREER, false),
+    CAREER_SKATE_DIST("Career Skate Dist", Group.CAREER, false),
+    CAREER_SKATE_GOALS("Career Skate Goals", Group.CAREER, false),
+    CAREER_LOST_PUCK("Career Lost Puck", Group.CAREER, false),
+    CAREER_ASSIST_PTS("Career Assist Pts", Group.CAREER, false),
+    CAREER_ASSIST_GLS("Career Assist Gls", Group.CAREER, false);
+
+    public enum Group {
+        TEAM, SEASON, CAREER
+    }
+
+    public final String label;
+    public final Group group;
+    public final boolean lowerIsBetter;
+
+    private static final RecordType[] VALUES = values();
+    private static final HashMap<String, RecordType> BY_LABEL = new HashMap<>();
+    static {
+        for (RecordType t : VALUES) {
+            BY_LABEL.put(t.label, t);
+        }
+    }
+
+    RecordType(String label, Group group, boolean lowerIsBetter) {
+        this.label = label;
+        this.group = group;
+        this.lowerIsBetter = lowerIsBetter;
+    }
+
+    /**
+     * Value a record starts at before anyone sets it.
+     */
+    public int initialValue() {
+        return lowerIsBetter ? 1000 : 0;
+    }
+
+    public boolean isBetter(int number, int current) {
+        return lowerIsBetter ? number < current : number > current;
+    }
+
+    /**
+     * The record with this label, null for a group header or an unknown label.
+     */
+    public static RecordType fromLabel(String label) {
+        return BY_LABEL.get(label);
+    }
+
+    /**
+     * Same as values() without the copy.
+     */
+    public static RecordType get(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    public static int count() {
+        return VALUES.length;
+    }
+}
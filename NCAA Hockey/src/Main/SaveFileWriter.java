@@ -0,0 +1,263 @@
+package Main;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+
+/**
+ * Streams a save file through one fixed buffer into a FileChannel, so memory use
+ * doesn't grow with the league. Text goes through write() as UTF-8, binary through
+ * writeBytes() or asOutputStream().
+ *
+ * Everything lands in "name.tmp" next to the target; commit() syncs it and renames
+ * it over the target in one step, so a crash mid-save leaves the old save intact.
+ * Closing without commit() throws the temp file away.
+ *
+ * Opened compressed, every full buffer goes out as one CompressedSave block instead.
+ * Bytes that already went out can't be patched then, so SaveOutput has to build
+ * binary saves in memory before writing them to a compressed file.
+ */
+public class SaveFileWriter extends Writer {
+
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private final File target;
+    private final File temp;
+    private final FileChannel channel;
+    private final ByteBuffer bytes;
+    private final CharsetEncoder encoder;
+    private final long startNanos;
+    private long flushed;           // bytes already in the channel, before compression
+    private long fileBytes;         // bytes actually in the file
+    private final CompressedSave compressor;    // null when writing plain
+    private char pendingHigh;       // high surrogate left over from the last write(), 0 if none
+    private long nanos = -1;
+    private boolean closed;
+
+    public SaveFileWriter(File target) throws IOException {
+        this(target, false);
+    }
+
+    public SaveFileWriter(File target, boolean compressed) throws IOException {
+        this.target = target;
+        this.temp = new File(target.getPath() + ".tmp");
+        this.channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.bytes = ByteBuffer.allocateDirect(compressed ? CompressedSave.BLOCK_SIZE : BUFFER_SIZE);
+        this.encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.startNanos = System.nanoTime();
+        this.compressor = compressed ? new CompressedSave(Deflater.DEFAULT_COMPRESSION) : null;
+        if (compressed) writeFully(CompressedSave.header());
+    }
+
+    public boolean isCompressed() {
+        return compressor != null;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        write(CharBuffer.wrap(cbuf, off, len));
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        write(CharBuffer.wrap(str, off, off + len));
+    }
+
+    private void write(CharBuffer in) throws IOException {
+        if (!in.hasRemaining()) return;
+        if (pendingHigh != 0) {
+            CharBuffer pair = CharBuffer.wrap(new char[]{pendingHigh, in.get()});
+            pendingHigh = 0;
+            encode(pair);
+        }
+        // a surrogate pair split across two writes is encoded with the next one
+        if (in.hasRemaining() && Character.isHighSurrogate(in.get(in.limit() - 1))) {
+            pendingHigh = in.get(in.limit() - 1);
+            in.limit(in.limit() - 1);
+        }
+        encode(in);
+    }
+
+    private void encode(CharBuffer in) throws IOException {
+        while (true) {
+            CoderResult r = encoder.encode(in, bytes, true);
+            if (r.isOverflow()) {
+                drain();
+            } else {
+                break;
+            }
+        }
+        encoder.reset();
+    }
+
+    public void writeBytes(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!bytes.hasRemaining()) drain();
+            int n = Math.min(len, bytes.remaining());
+            bytes.put(b, off, n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Overwrite 4 bytes at an earlier offset, big-endian. For section lengths that
+     * are only known once the section is written.
+     */
+    public void patchInt(long at, int v) throws IOException {
+        if (at >= flushed) {
+            bytes.putInt((int) (at - flushed), v);
+            return;
+        }
+        if (compressor != null) {
+            throw new IllegalStateException("Offset " + at + " is already compressed");
+        }
+        // the part already drained goes to the file, anything after it is still buffered
+        int inFile = (int) Math.min(4, flushed - at);
+        ByteBuffer b = ByteBuffer.allocate(4).putInt(0, v);
+        // tail first, b.get(i) past the limit set below would throw
+        for (int i = inFile; i < 4; ++i) {
+            bytes.put(i - inFile, b.get(i));
+        }
+        b.limit(inFile);
+        while (b.hasRemaining()) {
+            channel.write(b, at + b.position());
+        }
+    }
+
+    /**
+     * Bytes written so far, buffered ones included.
+     */
+    public long position() {
+        return flushed + bytes.position();
+    }
+
+    /**
+     * Binary view of this writer, for SaveOutput.writeTo() and the like.
+     */
+    public OutputStream asOutputStream() {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                if (!bytes.hasRemaining()) drain();
+                bytes.put((byte) b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                writeBytes(b, off, len);
+            }
+        };
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        if (compressor != null) {
+            if (bytes.hasRemaining()) {
+                int n = bytes.remaining();
+                writeFully(compressor.compress(bytes));
+                flushed += n;
+            }
+        } else {
+            while (bytes.hasRemaining()) {
+                int n = channel.write(bytes);
+                flushed += n;
+                fileBytes += n;
+            }
+        }
+        bytes.clear();
+    }
+
+    private void writeFully(ByteBuffer b) throws IOException {
+        while (b.hasRemaining()) {
+            fileBytes += channel.write(b);
+        }
+    }
+
+    /**
+     * Compressed, blocks are only cut when full, so this waits for commit().
+     */
+    @Override
+    public void flush() throws IOException {
+        if (compressor == null) drain();
+    }
+
+    /**
+     * Sync the temp file and move it over the target.
+     */
+    public void commit() throws IOException {
+        if (pendingHigh != 0) {
+            encode(CharBuffer.wrap(new char[]{pendingHigh}));
+            pendingHigh = 0;
+        }
+        drain();
+        if (compressor != null) {
+            writeFully(CompressedSave.trailer());
+            compressor.end();
+        }
+        channel.force(false);
+        channel.close();
+        closed = true;
+        try {
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        nanos = System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Without a commit() the half-written temp file is deleted.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        if (compressor != null) compressor.end();
+        channel.close();
+        Files.deleteIfExists(temp.toPath());
+    }
+
+    /**
+     * Save size before compression.
+     */
+    public long getBytesWritten() {
+        return position();
+    }
+
+    /**
+     * Size on disk, the same as getBytesWritten() unless compressed.
+     */
+    public long getFileBytes() {
+        return fileBytes + (compressor == null ? bytes.position() : 0);
+    }
+
+    /**
+     * Time from opening to a finished commit(), -1 before that.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getBytesPerSecond() {
+        return nanos > 0 ? (long) (position() * 1e9 / nanos) : 0;
+    }
+}
@@ -0,0 +1,130 @@
+package Main;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads what SaveOutput wrote. Works on any ByteBuffer, so a save can be read
+ * from a byte array or straight from a mapped file.
+ */
+public class SaveInput {
+
+    private final ByteBuffer buf;
+    private int sectionEnd = -1;
+
+    public SaveInput(ByteBuffer buf) {
+        this.buf = buf;
+    }
+
+    /**
+     * Whole file in memory, inflated first if it's a CompressedSave container.
+     */
+    public static SaveInput of(File file) throws IOException {
+        if (CompressedSave.isCompressed(file)) return new SaveInput(ByteBuffer.wrap(CompressedSave.read(file)));
+        return new SaveInput(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+    }
+
+    /**
+     * Map the file read-only instead of reading it in; pages come in as they're touched.
+     * The mapping outlives the channel.
+     */
+    public static SaveInput map(File file) throws IOException {
+        // nothing to map in a compressed file, it has to be inflated anyway
+        if (CompressedSave.isCompressed(file)) return of(file);
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE) throw new IOException(file + " is over 2GB");
+            return new SaveInput(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
+
+    /**
+     * Independent reader over the same bytes, starting at the given offset.
+     */
+    public SaveInput at(int position) {
+        ByteBuffer b = buf.duplicate();
+        b.position(position);
+        return new SaveInput(b);
+    }
+
+    public int readByte() {
+        return buf.get() & 0xFF;
+    }
+
+    public byte[] readBytes(int n) {
+        byte[] b = new byte[n];
+        buf.get(b);
+        return b;
+    }
+
+    public int readVarInt() {
+        int v = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = buf.get();
+            v |= (b & 0x7F) << shift;
+            if (b >= 0) return v;
+        }
+        throw new IllegalStateException("Malformed varint at " + buf.position());
+    }
+
+    public int readInt() {
+        int v = readVarInt();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    public int readFixedInt() {
+        return buf.getInt();
+    }
+
+    public long readLong() {
+        return buf.getLong();
+    }
+
+    public boolean readBoolean() {
+        return buf.get() != 0;
+    }
+
+    public String readString() {
+        int len = readVarInt() - 1;
+        if (len < 0) return null;
+        if (buf.hasArray()) {
+            String s = new String(buf.array(), buf.arrayOffset() + buf.position(), len, StandardCharsets.UTF_8);
+            buf.position(buf.position() + len);
+            return s;
+        }
+        return new String(readBytes(len), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Tag of the next section, or -1 at the end of the file. Its payload runs
+     * until the next call, which skips whatever the caller didn't read.
+     */
+    public int nextSection() {
+        if (sectionEnd >= 0) buf.position(sectionEnd);
+        // a section cut short (crash while appending) counts as the end
+        if (buf.remaining() < 5) return -1;
+        int tag = readByte();
+        int len = buf.getInt();
+        if (len < 0 || len > buf.remaining()) return -1;
+        sectionEnd = buf.position() + len;
+        return tag;
+    }
+
+    /**
+     * Jump to a section header at a known offset (see the save index) and return its tag.
+     */
+    public int seekSection(int offset) {
+        buf.position(offset);
+        sectionEnd = -1;
+        return nextSection();
+    }
+
+    public int position() {
+        return buf.position();
+    }
+}
@@ -0,0 +1,204 @@
+package Main;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Byte sink for the binary save format. Counts and ratings are varints, signed
+ * values zigzag varints, strings a varint byte length plus UTF-8. A section is a
+ * one byte tag and a fixed 4 byte length, so a reader can skip sections it doesn't know.
+ *
+ * With a SaveFileWriter behind it the buffer is handed on whenever it fills and
+ * section lengths are patched in afterwards, so memory use stays at one buffer.
+ * Without one everything is kept in memory for writeTo().
+ */
+public class SaveOutput {
+
+    private static final int STREAM_BUFFER = 1 << 16;
+
+    private final SaveFileWriter sink;
+    private byte[] buf;
+    private int pos;
+    private long flushed;           // bytes already handed to the sink
+    private long sectionStart = -1; // absolute offset of the open section's payload
+
+    public SaveOutput() {
+        this(1 << 16);
+    }
+
+    public SaveOutput(int capacity) {
+        buf = new byte[Math.max(16, capacity)];
+        sink = null;
+    }
+
+    public SaveOutput(SaveFileWriter sink) {
+        flushed = sink.position();
+        buf = new byte[STREAM_BUFFER];
+        this.sink = sink;
+    }
+
+    public void writeByte(int b) {
+        ensure(1);
+        buf[pos++] = (byte) b;
+    }
+
+    public void writeBytes(byte[] b) {
+        writeBytes(b, 0, b.length);
+    }
+
+    public void writeBytes(byte[] b, int off, int len) {
+        if (sink != null && len > buf.length) {
+            flush();
+            try {
+                sink.writeBytes(b, off, len);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            flushed += len;
+            return;
+        }
+        ensure(len);
+        System.arraycopy(b, off, buf, pos, len);
+        pos += len;
+    }
+
+    /**
+     * Unsigned LEB128, 1 byte up to 127, 2 up to 16383. Negative values take 5 bytes,
+     * use writeInt for anything that can go below zero.
+     */
+    public void writeVarInt(int v) {
+        ensure(5);
+        while ((v & ~0x7F) != 0) {
+            buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buf[pos++] = (byte) v;
+    }
+
+    /**
+     * Zigzag varint, so small negative numbers stay small.
+     */
+    public void writeInt(int v) {
+        writeVarInt((v << 1) ^ (v >> 31));
+    }
+
+    public void writeLong(long v) {
+        ensure(8);
+        for (int i = 56; i >= 0; i -= 8) {
+            buf[pos++] = (byte) (v >>> i);
+        }
+    }
+
+    public void writeBoolean(boolean b) {
+        writeByte(b ? 1 : 0);
+    }
+
+    /**
+     * Length-prefixed UTF-8. The prefix is length + 1 so 0 can stand for null.
+     */
+    public void writeString(String s) {
+        if (s == null) {
+            writeVarInt(0);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(b.length + 1);
+        writeBytes(b);
+    }
+
+    /**
+     * Start a section; everything up to endSection() is its payload.
+     */
+    public void beginSection(int tag) {
+        if (sectionStart >= 0) throw new IllegalStateException("A section is still open");
+        writeByte(tag);
+        ensure(4);
+        pos += 4;
+        sectionStart = flushed + pos;
+    }
+
+    public void endSection() {
+        if (sectionStart < 0) throw new IllegalStateException("No open section");
+        long len = size() - sectionStart;
+        if (len > Integer.MAX_VALUE) throw new IllegalStateException("Section over 2GB");
+        patchInt(sectionStart - 4, (int) len);
+        sectionStart = -1;
+    }
+
+    /**
+     * Big-endian int, always 4 bytes, for values that get patched or read by offset.
+     */
+    public void writeFixedInt(int v) {
+        ensure(4);
+        buf[pos++] = (byte) (v >>> 24);
+        buf[pos++] = (byte) (v >>> 16);
+        buf[pos++] = (byte) (v >>> 8);
+        buf[pos++] = (byte) v;
+    }
+
+    /**
+     * Leave room for a fixed int that's only known later; returns its offset for patchInt.
+     */
+    public long reserveInt() {
+        long at = size();
+        writeFixedInt(0);
+        return at;
+    }
+
+    /**
+     * Overwrite a fixed int written earlier at the given absolute offset.
+     */
+    public void patchInt(long at, int v) {
+        if (at >= flushed) {
+            int i = (int) (at - flushed);
+            buf[i] = (byte) (v >>> 24);
+            buf[i + 1] = (byte) (v >>> 16);
+            buf[i + 2] = (byte) (v >>> 8);
+            buf[i + 3] = (byte) v;
+        } else {
+            // already went to the sink; the sink has every byte before this buffer
+            flush();
+            try {
+                sink.patchInt(at, v);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public long size() {
+        return flushed + pos;
+    }
+
+    /**
+     * Hand whatever is buffered to the sink. No-op when writing to memory.
+     */
+    public void flush() {
+        if (sink == null || pos == 0) return;
+        try {
+            sink.writeBytes(buf, 0, pos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        flushed += pos;
+        pos = 0;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        if (sink != null) throw new IllegalStateException("Output already streams to a file");
+        out.write(buf, 0, pos);
+    }
+
+    private void ensure(int n) {
+        if (pos + n <= buf.length) return;
+        if (sink != null) {
+            flush();
+            if (n <= buf.length) return;
+        }
+        buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + n));
+    }
+}
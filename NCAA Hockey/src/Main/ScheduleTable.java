@@ -0,0 +1,162 @@
+package Main;
+
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The whole season's schedule as one flat [week][team] table of game ids, so
+ * "what does team t play in week w" and "who plays whom this week" are a single
+ * array read. Teams are columns by TeamHockey.teamId; a team with no game that week
+ * (bye, or not in that postseason round) has NONE.
+ *
+ * TeamHockey.gameSchedule is a view over a team's column, nothing is stored twice.
+ */
+public class ScheduleTable implements Serializable {
+
+    public static final int NONE = -1;
+
+    private int weeks;
+    private int regularWeeks;
+    private int teams;
+    private int[] cells;
+    private final ArrayList<GameHockey> games;
+    private int[] gameWeeks;    // week of each game id
+
+    public ScheduleTable() {
+        cells = new int[0];
+        games = new ArrayList<>();
+        gameWeeks = new int[64];
+    }
+
+    /**
+     * Clear everything for a new season. Team views stay valid.
+     */
+    public void reset(int weeks, int regularWeeks, int teams) {
+        this.weeks = weeks;
+        this.regularWeeks = regularWeeks;
+        this.teams = teams;
+        if (cells.length != weeks * teams) {
+            cells = new int[weeks * teams];
+        }
+        Arrays.fill(cells, NONE);
+        games.clear();
+    }
+
+    /**
+     * Put a game in both teams' columns for the given week, returns its id.
+     */
+    public int addGame(int week, GameHockey g) {
+        int id = games.size();
+        games.add(g);
+        if (id == gameWeeks.length) gameWeeks = Arrays.copyOf(gameWeeks, id * 2);
+        gameWeeks[id] = week;
+        cells[week * teams + g.homeTeam.teamId] = id;
+        cells[week * teams + g.awayTeam.teamId] = id;
+        return id;
+    }
+
+    public int getGameId(int week, int teamId) {
+        if (week < 0 || week >= weeks) return NONE;
+        return cells[week * teams + teamId];
+    }
+
+    /**
+     * Team's game that week, null if it has none.
+     */
+    public GameHockey getGame(int week, int teamId) {
+        int id = getGameId(week, teamId);
+        return id == NONE ? null : games.get(id);
+    }
+
+    public GameHockey getGameById(int id) {
+        return games.get(id);
+    }
+
+    /**
+     * Games added this season; ids run from 0 to getGameCount() - 1 in the order they were added.
+     */
+    public int getGameCount() {
+        return games.size();
+    }
+
+    public int getGameWeek(int id) {
+        return gameWeeks[id];
+    }
+
+    /**
+     * teamId of the opponent that week, NONE on a bye.
+     */
+    public int getOpponent(int week, int teamId) {
+        GameHockey g = getGame(week, teamId);
+        if (g == null) return NONE;
+        return g.homeTeam.teamId == teamId ? g.awayTeam.teamId : g.homeTeam.teamId;
+    }
+
+    /**
+     * Every game in a week, each once.
+     */
+    public ArrayList<GameHockey> getWeekGames(int week) {
+        ArrayList<GameHockey> weekGames = new ArrayList<>();
+        if (week < 0 || week >= weeks) return weekGames;
+        int base = week * teams;
+        for (int t = 0; t < teams; ++t) {
+            int id = cells[base + t];
+            // each game sits in two columns, take it from the home team's
+            if (id != NONE && games.get(id).homeTeam.teamId == t) weekGames.add(games.get(id));
+        }
+        return weekGames;
+    }
+
+    public int getWeeks() {
+        return weeks;
+    }
+
+    public int getRegularWeeks() {
+        return regularWeeks;
+    }
+
+    /**
+     * A team's schedule in the old gameSchedule shape: every regular season week
+     * (null on a bye), then only the postseason games it actually has.
+     */
+    public List<GameHockey> teamView(TeamHockey t) {
+        return new TeamView(this, t);
+    }
+
+    private static final class TeamView extends AbstractList<GameHockey> implements Serializable {
+        private final ScheduleTable table;
+        private final TeamHockey team;
+
+        TeamView(ScheduleTable table, TeamHockey team) {
+            this.table = table;
+            this.team = team;
+        }
+
+        @Override
+        public GameHockey get(int i) {
+            if (i < 0) throw new IndexOutOfBoundsException("Game " + i);
+            if (i < table.regularWeeks) return table.getGame(i, team.teamId);
+            int n = table.regularWeeks;
+            for (int w = table.regularWeeks; w < table.weeks; ++w) {
+                int id = table.getGameId(w, team.teamId);
+                if (id == NONE) continue;
+                if (n++ == i) return table.games.get(id);
+            }
+            throw new IndexOutOfBoundsException("Game " + i + ", size " + size());
+        }
+
+        @Override
+        public int size() {
+            if (table.teams == 0) return 0;
+            int n = table.regularWeeks;
+            for (int w = table.regularWeeks; w < table.weeks; ++w) {
+                if (table.getGameId(w, team.teamId) != NONE) n++;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package Main;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Appends each season's player and team stats to column files for offline analysis:
+ * one file per column under dir/players and dir/teams, every season adding its rows to
+ * the end, so decades of stats can be scanned one column at a time with a mapped read.
+ *
+ * Each .col file is a 32-byte header, then one fixed-width big-endian value per row:
+ *   "NCHC", version, type (INT32, INT8 or STRING), value width, 1 spare byte,
+ *   row count as a long, column name as 16 bytes of zero-padded UTF-8.
+ * Value i is at 32 + i * width. A STRING column stores the long end offset of each
+ * value, the UTF-8 bytes themselves go in a .str file next to it.
+ *
+ * Values go straight from the player/team fields into per-column buffers, no row is
+ * ever built as a String. Export before advanceSeason(), which folds season stats away.
+ */
+public class StatsColumnExporter {
+
+    public static final byte[] COLUMN_MAGIC = {'N', 'C', 'H', 'C'};
+    public static final int COLUMN_VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final int INT32 = 1;
+    public static final int INT8 = 2;
+    public static final int STRING = 3;
+
+    private static final int BUFFER_SIZE = 1 << 14;
+    private static final int NAME_BYTES = 16;
+
+    private final File dir;
+    private long rowsExported;
+
+    public StatsColumnExporter(File dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Append this season's rows: one per player on every roster, one per team.
+     */
+    public void exportSeason(HockeyLeague league) throws IOException {
+        league.hydrateAll();
+        exportPlayers(league);
+        exportTeams(league);
+    }
+
+    /**
+     * Rows written by this exporter so far, players and teams together.
+     */
+    public long getRowsExported() {
+        return rowsExported;
+    }
+
+    private void exportPlayers(HockeyLeague league) throws IOException {
+        File players = new File(dir, "players");
+        ArrayList<Column> all = new ArrayList<>();
+        try {
+            Column season = open(all, players, "season", INT32);
+            Column teamId = open(all, players, "teamId", INT32);
+            Column position = open(all, players, "position", INT8);
+            Column classYear = open(all, players, "year", INT8);
+            Column name = open(all, players, "name", STRING);
+            Column ovr = open(all, players, "ratOvr", INT32);
+            Column games = open(all, players, "gamesPlayed", INT32);
+            Column wins = open(all, players, "wins", INT32);
+            Column shots = open(all, players, "shots", INT32);
+            Column assists = open(all, players, "assists", INT32);
+            Column goals = open(all, players, "goals", INT32);
+            Column lostPuck = open(all, players, "lostPuck", INT32);
+            Column shotsFaced = open(all, players, "shotsFaced", INT32);
+            Column saves = open(all, players, "saves", INT32);
+            Column goalsAllowed = open(all, players, "goalsAllowed", INT32);
+            Column shutouts = open(all, players, "shutouts", INT32);
+
+            int year = league.getYear();
+            int[] stats = new int[PlayerCodec.SEASON_STATS];
+            for (TeamHockey t : teamsById(league)) {
+                for (Position pos : Position.values()) {
+                    boolean goalie = pos == Position.G;
+                    for (PlayerHockey p : t.getRoster(pos)) {
+                        PlayerCodec.forPlayer(p).getSeasonStats(p, stats);
+                        season.putInt(year);
+                        teamId.putInt(t.teamId);
+                        position.putByte(pos.ordinal());
+                        classYear.putByte(p.year);
+                        name.putString(p.getName());
+                        ovr.putInt(p.ratOvr);
+                        games.putInt(stats[0]);
+                        wins.putInt(stats[1]);
+                        // stats 2-5 are shots/assists/goals/lost pucks for skaters, the save numbers for goalies
+                        shots.putInt(goalie ? 0 : stats[2]);
+                        assists.putInt(goalie ? 0 : stats[3]);
+                        goals.putInt(goalie ? 0 : stats[4]);
+                        lostPuck.putInt(goalie ? 0 : stats[5]);
+                        shotsFaced.putInt(goalie ? stats[2] : 0);
+                        saves.putInt(goalie ? stats[3] : 0);
+                        goalsAllowed.putInt(goalie ? stats[4] : 0);
+                        shutouts.putInt(goalie ? stats[5] : 0);
+                        rowsExported++;
+                    }
+                }
+            }
+            commitAll(all);
+        } finally {
+            closeAll(all);
+        }
+    }
+
+    private void exportTeams(HockeyLeague league) throws IOException {
+        File teams = new File(dir, "teams");
+        ArrayList<Column> all = new ArrayList<>();
+        try {
+            Column season = open(all, teams, "season", INT32);
+            Column teamId = open(all, teams, "teamId", INT32);
+            Column abbr = open(all, teams, "abbr", STRING);
+            Column conference = open(all, teams, "conference", INT32);
+            Column prestige = open(all, teams, "prestige", INT32);
+            Column rank = open(all, teams, "pollRank", INT32);
+            Column wins = open(all, teams, "wins", INT32);
+            Column losses = open(all, teams, "losses", INT32);
+            Column goals = open(all, teams, "goals", INT32);
+            Column oppGoals = open(all, teams, "oppGoals", INT32);
+            Column shots = open(all, teams, "shots", INT32);
+            Column oppShots = open(all, teams, "oppShots", INT32);
+            Column toDiff = open(all, teams, "toDiff", INT32);
+
+            int year = league.getYear();
+            for (TeamHockey t : teamsById(league)) {
+                season.putInt(year);
+                teamId.putInt(t.teamId);
+                abbr.putString(t.abbr);
+                conference.putInt(league.getConfNumber(t.conference));
+                prestige.putInt(t.teamPrestige);
+                rank.putInt(t.rankTeamPollScore);
+                wins.putInt(t.wins);
+                losses.putInt(t.losses);
+                goals.putInt(t.teamGoals);
+                oppGoals.putInt(t.teamOppGoals);
+                shots.putInt(t.teamShots);
+                oppShots.putInt(t.teamOppShots);
+                toDiff.putInt(t.teamTODiff);
+                rowsExported++;
+            }
+            commitAll(all);
+        } finally {
+            closeAll(all);
+        }
+    }
+
+    /**
+     * teamList is in poll order, export by teamId so a season's rows line up the same way every year.
+     */
+    private static TeamHockey[] teamsById(HockeyLeague league) {
+        TeamHockey[] byId = new TeamHockey[league.teamList.size()];
+        for (TeamHockey t : league.teamList) {
+            byId[t.teamId] = t;
+        }
+        return byId;
+    }
+
+    /**
+     * Open a column and add it to open, so a failure opening a later one still closes it.
+     */
+    private static Column open(ArrayList<Column> open, File tableDir, String name, int type) throws IOException {
+        Column c = new Column(tableDir, name, type);
+        open.add(c);
+        return c;
+    }
+
+    /**
+     * Every column's values on disk first, then every row count. A failure before the
+     * counts leaves all of the table's columns at the last season's count, and the next
+     * export writes over the partial rows.
+     */
+    private static void commitAll(ArrayList<Column> columns) throws IOException {
+        for (Column c : columns) {
+            c.flush();
+        }
+        for (Column c : columns) {
+            c.writeRowCount();
+        }
+    }
+
+    /**
+     * Close without touching the headers; on the failure path the counts stay as they were.
+     */
+    private static void closeAll(ArrayList<Column> columns) throws IOException {
+        IOException first = null;
+        for (Column c : columns) {
+            try {
+                c.close();
+            } catch (IOException e) {
+                if (first == null) first = e;
+            }
+        }
+        if (first != null) throw first;
+    }
+
+    /**
+     * Names of the columns in a table directory, e.g. "players", with their row counts.
+     */
+    public static ArrayList<String> describe(File tableDir) throws IOException {
+        ArrayList<String> lines = new ArrayList<>();
+        File[] files = tableDir.listFiles((d, n) -> n.endsWith(".col"));
+        if (files == null) return lines;
+        Arrays.sort(files);
+        for (File f : files) {
+            try (FileChannel ch = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+                ByteBuffer h = ByteBuffer.allocate(HEADER_SIZE);
+                while (h.hasRemaining() && ch.read(h) >= 0) {
+                    // keep reading
+                }
+                lines.add(readName(h) + " type " + h.get(5) + ", " + h.getLong(8) + " rows");
+            }
+        }
+        return lines;
+    }
+
+    private static String readName(ByteBuffer header) {
+        byte[] b = new byte[NAME_BYTES];
+        header.position(HEADER_SIZE - NAME_BYTES);
+        header.get(b);
+        int len = 0;
+        while (len < b.length && b[len] != 0) len++;
+        return new String(b, 0, len, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * One column file opened for appending, with its own buffer. The row count in the
+     * header is only brought up to date by writeRowCount(), after flush().
+     */
+    private static class Column {
+        private final String name;
+        private final int type;
+        private final FileChannel channel;
+        private final ByteBuffer buf;
+        private final FileChannel strings;     // STRING only
+        private final ByteBuffer stringBuf;
+        private long stringEnd;
+        private long rows;
+
+        Column(File tableDir, String name, int type) throws IOException {
+            if (!tableDir.isDirectory() && !tableDir.mkdirs()) {
+                throw new IOException("Can't create " + tableDir);
+            }
+            this.name = name;
+            this.type = type;
+            File file = new File(tableDir, name + ".col");
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try {
+                buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                if (channel.size() == 0) {
+                    channel.write(header(0), 0);
+                } else {
+                    rows = readHeader(file);
+                }
+                channel.position(HEADER_SIZE + rows * width());
+                if (type == STRING) {
+                    strings = FileChannel.open(new File(tableDir, name + ".str").toPath(), StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE);
+                    stringBuf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                    stringEnd = lastStringEnd();
+                    // anything past the last committed value is from an export that didn't finish
+                    strings.truncate(stringEnd);
+                    strings.position(stringEnd);
+                } else {
+                    strings = null;
+                    stringBuf = null;
+                }
+            } catch (IOException | RuntimeException e) {
+                // not handed out yet, nobody else will close it
+                try {
+                    close();
+                } catch (IOException ce) {
+                    e.addSuppressed(ce);
+                }
+                throw e;
+            }
+        }
+
+        private int width() {
+            switch (type) {
+                case INT8: return 1;
+                case STRING: return 8;
+                default: return 4;
+            }
+        }
+
+        private ByteBuffer header(long rowCount) {
+            ByteBuffer h = ByteBuffer.allocate(HEADER_SIZE);
+            h.put(COLUMN_MAGIC).put((byte) COLUMN_VERSION).put((byte) type).put((byte) width()).put((byte) 0);
+            h.putLong(rowCount);
+            byte[] n = name.getBytes(StandardCharsets.UTF_8);
+            h.put(n, 0, Math.min(n.length, NAME_BYTES));
+            h.clear();
+            return h;
+        }
+
+        private long readHeader(File file) throws IOException {
+            ByteBuffer h = ByteBuffer.allocate(HEADER_SIZE);
+            while (h.hasRemaining() && channel.read(h, h.position()) >= 0) {
+                // keep reading
+            }
+            byte[] magic = new byte[COLUMN_MAGIC.length];
+            h.flip();
+            if (h.limit() == HEADER_SIZE) h.get(magic);
+            if (!Arrays.equals(magic, COLUMN_MAGIC)) {
+                throw new IOException(file + " is not a stats column");
+            }
+            if (h.get(4) > COLUMN_VERSION || h.get(5) != type) {
+                throw new IOException(file + " is version " + h.get(4) + " type " + h.get(5)
+                        + ", expected type " + type);
+            }
+            return h.getLong(8);
+        }
+
+        private long lastStringEnd() throws IOException {
+            if (rows == 0) return 0;
+            ByteBuffer b = ByteBuffer.allocate(8);
+            long at = HEADER_SIZE + (rows - 1) * 8;
+            while (b.hasRemaining() && channel.read(b, at + b.position()) >= 0) {
+                // keep reading
+            }
+            return b.getLong(0);
+        }
+
+        void putInt(int v) throws IOException {
+            if (buf.remaining() < 4) drain();
+            buf.putInt(v);
+            rows++;
+        }
+
+        void putByte(int v) throws IOException {
+            if (!buf.hasRemaining()) drain();
+            buf.put((byte) v);
+            rows++;
+        }
+
+        void putString(String s) throws IOException {
+            if (s != null) {
+                byte[] b = s.getBytes(StandardCharsets.UTF_8);
+                for (int off = 0; off < b.length; ) {
+                    if (!stringBuf.hasRemaining()) drainStrings();
+                    int n = Math.min(b.length - off, stringBuf.remaining());
+                    stringBuf.put(b, off, n);
+                    off += n;
+                }
+                stringEnd += b.length;
+            }
+            if (buf.remaining() < 8) drain();
+            buf.putLong(stringEnd);
+            rows++;
+        }
+
+        private void drain() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            buf.clear();
+        }
+
+        private void drainStrings() throws IOException {
+            stringBuf.flip();
+            while (stringBuf.hasRemaining()) {
+                strings.write(stringBuf);
+            }
+            stringBuf.clear();
+        }
+
+        /**
+         * Buffered values to disk and forced, strings before the offsets pointing at them.
+         */
+        void flush() throws IOException {
+            if (strings != null) {
+                drainStrings();
+                strings.force(false);
+            }
+            drain();
+            channel.force(false);
+        }
+
+        void writeRowCount() throws IOException {
+            ByteBuffer h = header(rows);
+            while (h.hasRemaining()) {
+                channel.write(h, h.position());
+            }
+            channel.force(false);
+        }
+
+        void close() throws IOException {
+            try {
+                channel.close();
+            } finally {
+                if (strings != null) strings.close();
+            }
+        }
+    }
+}
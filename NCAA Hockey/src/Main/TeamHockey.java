@@ -1,13 +1,20 @@
 package Main;
 
 
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * TeamHockey class, adapted from the original football Team class.
@@ -21,9 +28,15 @@ public class TeamHockey implements Serializable {
     public String abbr;
     public String conference;
     public String rivalTeam;
+    public TeamHockey rival;    // resolved from rivalTeam, see getRival()
     public boolean wonRivalryGame;
     public ArrayList<String> teamHistory;
     public ArrayList<String> hallOfFame;
+    public HistoryArchive historyArchive;     // older teamHistory entries, see archiveHistory()
+    public HistoryArchive hallOfFameArchive;  // older hallOfFame entries
+    public int archivedHistory;               // how many of the oldest teamHistory entries live in historyArchive
+    public int archivedHallOfFame;
+    public String historyKey;                 // archive file prefix, abbr at the time it was first archived
     public boolean userControlled;
     public boolean showPopups;
     public int recruitMoney;
@@ -40,14 +53,12 @@ public class TeamHockey implements Serializable {
     public int totalNCLosses;
     public int totalCups;       // replaced 'totalBowls'
     public int totalCupLosses;  // replaced 'totalBowlLosses'
-    public String evenYearHomeOpp; // if you still do home/away rotations
+    public int confSlot = -1;      // row/column in the conference's HomeAwayMatrix
 
 
     // Schedule, games, results
-    public ArrayList<GameHockey> gameSchedule; 
-    public GameHockey gameOOCSchedule0;  // optional if you use OOC
-    public GameHockey gameOOCSchedule4;
-    public GameHockey gameOOCSchedule9;
+    public int teamId;                    // column in league.schedule, fixed for the life of the league
+    public List<GameHockey> gameSchedule; // view of league.schedule, null entries are bye weeks
     public ArrayList<String> gameWLSchedule;
     public ArrayList<TeamHockey> gameWinsAgainst;
     public String confChampion; // "CC"
@@ -92,6 +103,9 @@ public class TeamHockey implements Serializable {
     public ArrayList<PlayerRD> teamRD;
     public ArrayList<PlayerG>  teamGoalies;
 
+    // Same six lists, keyed by position (see initRosters)
+    public EnumMap<Position, ArrayList<? extends PlayerHockey>> rosters;
+
     // By year 
     public ArrayList<PlayerHockey> teamRSs; 
     public ArrayList<PlayerHockey> teamFRs;
@@ -104,6 +118,17 @@ public class TeamHockey implements Serializable {
     public ArrayList<PlayerHockey> playersRecovered;
     public ArrayList<PlayerHockey> playersInjuredAll;
 
+    // Cached talent/IQ/poll values. Talent is recomputed only after a roster sort,
+    // injury or progression; poll score only after a result or a league rank change.
+    private boolean talentDirty = true;
+    private boolean pollDirty = true;
+    private int pollScoreEpoch = -1;
+    private int cachedOffTalent;
+    private int cachedDefTalent;
+    private int cachedHockeyIQ;
+
+    // Rosters still sitting in a mapped save, read on first use (see ensureHydrated)
+    private transient SaveInput pendingRosters;
 
     // If rating is above this, might leave early
     private static final int PRO_OVR = 90;
@@ -117,32 +142,7 @@ public class TeamHockey implements Serializable {
         this.league = league;
         userControlled = false;
         showPopups = true;
-        teamHistory = new ArrayList<>();
-        hallOfFame = new ArrayList<>();
-        playersInjuredAll = new ArrayList<>();
-
-        teamCenters = new ArrayList<>();
-        teamLeftWings = new ArrayList<>();
-        teamRightWings = new ArrayList<>();
-        teamLD = new ArrayList<>();
-        teamRD = new ArrayList<>();
-        teamGoalies = new ArrayList<>();
-
-        teamRSs = new ArrayList<>();
-        teamFRs = new ArrayList<>();
-        teamSOs = new ArrayList<>();
-        teamJRs = new ArrayList<>();
-        teamSRs = new ArrayList<>();
-
-        gameSchedule = new ArrayList<>();
-        gameOOCSchedule0 = null;
-        gameOOCSchedule4 = null;
-        gameOOCSchedule9 = null;
-        gameWinsAgainst = new ArrayList<>();
-        gameWLSchedule = new ArrayList<>();
-        confChampion = "";
-        semiFinalWL = "";
-        natChampWL = "";
+        initLists();
 
         teamPrestige = prestige;
         // recruit initial rosters
@@ -168,14 +168,158 @@ public class TeamHockey implements Serializable {
         teamShots = 0;
         teamOppShots = 0;
         teamTODiff = 0;
-        teamOffTalent = getOffTalent();
-        teamDefTalent = getDefTalent();
+        refreshTalent();
         teamPollScore = teamPrestige + teamOffTalent + teamDefTalent;
 
         numRecruits = 20; // e.g. # of prospects
         playersLeaving = new ArrayList<>();
     }
 
+    /**
+     * Team read back from a binary save (see writeBinary), rosters included once
+     * PlayerCodec.readRosters() has run.
+     */
+    public TeamHockey(SaveInput in, HockeyLeague league) {
+        this.league = league;
+        userControlled = false;
+        initLists();
+
+        conference = in.readString();
+        name = in.readString();
+        abbr = in.readString();
+        rivalTeam = in.readString();
+        teamPrestige = in.readVarInt();
+        totalWins = in.readVarInt();
+        totalLosses = in.readVarInt();
+        totalCCs = in.readVarInt();
+        totalNCs = in.readVarInt();
+        totalCCLosses = in.readVarInt();
+        totalNCLosses = in.readVarInt();
+        totalCups = in.readVarInt();
+        totalCupLosses = in.readVarInt();
+        showPopups = in.readBoolean();
+        confSlot = in.readInt();
+
+        numRecruits = 20;
+        playersLeaving = new ArrayList<>();
+    }
+
+    /**
+     * Leave the rosters in the save for now. Talent comes from the save index so
+     * the poll and standings work before anyone looks at the players.
+     */
+    public synchronized void deferRosters(SaveInput rosters, int offTalent, int defTalent, int hockeyIQ) {
+        pendingRosters = rosters;
+        cachedOffTalent = offTalent;
+        cachedDefTalent = defTalent;
+        cachedHockeyIQ = hockeyIQ;
+        teamOffTalent = offTalent;
+        teamDefTalent = defTalent;
+        talentDirty = false;
+        teamPollScore = teamPrestige + teamOffTalent + teamDefTalent;
+    }
+
+    public synchronized boolean isHydrated() {
+        return pendingRosters == null;
+    }
+
+    /**
+     * Read the rosters in if they were deferred. Safe from any thread, and a no-op
+     * once they're in.
+     */
+    public void ensureHydrated() {
+        synchronized (this) {
+            if (pendingRosters == null) return;
+            SaveInput in = pendingRosters;
+            pendingRosters = null;
+            PlayerCodec.readRosters(in, this);
+            invalidateTalent();
+            updateTalentRatings();
+        }
+        // outside the team lock, the leaderboard takes its own and reads rosters under it
+        if (league.hobeyLeaderboard != null) league.hobeyLeaderboard.updateTeam(this);
+    }
+
+    /**
+     * Same fields as the team line of the text save, totals up to the start of the season.
+     */
+    public void writeBinary(SaveOutput out) {
+        out.writeString(conference);
+        out.writeString(name);
+        out.writeString(abbr);
+        out.writeString(rivalTeam);
+        out.writeVarInt(teamPrestige);
+        out.writeVarInt(totalWins - wins);
+        out.writeVarInt(totalLosses - losses);
+        out.writeVarInt(totalCCs);
+        out.writeVarInt(totalNCs);
+        out.writeVarInt(totalCCLosses);
+        out.writeVarInt(totalNCLosses);
+        out.writeVarInt(totalCups);
+        out.writeVarInt(totalCupLosses);
+        out.writeBoolean(showPopups);
+        out.writeInt(confSlot);
+    }
+
+    /**
+     * Empty rosters, history and schedule lists.
+     */
+    private void initLists() {
+        teamHistory = new ArrayList<>();
+        hallOfFame = new ArrayList<>();
+        playersInjuredAll = new ArrayList<>();
+
+        teamCenters = new ArrayList<>();
+        teamLeftWings = new ArrayList<>();
+        teamRightWings = new ArrayList<>();
+        teamLD = new ArrayList<>();
+        teamRD = new ArrayList<>();
+        teamGoalies = new ArrayList<>();
+        initRosters();
+
+        teamRSs = new ArrayList<>();
+        teamFRs = new ArrayList<>();
+        teamSOs = new ArrayList<>();
+        teamJRs = new ArrayList<>();
+        teamSRs = new ArrayList<>();
+
+        gameSchedule = league.schedule.teamView(this);
+        gameWinsAgainst = new ArrayList<>();
+        gameWLSchedule = new ArrayList<>();
+        confChampion = "";
+        semiFinalWL = "";
+        natChampWL = "";
+    }
+
+    /**
+     * Point the position map at the six roster lists.
+     */
+    private void initRosters() {
+        rosters = new EnumMap<>(Position.class);
+        rosters.put(Position.C, teamCenters);
+        rosters.put(Position.LW, teamLeftWings);
+        rosters.put(Position.RW, teamRightWings);
+        rosters.put(Position.LD, teamLD);
+        rosters.put(Position.RD, teamRD);
+        rosters.put(Position.G, teamGoalies);
+    }
+
+    /**
+     * Roster list for one position, e.g. getRoster(Position.G) is teamGoalies.
+     */
+    public ArrayList<? extends PlayerHockey> getRoster(Position pos) {
+        ensureHydrated();
+        return rosters.get(pos);
+    }
+
+    /**
+     * Remember which dictionary name a new player was given.
+     */
+    private static <T extends PlayerHockey> T named(T p, int nameIdx) {
+        p.setNameIdx(nameIdx);
+        return p;
+    }
+
     /**
      * Private helper to recruit a base roster for new teams.
      */
@@ -188,71 +332,170 @@ public class TeamHockey implements Serializable {
             int s = stars;
             if (100*Math.random() < 5*chance) s = s - 1;
             if (s < 1) s = 1;
-            teamCenters.add(new PlayerC(league.getRandName(), (int)(4*Math.random()+1), s, this));
+            int nm = league.getRandNameIdx();
+            teamCenters.add(named(new PlayerC(league.getNameStr(nm), (int)(4*Math.random()+1), s, this), nm));
         }
         for (int i = 0; i < lwNeeds; i++) {
             int s = stars;
             if (100*Math.random() < 5*chance) s = s - 1;
             if (s < 1) s = 1;
-            teamLeftWings.add(new PlayerLW(league.getRandName(), (int)(4*Math.random()+1), s, this));
+            int nm = league.getRandNameIdx();
+            teamLeftWings.add(named(new PlayerLW(league.getNameStr(nm), (int)(4*Math.random()+1), s, this), nm));
         }
         for (int i = 0; i < rwNeeds; i++) {
             int s = stars;
             if (100*Math.random() < 5*chance) s = s - 1;
             if (s < 1) s = 1;
-            teamRightWings.add(new PlayerRW(league.getRandName(), (int)(4*Math.random()+1), s, this));
+            int nm = league.getRandNameIdx();
+            teamRightWings.add(named(new PlayerRW(league.getNameStr(nm), (int)(4*Math.random()+1), s, this), nm));
         }
         for (int i = 0; i < ldNeeds; i++) {
             int s = stars;
             if (100*Math.random() < 5*chance) s = s - 1;
             if (s < 1) s = 1;
-            teamLD.add(new PlayerLD(league.getRandName(), (int)(4*Math.random()+1), s, this));
+            int nm = league.getRandNameIdx();
+            teamLD.add(named(new PlayerLD(league.getNameStr(nm), (int)(4*Math.random()+1), s, this), nm));
         }
         for (int i = 0; i < rdNeeds; i++) {
             int s = stars;
             if (100*Math.random() < 5*chance) s = s - 1;
             if (s < 1) s = 1;
-            teamRD.add(new PlayerRD(league.getRandName(), (int)(4*Math.random()+1), s, this));
+            int nm = league.getRandNameIdx();
+            teamRD.add(named(new PlayerRD(league.getNameStr(nm), (int)(4*Math.random()+1), s, this), nm));
         }
         for (int i = 0; i < gNeeds; i++) {
             int s = stars;
             if (100*Math.random() < 5*chance) s = s - 1;
             if (s < 1) s = 1;
-            teamGoalies.add(new PlayerG(league.getRandName(), (int)(4*Math.random()+1), s, this));
+            int nm = league.getRandNameIdx();
+            teamGoalies.add(named(new PlayerG(league.getNameStr(nm), (int)(4*Math.random()+1), s, this), nm));
         }
 
         sortPlayers();
     }
 
     /**
-     * If loading from file, you’d parse lines of CSV. 
-     * For brevity, omitted here. 
-     * Make sure to store them in the correct hockey ArrayLists.
+     * Team read back from a text save block: the getTeamSaveLine() line, then one
+     * PlayerCodec.toSaveLine() per player, all '%' separated (the loader drops the
+     * line breaks). Rival is only the abbr here, the loader links it afterwards.
      */
     public TeamHockey(String loadStr, HockeyLeague league) {
-        // parse loadStr, fill rosters, stats, etc.
-        // ... 
+        this.league = league;
+        userControlled = false;
+        initLists();
+
+        String[] parts = loadStr.split("%");
+        String[] info = parts[0].split(",");
+        conference = info[0];
+        name = info[1];
+        abbr = info[2];
+        teamPrestige = Integer.parseInt(info[3]);
+        totalWins = Integer.parseInt(info[4]);
+        totalLosses = Integer.parseInt(info[5]);
+        totalCCs = Integer.parseInt(info[6]);
+        totalNCs = Integer.parseInt(info[7]);
+        rivalTeam = info[8];
+        totalNCLosses = Integer.parseInt(info[9]);
+        totalCCLosses = Integer.parseInt(info[10]);
+        totalCups = Integer.parseInt(info[11]);
+        totalCupLosses = Integer.parseInt(info[12]);
+        // 13 and 14 were the football strategies; older saves have more after 15, ignored
+        showPopups = info.length <= 15 || info[15].equals("1");
+
+        // parts[1] is the old even-year home opponent, always empty now
+        for (int i = 2; i < parts.length; ++i) {
+            if (!parts[i].isEmpty()) PlayerCodec.readSaveLine(parts[i], this);
+        }
+        sortPlayers();
+
+        numRecruits = 20;
+        playersLeaving = new ArrayList<>();
+    }
+
+    /**
+     * First line of this team's block in the text save, see TeamHockey(String, HockeyLeague).
+     * confSlot isn't on it: the HOMEAWAY% lines list each conference's abbrs in slot order,
+     * and HockeyConference.loadHomeAway() sets it from those.
+     */
+    public String getTeamSaveLine() {
+        return conference + "," + name + "," + abbr + "," + teamPrestige + "," +
+                (totalWins - wins) + "," + (totalLosses - losses) + "," + totalCCs + "," + totalNCs + "," + rivalTeam + "," +
+                totalNCLosses + "," + totalCCLosses + "," + totalCups + "," + totalCupLosses + ",0,0," +
+                (showPopups ? 1 : 0) + "%%";
+    }
+
+    /**
+     * Every player as a text save line, in position and roster order.
+     */
+    public String getPlayerInfoSaveFile() {
+        StringBuilder sb = new StringBuilder();
+        for (Position pos : Position.values()) {
+            for (PlayerHockey p : getRoster(pos)) {
+                sb.append(PlayerCodec.toSaveLine(p)).append("%\n");
+            }
+        }
+        return sb.toString();
     }
 
     /**
-     * Update team’s offense/defense ratings & poll score.
+     * Update team’s offense/defense ratings; the poll score follows on the next updatePollScore().
      */
     public void updateTalentRatings() {
-        teamOffTalent = getOffTalent();
-        teamDefTalent = getDefTalent();
-        teamPollScore = teamPrestige + teamOffTalent + teamDefTalent;
+        refreshTalent();
+        pollDirty = true;
+    }
+
+    /**
+     * Marks talent, hockey IQ and poll score as stale. Call after anything that
+     * reorders or re-rates the roster (sorts, injuries, progression).
+     */
+    public void invalidateTalent() {
+        talentDirty = true;
+        pollDirty = true;
+    }
+
+    /**
+     * Marks poll score and strength of wins as stale, e.g. after a game result,
+     * prestige change or championship.
+     */
+    public void invalidatePollScore() {
+        pollDirty = true;
+    }
+
+    /**
+     * Recompute the cached talent ratings if the roster changed since last time.
+     */
+    private void refreshTalent() {
+        if (!talentDirty) return;
+        cachedOffTalent = computeOffTalent();
+        cachedDefTalent = computeDefTalent();
+        cachedHockeyIQ = computeCompositeHockeyIQ();
+        teamOffTalent = cachedOffTalent;
+        teamDefTalent = cachedDefTalent;
+        talentDirty = false;
     }
 
     /**
      * Advance season, adjust prestige, remove seniors, etc.
      */
     public void advanceSeason() {
+        TeamHockey r = getRival();
+        advancePrestige(r != null ? r.teamPrestige : teamPrestige);
+        checkSeasonRecords();
+        advanceSeasonPlayers();
+    }
+
+    /**
+     * Offseason prestige change. rivalPrestige is passed in (not read from the rival)
+     * so teams can advance in parallel off a snapshot taken before anyone changed.
+     */
+    public void advancePrestige(int rivalPrestige) {
         int oldPrestige = teamPrestige;
         if (this != league.saveBless && this != league.saveCurse) {
             // if you beat your rival and the difference is not huge
-            if (wonRivalryGame && (teamPrestige - league.findTeamAbbr(rivalTeam).teamPrestige < 20)) {
+            if (wonRivalryGame && (teamPrestige - rivalPrestige < 20)) {
                 teamPrestige += 2;
-            } else if (!wonRivalryGame && (league.findTeamAbbr(rivalTeam).teamPrestige - teamPrestige < 20)) {
+            } else if (!wonRivalryGame && (rivalPrestige - teamPrestige < 20)) {
                 teamPrestige -= 2;
             }
 
@@ -273,14 +516,29 @@ public class TeamHockey implements Serializable {
         if (teamPrestige < 45) teamPrestige = 45;
 
         diffPrestige = teamPrestige - oldPrestige;
+        invalidatePollScore();
+    }
 
+    /**
+     * Hall of Fame and career records for the departing class. Writes the shared
+     * league records, so this one runs one team at a time.
+     */
+    public void checkSeasonRecords() {
         if (userControlled) checkHallofFame();
-        checkCareerRecords(league.leagueRecords);
+        checkCareerRecords(league.recordBoard);
         if (league.userTeam == this) {
-            checkCareerRecords(league.userTeamRecords);
+            checkCareerRecords(league.userRecordBoard);
         }
+    }
 
-        advanceSeasonPlayers();
+    /**
+     * Rival team object. Cached, and only looked up again if the rival's abbr changed.
+     */
+    public TeamHockey getRival() {
+        if (rival == null || !rival.abbr.equals(rivalTeam)) {
+            rival = league.findTeamAbbr(rivalTeam);
+        }
+        return rival;
     }
 
     /**
@@ -310,24 +568,25 @@ public class TeamHockey implements Serializable {
      * Check if any league records were broken by this team.
      * E.g. "Team GPG", "Shots," "Goals," etc.
      */
-    public void checkLeagueRecords(LeagueRecords records) {
-        records.checkRecord("Team GPG", teamGoals / numGames(), abbr, league.getYear());
-        records.checkRecord("Team Opp GPG", teamOppGoals / numGames(), abbr, league.getYear());
-        records.checkRecord("Team Shots/G", teamShots / numGames(), abbr, league.getYear());
-        records.checkRecord("Team Opp Shots/G", teamOppShots / numGames(), abbr, league.getYear());
-        records.checkRecord("Team TKW Diff", teamTODiff, abbr, league.getYear());
-
-        // check for individual players if you want
-        // e.g. top scorers, etc.
+    public void checkLeagueRecords(RecordBoard board) {
+        int year = league.getYear();
+        board.post(RecordType.TEAM_GPG, teamGoals / numGames(), this, null, year);
+        board.post(RecordType.TEAM_OPP_GPG, teamOppGoals / numGames(), this, null, year);
+        board.post(RecordType.TEAM_SHOTS_PG, teamShots / numGames(), this, null, year);
+        board.post(RecordType.TEAM_OPP_SHOTS_PG, teamOppShots / numGames(), this, null, year);
+        board.post(RecordType.TEAM_TKW_DIFF, teamTODiff, this, null, year);
+
+        // player season records are posted after every game, see HockeyLeague.checkGameRecords()
     }
 
     /**
-     * Checks the career records for all leaving players.
+     * Checks the career records for all leaving players. Careers are posted game by game,
+     * this catches anyone whose totals predate that (older saves).
      */
-    public void checkCareerRecords(LeagueRecords records) {
-        // if a PlayerC had e.g. careerShots, careerGoals
-        // call records.checkRecord("Career Shots", c.statsShots + c.careerShots, abbr + " " + c.getInitialName(), league.getYear()-1)
-        // similarly for other positions
+    public void checkCareerRecords(RecordBoard board) {
+        for (PlayerHockey p : playersLeaving) {
+            board.postCareer(this, p);
+        }
     }
 
     /**
@@ -338,36 +597,11 @@ public class TeamHockey implements Serializable {
         double addChance = 0.0;
         if ("NCW".equals(natChampWL)) addChance += 0.2;
 
-        // centers
-        for (PlayerC c : teamCenters) {
-            if (c.year == 4 || (c.year == 3 && c.ratOvr > PRO_OVR && Math.random() < PRO_CHANCE + addChance)) {
-                playersLeaving.add(c);
-            }
-        }
-        // same for LW, RW, LD, RD, G
-        for (PlayerLW lw : teamLeftWings) {
-            if (lw.year == 4 || (lw.year == 3 && lw.ratOvr > PRO_OVR && Math.random() < PRO_CHANCE + addChance)) {
-                playersLeaving.add(lw);
-            }
-        }
-        for (PlayerRW rw : teamRightWings) {
-            if (rw.year == 4 || (rw.year == 3 && rw.ratOvr > PRO_OVR && Math.random() < PRO_CHANCE + addChance)) {
-                playersLeaving.add(rw);
-            }
-        }
-        for (PlayerLD ld : teamLD) {
-            if (ld.year == 4 || (ld.year == 3 && ld.ratOvr > PRO_OVR && Math.random() < PRO_CHANCE + addChance)) {
-                playersLeaving.add(ld);
-            }
-        }
-        for (PlayerRD rd : teamRD) {
-            if (rd.year == 4 || (rd.year == 3 && rd.ratOvr > PRO_OVR && Math.random() < PRO_CHANCE + addChance)) {
-                playersLeaving.add(rd);
-            }
-        }
-        for (PlayerG g : teamGoalies) {
-            if (g.year == 4 || (g.year == 3 && g.ratOvr > PRO_OVR && Math.random() < PRO_CHANCE + addChance)) {
-                playersLeaving.add(g);
+        for (Position pos : Position.values()) {
+            for (PlayerHockey p : rosters.get(pos)) {
+                if (p.year == 4 || (p.year == 3 && p.ratOvr > PRO_OVR && Math.random() < PRO_CHANCE + addChance)) {
+                    playersLeaving.add(p);
+                }
             }
         }
     }
@@ -377,41 +611,59 @@ public class TeamHockey implements Serializable {
      * recruit new ones if not user-controlled.
      */
     public void advanceSeasonPlayers() {
+        int[] needs = removeDepartures();
+        progressPlayers();
+        recruitForNeeds(needs);
+    }
+
+    /**
+     * Take departing players off the rosters. Returns how many left at each position
+     * (indexed by Position.ordinal()).
+     */
+    public int[] removeDepartures() {
         getPlayersLeaving(); // if not already done
-        int cNeeds=0, lwNeeds=0, rwNeeds=0, ldNeeds=0, rdNeeds=0, gNeeds=0;
-
-        // remove from rosters
-        // centers
-        int i = 0;
-        while (i < teamCenters.size()) {
-            PlayerC c = teamCenters.get(i);
-            if (playersLeaving.contains(c)) {
-                teamCenters.remove(i);
-                cNeeds++;
-            } else {
-                c.advanceSeason();
-                i++;
+        int[] needs = new int[Position.values().length];
+        for (Position pos : Position.values()) {
+            ArrayList<? extends PlayerHockey> roster = rosters.get(pos);
+            int i = 0;
+            while (i < roster.size()) {
+                if (playersLeaving.contains(roster.get(i))) {
+                    roster.remove(i);
+                    needs[pos.ordinal()]++;
+                } else {
+                    i++;
+                }
             }
         }
+        // they're gone; next offseason's getPlayersLeaving has to look again
+        playersLeaving.clear();
+        return needs;
+    }
 
-        // same approach for LW, RW, LD, RD, G
-        i = 0;
-        while (i < teamLeftWings.size()) {
-            PlayerLW lw = teamLeftWings.get(i);
-            if (playersLeaving.contains(lw)) {
-                teamLeftWings.remove(i);
-                lwNeeds++;
-            } else {
-                lw.advanceSeason();
-                i++;
+    /**
+     * Offseason progression for everyone still on the roster.
+     */
+    public void progressPlayers() {
+        for (Position pos : Position.values()) {
+            for (PlayerHockey p : rosters.get(pos)) {
+                p.advanceSeason();
             }
         }
-        // ... similarly for teamRightWings, teamLD, teamRD, teamGoalies
+        invalidateTalent();
+    }
 
+    /**
+     * AI teams refill the departures with freshmen and reset for the new season;
+     * the user's team recruits through the recruiting screen instead.
+     */
+    public void recruitForNeeds(int[] needs) {
         if (!userControlled) {
-            recruitPlayersFreshman(cNeeds, lwNeeds, rwNeeds, ldNeeds, rdNeeds, gNeeds);
+            recruitPlayersFreshman(needs[Position.C.ordinal()], needs[Position.LW.ordinal()],
+                    needs[Position.RW.ordinal()], needs[Position.LD.ordinal()],
+                    needs[Position.RD.ordinal()], needs[Position.G.ordinal()]);
             resetStats();
         }
+        invalidateTalent();
     }
 
     /**
@@ -421,48 +673,84 @@ public class TeamHockey implements Serializable {
                                        int ldNeeds, int rdNeeds, int gNeeds) {
         int starsBase = teamPrestige/20 + 1;
         int chance = 20 - (teamPrestige - 20*(teamPrestige/20));
-        double starBonusChance = 0.15;
-        double starBonusDouble = 0.05;
 
         for (int i = 0; i < cNeeds; i++) {
-            int s = starsBase;
-            if (100*Math.random() < 5*chance) s--;
-            if (Math.random() < starBonusChance) s++;
-            else if (Math.random() < starBonusDouble) s+=2;
-            if (s < 1) s=1; if (s>5) s=5;
-            teamCenters.add(new PlayerC(league.getRandName(), 1, s, this));
+            int s = freshmanStars(starsBase, chance);
+            int nm = league.getRandNameIdx();
+            teamCenters.add(named(new PlayerC(league.getNameStr(nm), 1, s, this), nm));
+        }
+        for (int i = 0; i < lwNeeds; i++) {
+            int s = freshmanStars(starsBase, chance);
+            int nm = league.getRandNameIdx();
+            teamLeftWings.add(named(new PlayerLW(league.getNameStr(nm), 1, s, this), nm));
+        }
+        for (int i = 0; i < rwNeeds; i++) {
+            int s = freshmanStars(starsBase, chance);
+            int nm = league.getRandNameIdx();
+            teamRightWings.add(named(new PlayerRW(league.getNameStr(nm), 1, s, this), nm));
+        }
+        for (int i = 0; i < ldNeeds; i++) {
+            int s = freshmanStars(starsBase, chance);
+            int nm = league.getRandNameIdx();
+            teamLD.add(named(new PlayerLD(league.getNameStr(nm), 1, s, this), nm));
+        }
+        for (int i = 0; i < rdNeeds; i++) {
+            int s = freshmanStars(starsBase, chance);
+            int nm = league.getRandNameIdx();
+            teamRD.add(named(new PlayerRD(league.getNameStr(nm), 1, s, this), nm));
+        }
+        for (int i = 0; i < gNeeds; i++) {
+            int s = freshmanStars(starsBase, chance);
+            int nm = league.getRandNameIdx();
+            teamGoalies.add(named(new PlayerG(league.getNameStr(nm), 1, s, this), nm));
         }
-        // similarly for LW, RW, LD, RD, G
 
         sortPlayers();
     }
 
+    /**
+     * Star rating for one freshman: the prestige base, maybe a star less, maybe a bonus, 1 to 5.
+     */
+    private int freshmanStars(int starsBase, int chance) {
+        int s = starsBase;
+        if (100*Math.random() < 5*chance) s--;
+        if (Math.random() < 0.15) s++;
+        else if (Math.random() < 0.05) s+=2;
+        if (s < 1) s=1; if (s>5) s=5;
+        return s;
+    }
+
     /**
      * Sort each roster by overall rating.
      */
     public void sortPlayers() {
-        Collections.sort(teamCenters, new PlayerComparator());
-        Collections.sort(teamLeftWings, new PlayerComparator());
-        Collections.sort(teamRightWings, new PlayerComparator());
-        Collections.sort(teamLD, new PlayerComparator());
-        Collections.sort(teamRD, new PlayerComparator());
-        Collections.sort(teamGoalies, new PlayerComparator());
+        ensureHydrated();
+        PlayerComparator comp = new PlayerComparator();
+        for (ArrayList<? extends PlayerHockey> roster : rosters.values()) {
+            Collections.sort(roster, comp);
+        }
 
         Collections.sort(teamRSs, new PlayerComparator());
         Collections.sort(teamFRs, new PlayerComparator());
         Collections.sort(teamSOs, new PlayerComparator());
         Collections.sort(teamJRs, new PlayerComparator());
         Collections.sort(teamSRs, new PlayerComparator());
+        invalidateTalent();
     }
 
     /**
      * Offense talent example: top 2 lines of forwards (Centers, LWs, RWs).
      */
     public int getOffTalent() {
+        refreshTalent();
+        return cachedOffTalent;
+    }
+
+    private int computeOffTalent() {
         // just an example
-        int cTop = (teamCenters.get(0).ratOvr + teamCenters.get(1).ratOvr)/2;
-        int lwTop = (teamLeftWings.get(0).ratOvr + teamLeftWings.get(1).ratOvr)/2;
-        int rwTop = (teamRightWings.get(0).ratOvr + teamRightWings.get(1).ratOvr)/2;
+        int cTop = topOvr(teamCenters, 2);
+        int lwTop = topOvr(teamLeftWings, 2);
+        int rwTop = topOvr(teamRightWings, 2);
         return (cTop + lwTop + rwTop)/3;
     }
 
@@ -470,9 +758,14 @@ public class TeamHockey implements Serializable {
      * Defense talent example: top 2 defense pairs plus top goalie?
      */
     public int getDefTalent() {
-        int ldTop = (teamLD.get(0).ratOvr + teamLD.get(1).ratOvr)/2;
-        int rdTop = (teamRD.get(0).ratOvr + teamRD.get(1).ratOvr)/2;
-        int g = teamGoalies.get(0).ratOvr;
+        refreshTalent();
+        return cachedDefTalent;
+    }
+
+    private int computeDefTalent() {
+        int ldTop = topOvr(teamLD, 2);
+        int rdTop = topOvr(teamRD, 2);
+        int g = topOvr(teamGoalies, 1);
         return (ldTop + rdTop + g)/3;
     }
 
@@ -480,17 +773,45 @@ public class TeamHockey implements Serializable {
      * Example: get composite "HockeyIQ" if needed
      */
     public int getCompositeHockeyIQ() {
+        refreshTalent();
+        return cachedHockeyIQ;
+    }
+
+    private int computeCompositeHockeyIQ() {
         // sum from top lines
         int iq = 0;
-        iq += teamCenters.get(0).ratHockeyIQ + teamCenters.get(1).ratHockeyIQ;
-        iq += teamLeftWings.get(0).ratHockeyIQ + teamLeftWings.get(1).ratHockeyIQ;
-        iq += teamRightWings.get(0).ratHockeyIQ + teamRightWings.get(1).ratHockeyIQ;
-        iq += teamLD.get(0).ratHockeyIQ + teamLD.get(1).ratHockeyIQ;
-        iq += teamRD.get(0).ratHockeyIQ + teamRD.get(1).ratHockeyIQ;
-        iq += teamGoalies.get(0).ratHockeyIQ;
+        iq += topIQ(teamCenters, 2);
+        iq += topIQ(teamLeftWings, 2);
+        iq += topIQ(teamRightWings, 2);
+        iq += topIQ(teamLD, 2);
+        iq += topIQ(teamRD, 2);
+        iq += topIQ(teamGoalies, 1);
         return iq/8;
     }
 
+    /**
+     * Average OVR of the top n on a (sorted) roster. An empty slot counts as 0, so a
+     * short roster rates lower instead of blowing up.
+     */
+    private static int topOvr(ArrayList<? extends PlayerHockey> roster, int n) {
+        int sum = 0;
+        for (int i = 0; i < n && i < roster.size(); ++i) {
+            sum += roster.get(i).ratOvr;
+        }
+        return sum/n;
+    }
+
+    /**
+     * Summed HockeyIQ of the top n on a roster, empty slots 0.
+     */
+    private static int topIQ(ArrayList<? extends PlayerHockey> roster, int n) {
+        int sum = 0;
+        for (int i = 0; i < n && i < roster.size(); ++i) {
+            sum += roster.get(i).ratHockeyIQ;
+        }
+        return sum;
+    }
+
     /**
      * Example: get recruiting class rating
      * sums OVR of all true freshmen above 65, as a rough measure
@@ -515,13 +836,15 @@ public class TeamHockey implements Serializable {
      * Returns a list of all players on this team (C,LW,RW,LD,RD,G).
      */
     public ArrayList<PlayerHockey> getAllPlayers() {
-        ArrayList<PlayerHockey> list = new ArrayList<>();
-        list.addAll(teamCenters);
-        list.addAll(teamLeftWings);
-        list.addAll(teamRightWings);
-        list.addAll(teamLD);
-        list.addAll(teamRD);
-        list.addAll(teamGoalies);
+        ensureHydrated();
+        int n = 0;
+        for (ArrayList<? extends PlayerHockey> roster : rosters.values()) {
+            n += roster.size();
+        }
+        ArrayList<PlayerHockey> list = new ArrayList<>(n);
+        for (ArrayList<? extends PlayerHockey> roster : rosters.values()) {
+            list.addAll(roster);
+        }
         return list;
     }
 
@@ -556,11 +879,15 @@ public class TeamHockey implements Serializable {
      * Summarize your team’s last game of the week
      */
     public String weekSummaryStr() {
-        int i = wins + losses - 1;
+        int i = gameWLSchedule.size() - 1;
         GameHockey g = gameSchedule.get(i);
+        if (g == null) {
+            return name + " had a bye this week.\nPoll rank: #" + rankTeamPollScore
+                   + " " + abbr + " (" + wins + "-" + losses + ")";
+        }
         String gameSummary = gameWLSchedule.get(i) + " " + gameSummaryStr(g);
         String rivalryGameStr = "";
-        if (g.gameName.equals("Rivalry Game")) {
+        if (g.gameType == GameType.RIVALRY) {
             if ( gameWLSchedule.get(i).equals("W") ) rivalryGameStr = "Won Rivalry!\n";
             else rivalryGameStr = "Lost Rivalry!\n";
         }
@@ -608,10 +935,6 @@ public class TeamHockey implements Serializable {
      * Resets stats for the upcoming season
      */
     public void resetStats() {
-        gameSchedule = new ArrayList<>();
-        gameOOCSchedule0 = null;
-        gameOOCSchedule4 = null;
-        gameOOCSchedule9 = null;
         gameWinsAgainst = new ArrayList<>();
         gameWLSchedule = new ArrayList<>();
         confChampion = "";
@@ -619,6 +942,7 @@ public class TeamHockey implements Serializable {
         natChampWL = "";
         wins = 0;
         losses = 0;
+        pollDirty = true;
 
         teamGoals = 0;
         teamOppGoals = 0;
@@ -628,9 +952,11 @@ public class TeamHockey implements Serializable {
     }
 
     /**
-     * Recompute poll score based on performance
+     * Recompute poll score based on performance. Skipped when nothing changed
+     * since the last call (no result, roster change or league rank change).
      */
     public void updatePollScore() {
+        if (!pollDirty && pollScoreEpoch == league.pollScoreEpoch) return;
         updateStrengthOfWins();
         int preseasonBias = 8 - (wins + losses);
         if (preseasonBias < 0) preseasonBias = 0;
@@ -653,8 +979,8 @@ public class TeamHockey implements Serializable {
         } else if (losses == 1) {
             teamPollScore += 15;
         }
-        teamOffTalent = getOffTalent();
-        teamDefTalent = getDefTalent();
+        pollDirty = false;
+        pollScoreEpoch = league.pollScoreEpoch;
     }
 
     /**
@@ -662,12 +988,15 @@ public class TeamHockey implements Serializable {
      */
     public void updateStrengthOfWins() {
         int strWins = 0;
-        for (int i = 0; i < 12 && i < gameSchedule.size(); i++) {
+        int numTeams = league.teamList.size();
+        int regularSeason = league.config.getRegularSeasonWeeks();
+        for (int i = 0; i < regularSeason && i < gameSchedule.size(); i++) {
             GameHockey g = gameSchedule.get(i);
+            if (g == null) continue;
             if (g.homeTeam == this) {
-                strWins += Math.pow(60 - g.awayTeam.rankTeamPollScore,2);
+                strWins += Math.pow(numTeams - g.awayTeam.rankTeamPollScore,2);
             } else {
-                strWins += Math.pow(60 - g.homeTeam.rankTeamPollScore,2);
+                strWins += Math.pow(numTeams - g.homeTeam.rankTeamPollScore,2);
             }
         }
         teamStrengthOfWins = strWins/50;
@@ -683,7 +1012,7 @@ public class TeamHockey implements Serializable {
         String histYear = league.getYear() + ": #" + rankTeamPollScore + " " + abbr 
                         + " (" + wins + "-" + losses + ") " 
                         + confChampion + " " + semiFinalWL + natChampWL;
-        for (int i = 12; i < gameSchedule.size(); i++) {
+        for (int i = league.config.getRegularSeasonWeeks(); i < gameSchedule.size(); i++) {
             GameHockey g = gameSchedule.get(i);
             histYear += ">" + g.gameName + ": ";
             String[] sum = getGameSummaryStr(i);
@@ -692,12 +1021,65 @@ public class TeamHockey implements Serializable {
         teamHistory.add(histYear);
     }
 
+    /**
+     * Open this team's history archives in dir. Files are keyed by historyKey, which is
+     * the abbr the first time so a later rename doesn't orphan them.
+     */
+    public void openHistoryArchive(File dir, int segmentSize, int window) throws IOException {
+        if (historyKey == null) historyKey = abbr;
+        historyArchive = new HistoryArchive(dir, "team-" + historyKey, segmentSize, window);
+        hallOfFameArchive = new HistoryArchive(dir, "hof-" + historyKey, segmentSize, window);
+        archiveHistory();
+    }
+
+    /**
+     * Push new teamHistory/hallOfFame entries to the archives and trim both lists
+     * back to the in-memory window. Nothing is dropped if the write fails.
+     */
+    public void archiveHistory() {
+        if (historyArchive == null) return;
+        try {
+            archivedHistory = historyArchive.sync(teamHistory, archivedHistory, s -> s);
+            archivedHallOfFame = hallOfFameArchive.sync(hallOfFame, archivedHallOfFame, s -> s);
+        } catch (IOException ex) {
+            System.out.println("Unable to archive history for " + abbr);
+        }
+    }
+
+    /**
+     * Total seasons of team history, archived + in memory.
+     */
+    public int getTeamHistoryCount() {
+        return archivedHistory + teamHistory.size();
+    }
+
+    /**
+     * Seasons [start, start+count) of team history, oldest first.
+     */
+    public ArrayList<String> getTeamHistoryPage(int start, int count) {
+        return HistoryArchive.page(historyArchive, archivedHistory, teamHistory, start, count, s -> s);
+    }
+
+    public int getHallOfFameCount() {
+        return archivedHallOfFame + hallOfFame.size();
+    }
+
+    public ArrayList<String> getHallOfFamePage(int start, int count) {
+        return HistoryArchive.page(hallOfFameArchive, archivedHallOfFame, hallOfFame, start, count, s -> s);
+    }
+
     /**
      * Return a one-liner for each game in schedule
      */
     public String[] getGameSummaryStr(int gameNumber) {
         String[] gs = new String[3];
         GameHockey g = gameSchedule.get(gameNumber);
+        if (g == null) {
+            gs[0] = "Bye";
+            gs[1] = gameNumber < gameWLSchedule.size() ? "BYE" : "---";
+            gs[2] = "";
+            return gs;
+        }
         gs[0] = g.gameName;  // e.g. "In Conf," "Rivalry Game," "NCG"
         if (gameNumber < gameWLSchedule.size()) {
             gs[1] = gameWLSchedule.get(gameNumber) + " " + gameSummaryStr(g);
@@ -725,29 +1107,64 @@ public class TeamHockey implements Serializable {
      * Turn the team’s entire history into an array of strings
      */
     public String[] getTeamHistoryList() {
-        String[] hist = new String[teamHistory.size() + 5];
+        return getTeamHistoryList(0, getTeamHistoryCount());
+    }
+
+    /**
+     * Totals header plus only seasons [start, start+count), for paged history screens.
+     */
+    public String[] getTeamHistoryList(int start, int count) {
+        ArrayList<String> years = getTeamHistoryPage(start, count);
+        String[] hist = new String[years.size() + 5];
         hist[0] = "Overall W-L: " + totalWins + "-" + totalLosses;
         hist[1] = "Conf Champ Record: " + totalCCs + "-" + totalCCLosses;
         hist[2] = "Cup Game Record: " + totalCups + "-" + totalCupLosses;
         hist[3] = "National Champ Record: " + totalNCs + "-" + totalNCLosses;
         hist[4] = " ";
-        for (int i = 0; i < teamHistory.size(); i++) {
-            hist[i+5] = teamHistory.get(i);
+        for (int i = 0; i < years.size(); i++) {
+            hist[i+5] = years.get(i);
         }
         return hist;
     }
 
     public String getTeamHistoryStr() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Overall W-L: " + totalWins + "-" + totalLosses + "\n");
-        sb.append("Conf Champ Record: " + totalCCs + "-" + totalCCLosses + "\n");
-        sb.append("Cup Game Record: " + totalCups + "-" + totalCupLosses + "\n");
-        sb.append("National Champ Record: " + totalNCs + "-" + totalNCLosses + "\n");
-        sb.append("\nYear by year summary:\n");
-        for (String s : teamHistory) {
-            sb.append(s + "\n");
+        StringWriter sw = new StringWriter();
+        try {
+            writeTeamHistory(sw);
+        } catch (IOException ex) {
+            // StringWriter doesn't throw
         }
-        return sb.toString();
+        return sw.toString();
+    }
+
+    /**
+     * Stream the totals and the year by year summary straight to a Writer.
+     */
+    public void writeTeamHistory(Writer out) throws IOException {
+        out.write("Overall W-L: " + totalWins + "-" + totalLosses + "\n");
+        out.write("Conf Champ Record: " + totalCCs + "-" + totalCCLosses + "\n");
+        out.write("Cup Game Record: " + totalCups + "-" + totalCupLosses + "\n");
+        out.write("National Champ Record: " + totalNCs + "-" + totalNCLosses + "\n");
+        out.write("\nYear by year summary:\n");
+        try {
+            forEachHistoryYear(0, getTeamHistoryCount(), s -> {
+                try {
+                    out.write(s + "\n");
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Hand seasons [start, start+count) of team history to the callback, oldest first,
+     * without copying the whole history.
+     */
+    public void forEachHistoryYear(int start, int count, Consumer<String> callback) {
+        HistoryArchive.forEach(historyArchive, archivedHistory, teamHistory, start, count, s -> s, callback);
     }
 
     /**
@@ -852,8 +1269,6 @@ class PlayerComparator implements Comparator<PlayerHockey> {
 class PlayerPositionComparator implements Comparator<PlayerHockey> {
     @Override
     public int compare(PlayerHockey a, PlayerHockey b) {
-        int aPos = PlayerHockey.getPosNumber(a.position);
-        int bPos = PlayerHockey.getPosNumber(b.position);
-        return Integer.compare(aPos, bPos);
+        return Integer.compare(a.pos.ordinal(), b.pos.ordinal());
     }
 }
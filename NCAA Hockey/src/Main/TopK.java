@@ -0,0 +1,146 @@
+package Main;
+
+
+import java.util.ArrayList;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded top-K selection over precomputed int scores (higher = better).
+ * Keeps a min-heap of the best k items seen so far, so picking e.g. the 64 best
+ * draft prospects or a 3F/2D/1G award team is O(n log k) and never builds a
+ * sorted copy of the whole candidate pool.
+ * Ties keep the item that was offered first.
+ */
+public class TopK<T> {
+
+    private final int k;
+    private final Object[] heapItems;
+    private final int[] heapScores;
+    private final long[] heapSeq;
+    private int size;
+    private long nextSeq;
+
+    public TopK(int k) {
+        this.k = Math.max(k, 0);
+        heapItems = new Object[this.k];
+        heapScores = new int[this.k];
+        heapSeq = new long[this.k];
+        size = 0;
+        nextSeq = 0;
+    }
+
+    /**
+     * Convenience: best k items of a collection by the given score.
+     */
+    public static <T> ArrayList<T> select(Iterable<? extends T> items, int k, ToIntFunction<? super T> scorer) {
+        TopK<T> top = new TopK<>(k);
+        for (T item : items) {
+            top.offer(item, scorer.applyAsInt(item));
+        }
+        return top.toList();
+    }
+
+    /**
+     * Offer an item with its precomputed score. Returns true if it is currently in the top k.
+     */
+    public boolean offer(T item, int score) {
+        long seq = nextSeq++;
+        if (k == 0) return false;
+        if (size < k) {
+            heapItems[size] = item;
+            heapScores[size] = score;
+            heapSeq[size] = seq;
+            siftUp(size);
+            size++;
+            return true;
+        }
+        // root is the worst of the current top k
+        if (!isWorse(0, score, seq)) return false;
+        heapItems[0] = item;
+        heapScores[0] = score;
+        heapSeq[0] = seq;
+        siftDown(0);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The selected items, best first. Does not modify the heap.
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayList<T> toList() {
+        Object[] items = heapItems.clone();
+        int[] scores = heapScores.clone();
+        long[] seqs = heapSeq.clone();
+        Object[] out = new Object[size];
+        int n = size;
+        // pop the worst each time and fill from the back
+        while (n > 0) {
+            out[n - 1] = items[0];
+            n--;
+            items[0] = items[n];
+            scores[0] = scores[n];
+            seqs[0] = seqs[n];
+            siftDown(items, scores, seqs, 0, n);
+        }
+        ArrayList<T> list = new ArrayList<>(size);
+        for (Object o : out) {
+            list.add((T) o);
+        }
+        return list;
+    }
+
+    /**
+     * True if the heap entry at i ranks below (score, seq).
+     */
+    private boolean isWorse(int i, int score, long seq) {
+        if (heapScores[i] != score) return heapScores[i] < score;
+        return heapSeq[i] > seq;
+    }
+
+    private static boolean less(int[] scores, long[] seqs, int a, int b) {
+        if (scores[a] != scores[b]) return scores[a] < scores[b];
+        return seqs[a] > seqs[b];
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!less(heapScores, heapSeq, i, parent)) break;
+            swap(heapItems, heapScores, heapSeq, i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        siftDown(heapItems, heapScores, heapSeq, i, size);
+    }
+
+    private static void siftDown(Object[] items, int[] scores, long[] seqs, int i, int n) {
+        while (true) {
+            int l = 2 * i + 1;
+            if (l >= n) break;
+            int smallest = l;
+            int r = l + 1;
+            if (r < n && less(scores, seqs, r, l)) smallest = r;
+            if (!less(scores, seqs, smallest, i)) break;
+            swap(items, scores, seqs, i, smallest);
+            i = smallest;
+        }
+    }
+
+    private static void swap(Object[] items, int[] scores, long[] seqs, int a, int b) {
+        Object ti = items[a];
+        items[a] = items[b];
+        items[b] = ti;
+        int ts = scores[a];
+        scores[a] = scores[b];
+        scores[b] = ts;
+        long tq = seqs[a];
+        seqs[a] = seqs[b];
+        seqs[b] = tq;
+    }
+}
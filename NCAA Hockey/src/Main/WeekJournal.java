@@ -0,0 +1,503 @@
+package Main;
+
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+
+/**
+ * Cheap per-week autosave. A full binary save (saveLeagueBinary) is only written
+ * at the start of a season; after that every playWeek() appends one small frame to
+ * "save.journal" with what changed that week: new games on the schedule, results,
+ * team counter and rank deltas, player stat deltas and news. Every compactEvery
+ * weeks the frames are folded into one frame relative to the snapshot, so the
+ * journal stays short.
+ *
+ * Loading reads the snapshot and replays the journal on top of it. Players are
+ * numbered by their order in the snapshot (teamId, position, roster order), which
+ * doesn't change during a season since recruiting and departures are offseason only.
+ *
+ * The journal covers the regular season up to the conference championships; the
+ * postseason brackets aren't journaled, appendWeek() returns false from then on.
+ */
+public class WeekJournal {
+
+    public static final byte[] JOURNAL_MAGIC = {'N', 'C', 'H', 'J'};
+    public static final int JOURNAL_VERSION = 1;
+    public static final int DEFAULT_COMPACT_EVERY = 4;
+
+    private static final int FRAME = 1;
+
+    // wins, losses, totalWins, totalLosses, goals, opp goals, shots, opp shots, TO diff, won rivalry, poll rank
+    private static final int TEAM_FIELDS = 11;
+
+    private final HockeyLeague league;
+    private final File snapshotFile;
+    private final File journalFile;
+    private final int compactEvery;
+
+    private TeamHockey[] teams;         // by teamId
+    private PlayerHockey[] players;     // by journal id, snapshot order
+    private Baseline snapshot;          // what the snapshot file holds
+    private Baseline last;              // as of the last frame written
+    private int snapshotYear = -1;
+    private int weeksSinceCompact;
+    private long nanos;
+
+    public WeekJournal(HockeyLeague league, File snapshotFile) {
+        this(league, snapshotFile, DEFAULT_COMPACT_EVERY);
+    }
+
+    public WeekJournal(HockeyLeague league, File snapshotFile, int compactEvery) {
+        this.league = league;
+        this.snapshotFile = snapshotFile;
+        this.journalFile = new File(snapshotFile.getPath() + ".journal");
+        this.compactEvery = Math.max(1, compactEvery);
+    }
+
+    /**
+     * Load the snapshot, replay its journal and return the journal, ready for the
+     * next appendWeek(). The league is getLeague().
+     */
+    public static WeekJournal open(File snapshotFile, NameDictionary names, int compactEvery) throws IOException {
+        HockeyLeague league = new HockeyLeague(snapshotFile, names);
+        WeekJournal journal = new WeekJournal(league, snapshotFile, compactEvery);
+        journal.replay();
+        return journal;
+    }
+
+    public HockeyLeague getLeague() {
+        return league;
+    }
+
+    /**
+     * Full save plus a fresh journal holding this season's schedule. Only at the
+     * start of a season (week 0), the save format keeps start-of-season state only.
+     */
+    public boolean snapshot() {
+        if (league.currentWeek != 0) return false;
+        long start = System.nanoTime();
+        if (!league.saveLeagueBinary(snapshotFile)) return false;
+        indexLeague();
+        snapshot = captureSnapshot();
+        snapshotYear = league.getYear();
+        boolean ok = compact();
+        nanos += System.nanoTime() - start;
+        return ok;
+    }
+
+    /**
+     * Append what changed since the last frame. Call after every playWeek().
+     * False if there's nothing to append to (no snapshot this season, or past the
+     * regular season); take a full save instead.
+     */
+    public boolean appendWeek() {
+        if (snapshot == null || snapshotYear != league.getYear()) return false;
+        if (league.currentWeek > league.config.getRegularSeasonWeeks()) return false;
+        long start = System.nanoTime();
+        Baseline now = capture();
+        SaveOutput out = new SaveOutput(1 << 12);
+        writeFrame(out, last, now);
+        try (FileOutputStream fos = new FileOutputStream(journalFile, true)) {
+            out.writeTo(fos);
+            fos.getChannel().force(false);
+        } catch (IOException e) {
+            return false;
+        }
+        last = now;
+        boolean ok = true;
+        if (++weeksSinceCompact >= compactEvery) {
+            ok = compact();
+        }
+        nanos += System.nanoTime() - start;
+        return ok;
+    }
+
+    /**
+     * Rewrite the journal as a header and a single frame from the snapshot to now.
+     */
+    public boolean compact() {
+        Baseline now = capture();
+        try (SaveFileWriter file = new SaveFileWriter(journalFile)) {
+            SaveOutput out = new SaveOutput(file);
+            out.writeBytes(JOURNAL_MAGIC);
+            out.writeVarInt(JOURNAL_VERSION);
+            out.writeVarInt(snapshotYear);
+            out.writeVarInt(teams.length);
+            out.writeVarInt(players.length);
+            writeFrame(out, snapshot, now);
+            out.flush();
+            file.commit();
+        } catch (IOException e) {
+            return false;
+        }
+        last = now;
+        weeksSinceCompact = 0;
+        return true;
+    }
+
+    /**
+     * Time spent snapshotting, appending and compacting so far, in nanoseconds.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    public File getJournalFile() {
+        return journalFile;
+    }
+
+    private void replay() throws IOException {
+        indexLeague();
+        snapshot = captureSnapshot();
+        snapshotYear = league.getYear();
+        last = snapshot;
+
+        int frames = 0;
+        if (journalFile.exists()) {
+            SaveInput in = SaveInput.of(journalFile);
+            if (readHeader(in)) {
+                int tag;
+                while ((tag = in.nextSection()) >= 0) {
+                    if (tag != FRAME) continue;
+                    // the journal's schedule replaces the one the loader just drew
+                    if (frames++ == 0) {
+                        league.schedule.reset(league.config.getSeasonWeeks(),
+                                league.config.getRegularSeasonWeeks(), teams.length);
+                    }
+                    applyFrame(in);
+                }
+            }
+        }
+        if (frames == 0) {
+            // missing or stale journal: start one for the schedule we have
+            compact();
+            return;
+        }
+        finishReplay();
+        // rewrite before anything is appended: a frame torn by a crash is still at the
+        // tail, and the next append's bytes would complete its length
+        if (!compact()) throw new IOException("Can't rewrite " + journalFile);
+    }
+
+    private boolean readHeader(SaveInput in) {
+        byte[] magic = in.readBytes(JOURNAL_MAGIC.length);
+        if (!Arrays.equals(magic, JOURNAL_MAGIC)) return false;
+        if (in.readVarInt() > JOURNAL_VERSION) return false;
+        // a journal left over from an older snapshot doesn't apply
+        return in.readVarInt() == snapshotYear && in.readVarInt() == teams.length
+                && in.readVarInt() == players.length;
+    }
+
+    private void applyFrame(SaveInput in) {
+        int week = in.readVarInt();
+
+        int newGames = in.readVarInt();
+        GameType[] types = GameType.values();
+        for (int i = 0; i < newGames; ++i) {
+            int w = in.readVarInt();
+            TeamHockey home = teams[in.readVarInt()];
+            TeamHockey away = teams[in.readVarInt()];
+            GameType type = types[in.readVarInt()];
+            league.schedule.addGame(w, new GameHockey(home, away, type, in.readString()));
+        }
+
+        int results = in.readVarInt();
+        for (int i = 0; i < results; ++i) {
+            readResult(in, league.schedule.getGameById(in.readVarInt()));
+        }
+
+        int changedTeams = in.readVarInt();
+        int[] delta = new int[TEAM_FIELDS];
+        for (int i = 0; i < changedTeams; ++i) {
+            TeamHockey t = teams[in.readVarInt()];
+            readDelta(in, delta);
+            addTeamFields(t, delta);
+            int wl = in.readVarInt();
+            for (int k = 0; k < wl; ++k) {
+                t.gameWLSchedule.add(in.readString());
+            }
+            int beaten = in.readVarInt();
+            for (int k = 0; k < beaten; ++k) {
+                t.gameWinsAgainst.add(teams[in.readVarInt()]);
+            }
+        }
+
+        int changedPlayers = in.readVarInt();
+        int[] stats = new int[PlayerCodec.SEASON_STATS];
+        for (int i = 0; i < changedPlayers; ++i) {
+            PlayerHockey p = players[in.readVarInt()];
+            readDelta(in, stats);
+            PlayerCodec.forPlayer(p).addSeasonStats(p, stats);
+        }
+
+        int newsWeeks = in.readVarInt();
+        for (int i = 0; i < newsWeeks; ++i) {
+            int w = in.readVarInt();
+            int n = in.readVarInt();
+            for (int k = 0; k < n; ++k) {
+                String headline = in.readString();
+                league.newsStories.add(NewsStory.text(w, headline, in.readString()));
+            }
+        }
+
+        league.currentWeek = week;
+    }
+
+    /**
+     * Everything derived from the replayed state: conference week counters and
+     * championship games, poll order, cached scores and the Hobey race.
+     */
+    private void finishReplay() {
+        for (HockeyConference c : league.conferences) {
+            c.currentWeek = league.currentWeek;
+            c.relinkChampionship();
+        }
+        Collections.sort(league.teamList, new TeamCompPollRank());
+        for (TeamHockey t : teams) {
+            t.invalidateTalent();
+        }
+        league.invalidatePollScores();
+        league.hobeyLeaderboard.rebuild(league.teamList);
+    }
+
+    /**
+     * One frame taking the league from one baseline to the next: the week, games
+     * added to the schedule, new results, then per-team, per-player and news deltas.
+     * Counters are zigzag deltas behind a bit mask of the fields that changed.
+     */
+    private void writeFrame(SaveOutput out, Baseline from, Baseline to) {
+        out.beginSection(FRAME);
+        out.writeVarInt(league.currentWeek);
+
+        ScheduleTable schedule = league.schedule;
+        out.writeVarInt(to.games - from.games);
+        for (int id = from.games; id < to.games; ++id) {
+            GameHockey g = schedule.getGameById(id);
+            out.writeVarInt(schedule.getGameWeek(id));
+            out.writeVarInt(g.homeTeam.teamId);
+            out.writeVarInt(g.awayTeam.teamId);
+            out.writeVarInt(g.gameType.ordinal());
+            out.writeString(g.gameName);
+        }
+
+        BitSet played = (BitSet) to.results.clone();
+        played.andNot(from.results);
+        out.writeVarInt(played.cardinality());
+        for (int id = played.nextSetBit(0); id >= 0; id = played.nextSetBit(id + 1)) {
+            out.writeVarInt(id);
+            writeResult(out, schedule.getGameById(id));
+        }
+
+        ArrayList<Integer> changed = new ArrayList<>();
+        for (int i = 0; i < teams.length; ++i) {
+            if (!Arrays.equals(from.team[i], to.team[i]) || from.wl[i] != to.wl[i]
+                    || from.winsAgainst[i] != to.winsAgainst[i]) {
+                changed.add(i);
+            }
+        }
+        out.writeVarInt(changed.size());
+        for (int i : changed) {
+            TeamHockey t = teams[i];
+            out.writeVarInt(i);
+            writeDelta(out, from.team[i], to.team[i]);
+            out.writeVarInt(to.wl[i] - from.wl[i]);
+            for (int k = from.wl[i]; k < to.wl[i]; ++k) {
+                out.writeString(t.gameWLSchedule.get(k));
+            }
+            out.writeVarInt(to.winsAgainst[i] - from.winsAgainst[i]);
+            for (int k = from.winsAgainst[i]; k < to.winsAgainst[i]; ++k) {
+                out.writeVarInt(t.gameWinsAgainst.get(k).teamId);
+            }
+        }
+
+        changed.clear();
+        for (int i = 0; i < players.length; ++i) {
+            if (!Arrays.equals(from.player[i], to.player[i])) changed.add(i);
+        }
+        out.writeVarInt(changed.size());
+        for (int i : changed) {
+            out.writeVarInt(i);
+            writeDelta(out, from.player[i], to.player[i]);
+        }
+
+        changed.clear();
+        for (int w = 0; w < to.news.length; ++w) {
+            if (to.news[w] != from.news[w]) changed.add(w);
+        }
+        out.writeVarInt(changed.size());
+        for (int w : changed) {
+            // only the newest stories are still in the feed's ring
+            ArrayList<NewsStory> kept = league.newsStories.getWeek(w);
+            int n = (int) Math.min(to.news[w] - from.news[w], kept.size());
+            out.writeVarInt(w);
+            out.writeVarInt(n);
+            for (NewsStory s : kept.subList(kept.size() - n, kept.size())) {
+                String text = s.render();
+                int split = text.indexOf('>');
+                out.writeString(split >= 0 ? text.substring(0, split) : text);
+                out.writeString(split >= 0 ? text.substring(split + 1) : "");
+            }
+        }
+        out.endSection();
+    }
+
+    private static void writeResult(SaveOutput out, GameHockey g) {
+        out.writeVarInt(g.homeScore);
+        out.writeVarInt(g.awayScore);
+        out.writeVarInt(g.homeShots);
+        out.writeVarInt(g.awayShots);
+        out.writeVarInt(g.homeTakeaways);
+        out.writeVarInt(g.awayTakeaways);
+        out.writeVarInt(g.numOT);
+        int periods = Math.min(3 + g.numOT, g.homePeriodScore.length);
+        out.writeVarInt(periods);
+        for (int i = 0; i < periods; ++i) {
+            out.writeVarInt(g.homePeriodScore[i]);
+            out.writeVarInt(g.awayPeriodScore[i]);
+        }
+    }
+
+    private static void readResult(SaveInput in, GameHockey g) {
+        g.homeScore = in.readVarInt();
+        g.awayScore = in.readVarInt();
+        g.homeShots = in.readVarInt();
+        g.awayShots = in.readVarInt();
+        g.homeTakeaways = in.readVarInt();
+        g.awayTakeaways = in.readVarInt();
+        g.numOT = in.readVarInt();
+        int periods = in.readVarInt();
+        for (int i = 0; i < periods; ++i) {
+            g.homePeriodScore[i] = in.readVarInt();
+            g.awayPeriodScore[i] = in.readVarInt();
+        }
+        g.hasPlayed = true;
+    }
+
+    private static void writeDelta(SaveOutput out, int[] from, int[] to) {
+        int mask = 0;
+        for (int i = 0; i < to.length; ++i) {
+            if (from[i] != to[i]) mask |= 1 << i;
+        }
+        out.writeVarInt(mask);
+        for (int i = 0; i < to.length; ++i) {
+            if ((mask & (1 << i)) != 0) out.writeInt(to[i] - from[i]);
+        }
+    }
+
+    private static void readDelta(SaveInput in, int[] delta) {
+        int mask = in.readVarInt();
+        for (int i = 0; i < delta.length; ++i) {
+            delta[i] = (mask & (1 << i)) != 0 ? in.readInt() : 0;
+        }
+    }
+
+    /**
+     * Counters as of one point in the season, compared against the next one to
+     * find what goes in a frame.
+     */
+    private static final class Baseline {
+        int games;              // schedule games written so far
+        BitSet results;         // game ids whose result is written
+        int[][] team;           // [teamId][TEAM_FIELDS]
+        int[] wl;               // gameWLSchedule sizes
+        int[] winsAgainst;      // gameWinsAgainst sizes
+        int[][] player;         // [journal id][SEASON_STATS]
+        long[] news;            // stories posted per week
+    }
+
+    /**
+     * Teams by teamId and players in the order saveLeagueBinary() writes them.
+     */
+    private void indexLeague() {
+        teams = new TeamHockey[league.teamList.size()];
+        for (TeamHockey t : league.teamList) {
+            teams[t.teamId] = t;
+        }
+        ArrayList<PlayerHockey> all = new ArrayList<>();
+        for (TeamHockey t : teams) {
+            for (Position pos : Position.values()) {
+                all.addAll(t.getRoster(pos));
+            }
+        }
+        players = all.toArray(new PlayerHockey[0]);
+    }
+
+    /**
+     * Baseline for what the snapshot holds: this state, but no schedule, since
+     * the schedule is only in the journal.
+     */
+    private Baseline captureSnapshot() {
+        Baseline b = capture();
+        b.games = 0;
+        b.results.clear();
+        return b;
+    }
+
+    private Baseline capture() {
+        Baseline b = new Baseline();
+        ScheduleTable schedule = league.schedule;
+        b.games = schedule.getGameCount();
+        b.results = new BitSet(b.games);
+        for (int id = 0; id < b.games; ++id) {
+            if (schedule.getGameById(id).hasPlayed) b.results.set(id);
+        }
+
+        b.team = new int[teams.length][];
+        b.wl = new int[teams.length];
+        b.winsAgainst = new int[teams.length];
+        for (int i = 0; i < teams.length; ++i) {
+            b.team[i] = teamFields(teams[i]);
+            b.wl[i] = teams[i].gameWLSchedule.size();
+            b.winsAgainst[i] = teams[i].gameWinsAgainst.size();
+        }
+
+        b.player = new int[players.length][PlayerCodec.SEASON_STATS];
+        for (int i = 0; i < players.length; ++i) {
+            PlayerCodec.forPlayer(players[i]).getSeasonStats(players[i], b.player[i]);
+        }
+
+        b.news = new long[league.newsStories.weeks()];
+        for (int w = 0; w < b.news.length; ++w) {
+            b.news[w] = league.newsStories.count(w);
+        }
+        return b;
+    }
+
+    private static int[] teamFields(TeamHockey t) {
+        return new int[]{
+                t.wins, t.losses, t.totalWins, t.totalLosses,
+                t.teamGoals, t.teamOppGoals, t.teamShots, t.teamOppShots, t.teamTODiff,
+                t.wonRivalryGame ? 1 : 0, t.rankTeamPollScore
+        };
+    }
+
+    private static void addTeamFields(TeamHockey t, int[] d) {
+        t.wins += d[0];
+        t.losses += d[1];
+        t.totalWins += d[2];
+        t.totalLosses += d[3];
+        t.teamGoals += d[4];
+        t.teamOppGoals += d[5];
+        t.teamShots += d[6];
+        t.teamOppShots += d[7];
+        t.teamTODiff += d[8];
+        if (d[9] != 0) t.wonRivalryGame = d[9] > 0;
+        t.rankTeamPollScore += d[10];
+    }
+}
+
+/**
+ * Poll order from the ranks alone, for putting teamList back after a replay.
+ */
+class TeamCompPollRank implements Comparator<TeamHockey> {
+    @Override
+    public int compare(TeamHockey a, TeamHockey b) {
+        return Integer.compare(a.rankTeamPollScore, b.rankTeamPollScore);
+    }
+}
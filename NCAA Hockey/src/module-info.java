@@ -5,4 +5,5 @@
  * 
  */
 module ncaa_hockey {
+    requires java.management;
 }
\ No newline at end of file
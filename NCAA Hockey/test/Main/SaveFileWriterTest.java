@@ -0,0 +1,56 @@
+package Main;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * patchInt() on offsets still buffered, already in the file, and split between the two.
+ */
+public class SaveFileWriterTest {
+
+    @TempDir
+    File dir;
+
+    /**
+     * Reserve 4 bytes at the given distance before the buffer fills, write past the
+     * drain, patch, and read the int back from the committed file.
+     */
+    private void patchAcrossDrain(int before) throws IOException {
+        File save = new File(dir, "patch" + before + ".sav");
+        int at = SaveFileWriter.BUFFER_SIZE - before;
+        try (SaveFileWriter w = new SaveFileWriter(save)) {
+            w.writeBytes(new byte[at], 0, at);
+            w.writeBytes(new byte[4], 0, 4);
+            w.writeBytes(new byte[100], 0, 100);
+            w.patchInt(at, 0x11223344);
+            w.commit();
+        }
+        byte[] file = Files.readAllBytes(save.toPath());
+        assertEquals(at + 104, file.length);
+        assertEquals(0x11223344, ByteBuffer.wrap(file).getInt(at));
+        assertEquals(0, file[at - 1]);
+        assertEquals(0, file[at + 4]);
+    }
+
+    @Test
+    public void patchStraddlingDrain() throws IOException {
+        patchAcrossDrain(1);
+        patchAcrossDrain(2);
+        patchAcrossDrain(3);
+    }
+
+    @Test
+    public void patchInFileOrBuffered() throws IOException {
+        patchAcrossDrain(4);
+        patchAcrossDrain(200);
+        patchAcrossDrain(-10);
+    }
+}